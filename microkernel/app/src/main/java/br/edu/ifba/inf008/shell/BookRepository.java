@@ -0,0 +1,68 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IBookRepository;
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.model.Book;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Consultas da tabela books.
+ */
+public class BookRepository extends JdbcRepository implements IBookRepository {
+    // Ordem lida por MAPPER
+    private static final String COLUMNS = "book_id, title, author, isbn, published_year, copies_available";
+
+    static final RowMapper<Book> MAPPER = rs -> new Book(
+        rs.getInt(1),
+        rs.getString(2),
+        rs.getString(3),
+        rs.getString(4),
+        rs.getInt(5),
+        rs.getInt(6)
+    );
+
+    public BookRepository(IIOController ioController) {
+        super(ioController);
+    }
+
+    @Override
+    public Book findById(int bookId) throws SQLException {
+        return queryOne("SELECT " + COLUMNS + " FROM books WHERE book_id = ?", MAPPER, bookId);
+    }
+
+    @Override
+    public List<Book> findAll() throws SQLException {
+        return queryList("SELECT " + COLUMNS + " FROM books ORDER BY title", MAPPER);
+    }
+
+    @Override
+    public void insert(Book book) throws SQLException {
+        String sql = "INSERT INTO books (title, author, isbn, published_year, copies_available) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = ioController.getDatabaseConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, book.getTitle());
+            stmt.setString(2, book.getAuthor());
+            stmt.setString(3, book.getIsbn());
+            stmt.setInt(4, book.getPublishedYear());
+            stmt.setInt(5, book.getCopiesAvailable());
+            stmt.executeUpdate();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    book.setBookId(keys.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(int bookId) throws SQLException {
+        return update("DELETE FROM books WHERE book_id = ?", bookId) > 0;
+    }
+}
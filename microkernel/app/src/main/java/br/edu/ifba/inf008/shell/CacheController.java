@@ -0,0 +1,87 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IBookRepository;
+import br.edu.ifba.inf008.interfaces.ICacheController;
+import br.edu.ifba.inf008.interfaces.IEntityCache;
+import br.edu.ifba.inf008.interfaces.ILoanRepository;
+import br.edu.ifba.inf008.interfaces.IRepositoryController;
+import br.edu.ifba.inf008.interfaces.IUserRepository;
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+import br.edu.ifba.inf008.interfaces.model.User;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Caches de livros, usuários e empréstimos compartilhados pelos plugins.
+ * As leituras que não acham a entidade vão aos repositórios do kernel.
+ *
+ * Os tamanhos máximos podem ser ajustados com
+ * -Dlibrary.cache.books.maxSize, -Dlibrary.cache.users.maxSize e
+ * -Dlibrary.cache.loans.maxSize.
+ */
+public class CacheController implements ICacheController {
+    private final EntityCache<Book> bookCache;
+    private final EntityCache<User> userCache;
+    private final EntityCache<Loan> loanCache;
+
+    public CacheController(IRepositoryController repositories) {
+        IBookRepository books = repositories.getBookRepository();
+        IUserRepository users = repositories.getUserRepository();
+        ILoanRepository loans = repositories.getLoanRepository();
+
+        bookCache = new EntityCache<>("books",
+            Integer.getInteger("library.cache.books.maxSize", 50_000),
+            Book::getBookId, books::findById, books::findAll,
+            Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Book::getBookId));
+
+        userCache = new EntityCache<>("users",
+            Integer.getInteger("library.cache.users.maxSize", 50_000),
+            User::getUserId, users::findById, users::findAll,
+            Comparator.comparing(User::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(User::getUserId));
+
+        loanCache = new EntityCache<>("loans",
+            Integer.getInteger("library.cache.loans.maxSize", 10_000),
+            Loan::getLoanId, loans::findById, null,
+            Comparator.comparing(Loan::getLoanDate).thenComparingInt(Loan::getLoanId).reversed());
+    }
+
+    /**
+     * Publica acertos, faltas e tamanho de cada cache no registro de métricas.
+     */
+    public void registerMetrics(MetricsController metrics) {
+        for (EntityCache<?> cache : List.of(bookCache, userCache, loanCache)) {
+            String name = cache.getName();
+            metrics.counter("library_cache_requests_total", "Leituras dos caches de entidades",
+                            cache::getHitCount, "cache", name, "result", "hit");
+            metrics.counter("library_cache_requests_total", "Leituras dos caches de entidades",
+                            cache::getMissCount, "cache", name, "result", "miss");
+            metrics.gauge("library_cache_hit_ratio", "Fração das leituras atendidas pelo cache",
+                          () -> hitRatio(cache), "cache", name);
+            metrics.gauge("library_cache_entries", "Entidades guardadas no cache",
+                          cache::size, "cache", name);
+        }
+    }
+
+    private static double hitRatio(EntityCache<?> cache) {
+        long hits = cache.getHitCount();
+        long total = hits + cache.getMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+    @Override
+    public IEntityCache<Book> getBookCache() {
+        return bookCache;
+    }
+
+    @Override
+    public IEntityCache<User> getUserCache() {
+        return userCache;
+    }
+
+    @Override
+    public IEntityCache<Loan> getLoanCache() {
+        return loanCache;
+    }
+}
@@ -0,0 +1,553 @@
+package br.edu.ifba.inf008.shell;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool limitado de conexões JDBC usado pelo IOController.
+ *
+ * As conexões entregues aos plugins são proxies: chamar close() devolve a
+ * conexão física ao pool em vez de encerrá-la. O pool valida conexões ociosas
+ * no empréstimo, remove as que ficam ociosas por muito tempo (respeitando o
+ * tamanho mínimo) e avisa no log quando uma conexão fica emprestada além do
+ * limite de vazamento, mostrando onde ela foi obtida. Com limite 0 a
+ * detecção fica desligada e a pilha do empréstimo não é capturada.
+ *
+ * Instruções e cursores que o plugin esqueceu abertos são fechados na
+ * devolução, para não passarem ao próximo empréstimo da mesma conexão
+ * física, e unwrap() não entrega a conexão física.
+ *
+ * As instruções criadas nas conexões emprestadas passam pelo QueryMonitor,
+ * e o pool mede quanto cada pedido esperou por uma conexão e quanto tempo
+ * cada conexão ficou emprestada.
+ */
+public class ConnectionPool {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    // Conexões usadas há menos tempo que isto não são revalidadas no empréstimo
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 10_000;
+    private static final long DRAIN_GRACE_MILLIS = 5_000;
+    // Instruções guardadas antes de descartar da lista as já fechadas
+    private static final int STATEMENT_PRUNE_THRESHOLD = 64;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final QueryMonitor queryMonitor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram borrowDuration = new LatencyHistogram();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private int totalConnections;
+    private boolean closed;
+
+    public ConnectionPool(String url, String username, String password,
+                          int minSize, int maxSize, long idleTimeoutMillis,
+                          long borrowTimeoutMillis, long leakThresholdMillis, QueryMonitor queryMonitor) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Tamanho de pool inválido: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.queryMonitor = queryMonitor;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Empresta uma conexão do pool, criando uma nova se houver espaço ou
+     * esperando até borrowTimeoutMillis por uma devolução.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection candidate;
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new SQLException("Pool de conexões encerrado");
+                }
+                candidate = idle.pollFirst();
+                if (candidate == null) {
+                    if (totalConnections < maxSize) {
+                        totalConnections++;
+                    } else {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            borrowTimeouts.increment();
+                            throw new SQLTransientConnectionException(
+                                "Tempo esgotado aguardando conexão livre (" + maxSize + " em uso)");
+                        }
+                        available.awaitNanos(remaining);
+                        continue;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrompido aguardando conexão do pool", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (candidate == null) {
+                candidate = openPhysicalConnection();
+            } else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+            waitTime.record(System.nanoTime() - start);
+            return candidate.lease();
+        }
+    }
+
+    /**
+     * Encerra o pool: fecha as conexões ociosas imediatamente e aguarda um
+     * curto período pelas emprestadas antes de fechá-las à força.
+     */
+    public void close() {
+        List<PooledConnection> toClose = new ArrayList<>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose.addAll(idle);
+            totalConnections -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(PooledConnection::closePhysical);
+
+        long deadline = System.currentTimeMillis() + DRAIN_GRACE_MILLIS;
+        while (!borrowed.isEmpty() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!borrowed.isEmpty()) {
+            logger.warn("Fechando à força {} conexões ainda emprestadas", borrowed.size());
+            for (PooledConnection connection : new ArrayList<>(borrowed)) {
+                borrowed.remove(connection);
+                connection.closePhysical();
+            }
+        }
+        logger.info("Pool de conexões encerrado");
+    }
+
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBorrowedConnections() {
+        return borrowed.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return espera por uma conexão em cada borrow() bem-sucedido
+     */
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * @return tempo entre o empréstimo e a devolução de cada conexão
+     */
+    public LatencyHistogram getBorrowDuration() {
+        return borrowDuration;
+    }
+
+    public long getBorrowTimeouts() {
+        return borrowTimeouts.sum();
+    }
+
+    public QueryMonitor getQueryMonitor() {
+        return queryMonitor;
+    }
+
+    private PooledConnection openPhysicalConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, username, password);
+            logger.debug("Nova conexão física estabelecida com o banco");
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            lock.lock();
+            try {
+                totalConnections--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection connection) {
+        if (System.currentTimeMillis() - connection.lastUsed < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            return connection.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        connection.closePhysical();
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        borrowed.remove(connection);
+        borrowDuration.record(System.nanoTime() - connection.leasedAtNanos);
+        if (!connection.resetState()) {
+            discard(connection);
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                totalConnections--;
+            } else {
+                connection.lastUsed = System.currentTimeMillis();
+                idle.addFirst(connection);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        connection.closePhysical();
+    }
+
+    /**
+     * Tarefa periódica: despeja conexões ociosas antigas, mantém o tamanho
+     * mínimo e denuncia possíveis vazamentos.
+     */
+    private void housekeep() {
+        try {
+            evictIdleConnections();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            logger.error("Erro na manutenção do pool: {}", e.getMessage());
+        }
+    }
+
+    private void evictIdleConnections() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            // As mais antigas ficam no fim da fila (devolução é LIFO)
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && totalConnections > minSize) {
+                PooledConnection connection = oldestFirst.next();
+                if (now - connection.lastUsed < idleTimeoutMillis) {
+                    break;
+                }
+                oldestFirst.remove();
+                totalConnections--;
+                evicted.add(connection);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!evicted.isEmpty()) {
+            logger.debug("Removendo {} conexões ociosas", evicted.size());
+            evicted.forEach(PooledConnection::closePhysical);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalConnections >= minSize) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+            PooledConnection connection;
+            try {
+                connection = openPhysicalConnection();
+            } catch (SQLException e) {
+                logger.debug("Não foi possível completar o tamanho mínimo do pool: {}", e.getMessage());
+                return;
+            }
+            lock.lock();
+            try {
+                if (closed) {
+                    totalConnections--;
+                } else {
+                    idle.addLast(connection);
+                    available.signal();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            connection.closePhysical();
+            return;
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakThresholdMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection connection : borrowed) {
+            if (!connection.leakReported && now - connection.leasedAt > leakThresholdMillis) {
+                connection.leakReported = true;
+                logger.warn("Possível vazamento: conexão emprestada há {} ms sem devolução",
+                            now - connection.leasedAt, connection.leaseSite);
+            }
+        }
+    }
+
+    /**
+     * Conexão física gerenciada pelo pool e o proxy entregue a cada empréstimo.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile long leasedAt;
+        private volatile long leasedAtNanos;
+        private volatile Throwable leaseSite;
+        private volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            leasedAt = System.currentTimeMillis();
+            leasedAtNanos = System.nanoTime();
+            leaseSite = leakThresholdMillis > 0 ? new Throwable("Conexão obtida aqui") : null;
+            leakReported = false;
+            borrowed.add(this);
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new LeaseHandler(this));
+        }
+
+        /**
+         * Desfaz transações pendentes antes de a conexão voltar ao pool.
+         */
+        boolean resetState() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                logger.debug("Descartando conexão com estado inválido: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                logger.debug("Erro ao fechar conexão física: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Encaminha as chamadas à conexão física enquanto o empréstimo estiver
+     * ativo; close() fecha as instruções ainda abertas e devolve a conexão
+     * ao pool. As instruções criadas são entregues ao QueryMonitor.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection connection;
+        private final List<Statement> statements = new ArrayList<>();
+        private int pruneAt = STATEMENT_PRUNE_THRESHOLD;
+        private boolean returned;
+
+        LeaseHandler(PooledConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (!returned) {
+                            returned = true;
+                            closeStatements();
+                            release(connection);
+                        }
+                    }
+                    return null;
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    throw new SQLException("A conexão física do pool não pode ser obtida com unwrap()");
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "isClosed":
+                    synchronized (this) {
+                        return returned || connection.physical.isClosed();
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + connection.physical + "]";
+                default:
+                    break;
+            }
+            synchronized (this) {
+                if (returned) {
+                    throw new SQLException("Conexão já devolvida ao pool");
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(connection.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement) {
+                track((Statement) result);
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return queryMonitor.wrap((Statement) result, method.getReturnType(), sql, (Connection) proxy);
+            }
+            return result;
+        }
+
+        private synchronized void track(Statement statement) {
+            if (statements.size() >= pruneAt) {
+                statements.removeIf(LeaseHandler::isClosed);
+                pruneAt = Math.max(STATEMENT_PRUNE_THRESHOLD, statements.size() * 2);
+            }
+            statements.add(statement);
+        }
+
+        /**
+         * Fecha as instruções esquecidas abertas, e com elas seus cursores.
+         * Chamado com o lock do handler.
+         */
+        private void closeStatements() {
+            int closed = 0;
+            for (Statement statement : statements) {
+                try {
+                    if (!statement.isClosed()) {
+                        statement.close();
+                        closed++;
+                    }
+                } catch (SQLException e) {
+                    logger.debug("Erro ao fechar instrução esquecida: {}", e.getMessage());
+                }
+            }
+            statements.clear();
+            if (closed > 0) {
+                logger.debug("{} instruções ainda abertas fechadas na devolução da conexão", closed);
+            }
+        }
+
+        private static boolean isClosed(Statement statement) {
+            try {
+                return statement.isClosed();
+            } catch (SQLException e) {
+                return true;
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@ public class Core extends ICore
         }
 
         instance = new Core();
+        Core core = (Core) instance;
         
         // ADICIONAR: Testar banco na inicialização
         System.out.println("Starting Bookstore Management System...");
@@ -22,15 +23,48 @@ public class Core extends ICore
         IIOController ioController = instance.getIOController();
         if (ioController.testDatabaseConnection()) {
             System.out.println("Database connection: OK");
+            migrateDatabase(ioController);
         } else {
             System.out.println("Database connection: FAILED");
             System.out.println("Please check if Docker is running!");
         }
         
+        core.startMetrics();
+        
         UIController.launch(UIController.class);
 
+        // Interface encerrada: descarregar os plugins e drenar o pool de conexões
+        instance.getPluginController().shutdown();
+        core.metricsController.close();
+        ioController.closeDatabaseConnections();
+
         return true;
     }
+    /**
+     * Aplica as migrações de esquema pendentes antes de os plugins
+     * carregarem; se falharem, o sistema sobe mesmo assim, só sem os
+     * índices que faltaram.
+     */
+    private static void migrateDatabase(IIOController ioController) {
+        if (!Boolean.parseBoolean(System.getProperty("library.db.migrate", "true"))) {
+            return;
+        }
+        try {
+            int applied = new MigrationRunner(ioController).migrate();
+            System.out.println("Database migrations: " + (applied == 0 ? "up to date" : applied + " applied"));
+        } catch (Exception e) {
+            System.out.println("Database migrations: FAILED (" + e.getMessage() + ")");
+        }
+    }
+    /**
+     * Publica as métricas do pool, das consultas e dos caches e abre os
+     * exportadores (JMX e, se configurado, HTTP).
+     */
+    private void startMetrics() {
+        ((IOController) ioController).registerMetrics(metricsController);
+        ((CacheController) cacheController).registerMetrics(metricsController);
+        metricsController.start(ioController);
+    }
     public IUIController getUIController() {
         return UIController.getInstance();
     }
@@ -43,8 +77,28 @@ public class Core extends ICore
     public IPluginController getPluginController() {
         return pluginController;
     }
+    public ICacheController getCacheController() {
+        return cacheController;
+    }
+    public IEventBus getEventBus() {
+        return eventBus;
+    }
+    public IStatisticsController getStatisticsController() {
+        return statisticsController;
+    }
+    public IRepositoryController getRepositoryController() {
+        return repositoryController;
+    }
+    public IMetricsController getMetricsController() {
+        return metricsController;
+    }
 
     private IAuthenticationController authenticationController = new AuthenticationController();
     private IIOController ioController = new IOController();
     private IPluginController pluginController = new PluginController();
+    private IRepositoryController repositoryController = new RepositoryController(ioController);
+    private ICacheController cacheController = new CacheController(repositoryController);
+    private IEventBus eventBus = new EventBus();
+    private IStatisticsController statisticsController = new StatisticsController(ioController, eventBus);
+    private MetricsController metricsController = new MetricsController();
 }
@@ -0,0 +1,241 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IEntityCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache LRU limitado de uma entidade, com leitura através do banco.
+ *
+ * As entradas ficam em um LinkedHashMap em ordem de acesso; ao passar do
+ * limite, a menos usada recentemente sai. Depois de uma leitura completa
+ * da tabela, getAll() é atendido pela memória até que alguma entrada seja
+ * descartada ou invalidada. Leituras que terminam depois de uma escrita,
+ * remoção ou invalidação concorrente não são guardadas, para não
+ * ressuscitar dados apagados nem sobrescrever uma versão mais nova.
+ */
+public class EntityCache<T> implements IEntityCache<T> {
+    private static final Logger logger = LoggerFactory.getLogger(EntityCache.class);
+
+    private static final int MAX_REFRESH_ATTEMPTS = 3;
+
+    /**
+     * Consulta de uma entidade pelo ID; retorna null se ela não existe.
+     */
+    @FunctionalInterface
+    public interface RowLoader<T> {
+        T load(int id) throws SQLException;
+    }
+
+    /**
+     * Consulta da tabela inteira.
+     */
+    @FunctionalInterface
+    public interface TableLoader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final ToIntFunction<T> idOf;
+    private final RowLoader<T> rowLoader;
+    private final TableLoader<T> tableLoader;
+    private final Comparator<T> displayOrder;
+
+    private final Map<Integer, T> entries;
+    private boolean fullyLoaded;           // Todas as linhas da tabela estão em entries
+    private long generation;               // Muda a cada escrita, remoção ou invalidação
+    private List<T> sortedEntries;         // Cópia ordenada para getAll(), refeita após mudanças
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param name nome usado no log
+     * @param maxSize número máximo de entidades guardadas
+     * @param idOf extrai o ID de uma entidade
+     * @param rowLoader consulta uma entidade pelo ID
+     * @param tableLoader consulta a tabela inteira, ou null se getAll() não for suportado
+     * @param displayOrder ordem da lista retornada por getAll()
+     */
+    public EntityCache(String name, int maxSize, ToIntFunction<T> idOf, RowLoader<T> rowLoader,
+                       TableLoader<T> tableLoader, Comparator<T> displayOrder) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.idOf = idOf;
+        this.rowLoader = rowLoader;
+        this.tableLoader = tableLoader;
+        this.displayOrder = displayOrder;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    fullyLoaded = false;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public T get(int id) throws SQLException {
+        long expectedGeneration;
+        synchronized (this) {
+            T cached = entries.get(id);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            expectedGeneration = generation;
+        }
+
+        T loaded = rowLoader.load(id);
+        synchronized (this) {
+            if (loaded != null && generation == expectedGeneration) {
+                entries.put(id, loaded);
+                sortedEntries = null;
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<T> getAll() throws SQLException {
+        if (tableLoader == null) {
+            throw new UnsupportedOperationException("Cache " + name + " não carrega a tabela inteira");
+        }
+
+        long expectedGeneration;
+        synchronized (this) {
+            if (fullyLoaded) {
+                hits.increment();
+                return sortedSnapshot();
+            }
+            misses.increment();
+            expectedGeneration = generation;
+        }
+
+        List<T> rows = tableLoader.load();
+        synchronized (this) {
+            if (generation == expectedGeneration && rows.size() <= maxSize) {
+                entries.clear();
+                for (T row : rows) {
+                    entries.put(idOf.applyAsInt(row), row);
+                }
+                fullyLoaded = true;
+                sortedEntries = null;
+                logger.debug("Cache {} carregado com {} entidades", name, rows.size());
+                return sortedSnapshot();
+            }
+        }
+
+        // Tabela maior que o cache, ou alterada durante a leitura: só repassa
+        List<T> sorted = new ArrayList<>(rows);
+        sorted.sort(displayOrder);
+        return Collections.unmodifiableList(sorted);
+    }
+
+    @Override
+    public synchronized void put(T entity) {
+        entries.put(idOf.applyAsInt(entity), entity);
+        generation++;
+        sortedEntries = null;
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        entries.remove(id);
+        generation++;
+        sortedEntries = null;
+    }
+
+    @Override
+    public T refresh(int id) throws SQLException {
+        T loaded = null;
+        for (int attempt = 0; attempt < MAX_REFRESH_ATTEMPTS; attempt++) {
+            long expectedGeneration;
+            synchronized (this) {
+                expectedGeneration = generation;
+            }
+
+            loaded = rowLoader.load(id);
+            synchronized (this) {
+                if (generation == expectedGeneration) {
+                    if (loaded == null) {
+                        remove(id);
+                    } else {
+                        put(loaded);
+                    }
+                    return loaded;
+                }
+            }
+            // Outra escrita terminou durante a leitura e pode ser mais nova: lê de novo
+        }
+
+        // Escritas concorrentes demais; a próxima leitura vai ao banco
+        invalidate(id);
+        return loaded;
+    }
+
+    @Override
+    public synchronized void invalidate(int id) {
+        entries.remove(id);
+        fullyLoaded = false;
+        generation++;
+        sortedEntries = null;
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+        fullyLoaded = false;
+        generation++;
+        sortedEntries = null;
+    }
+
+    /**
+     * @return nome usado no log e nas métricas
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Chamado com o lock; a lista só é refeita depois de uma mudança.
+     */
+    private List<T> sortedSnapshot() {
+        if (sortedEntries == null) {
+            List<T> sorted = new ArrayList<>(entries.values());
+            sorted.sort(displayOrder);
+            sortedEntries = Collections.unmodifiableList(sorted);
+        }
+        return sortedEntries;
+    }
+}
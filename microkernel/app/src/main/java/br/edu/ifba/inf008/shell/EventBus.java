@@ -0,0 +1,109 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos em memória.
+ *
+ * Os eventos publicados entram em uma fila única, esvaziada na thread do
+ * JavaFX, o que mantém a ordem de publicação mesmo quando ela parte de
+ * threads diferentes. Sem toolkit ativo (ex.: nos benchmarks), a entrega
+ * acontece na própria thread que publicou. A falha de um ouvinte vai para
+ * o log e não impede a entrega aos demais.
+ */
+public class EventBus implements IEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(EventBus.class);
+
+    private final List<Listener<?>> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<EntityChangeEvent<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    @Override
+    public <T> Subscription subscribe(Class<T> entityType, Consumer<EntityChangeEvent<T>> listener) {
+        Listener<T> subscription = new Listener<>(entityType, listener);
+        listeners.add(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void publish(EntityChangeEvent<?> event) {
+        pending.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            runOnFxThread(this::drain);
+        }
+    }
+
+    /**
+     * Cancela as inscrições feitas pelo código de um plugin; chamado pelo
+     * PluginController ao descarregá-lo.
+     */
+    void removeSubscribersOf(ClassLoader classLoader) {
+        for (Listener<?> listener : listeners) {
+            if (listener.owner == classLoader) {
+                listener.cancel();
+            }
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        EntityChangeEvent<?> event;
+        while ((event = pending.poll()) != null) {
+            for (Listener<?> listener : listeners) {
+                if (listener.entityType == event.getEntityType()) {
+                    listener.deliver(event);
+                }
+            }
+        }
+    }
+
+    private void runOnFxThread(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            action.run();
+        }
+    }
+
+    private final class Listener<T> implements Subscription {
+        private final Class<T> entityType;
+        private final Consumer<EntityChangeEvent<T>> consumer;
+        private final ClassLoader owner;
+        private volatile boolean active = true;
+
+        Listener(Class<T> entityType, Consumer<EntityChangeEvent<T>> consumer) {
+            this.entityType = entityType;
+            this.consumer = consumer;
+            this.owner = consumer.getClass().getClassLoader();
+        }
+
+        @SuppressWarnings("unchecked")
+        void deliver(EntityChangeEvent<?> event) {
+            if (!active) {
+                return;
+            }
+            try {
+                consumer.accept((EntityChangeEvent<T>) event);
+            } catch (RuntimeException e) {
+                logger.error("Ouvinte de {} falhou ao tratar {}: {}", entityType.getSimpleName(), event, e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            active = false;
+            listeners.remove(this);
+        }
+    }
+}
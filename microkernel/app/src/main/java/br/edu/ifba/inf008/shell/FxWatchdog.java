@@ -0,0 +1,355 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IMetricsController;
+import br.edu.ifba.inf008.interfaces.model.StallStatistics;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.event.Event;
+import javafx.event.EventDispatchChain;
+import javafx.event.EventDispatcher;
+import javafx.scene.Scene;
+import javafx.scene.control.MenuItem;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Vigia da thread de aplicação do JavaFX.
+ *
+ * Duas medidas, ambas publicadas no registro de métricas:
+ *
+ * - Batimento: a cada 100 ms uma thread própria agenda uma tarefa com
+ *   Platform.runLater e mede quanto ela esperou para rodar. É o atraso que
+ *   o próximo pulso de desenho e o próximo clique sofreriam. Se o batimento
+ *   passa do limite, o vigia captura a pilha da thread do JavaFX enquanto
+ *   ela ainda está presa e registra um aviso no log, mesmo que ela nunca
+ *   se solte.
+ * - Despacho de eventos: o EventDispatcher de cada cena, inclusive a dos
+ *   menus suspensos, é envolvido para cronometrar cada evento do início
+ *   ao fim dos handlers. Um evento que passa do limite é atribuído ao
+ *   plugin dono do item de menu acionado ou da aba onde ele aconteceu.
+ *
+ * Travamentos fora de eventos, como um thenAccept pesado, são atribuídos
+ * pelo primeiro método de plugin na pilha capturada. Eventos que abrem um
+ * diálogo modal (showAndWait) não contam: a thread continua atendendo o
+ * batimento enquanto o diálogo está aberto.
+ *
+ * O limite vem de -Dlibrary.ui.stallMillis (padrão 500).
+ */
+public class FxWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(FxWatchdog.class);
+
+    private static final long HEARTBEAT_MILLIS = 100;
+    private static final int REPORTED_FRAMES = 40;
+    private static final String WATCHED = FxWatchdog.class.getName();
+    private static final String PLUGIN_LOADER_PREFIX = "plugin:";
+    private static final String KERNEL = "kernel";
+
+    /**
+     * Plugin e componente a quem um travamento é atribuído.
+     */
+    static final class Attribution {
+        final String plugin;
+        final String component;
+
+        Attribution(String plugin, String component) {
+            this.plugin = plugin;
+            this.component = component;
+        }
+    }
+
+    private final UIController uiController;
+    private final IMetricsController metrics;
+    private final long stallNanos;
+    private final IMetricsController.Timer heartbeatLatency;
+    private final IMetricsController.Timer dispatchDuration;
+    private final ScheduledExecutorService watcher;
+
+    // Batimento: o vigia envia e captura, a thread do JavaFX responde
+    private volatile Thread fxThread;
+    private volatile long heartbeatSentAt;                // 0 sem batimento pendente
+    private long capturedHeartbeat;                       // Só a thread do vigia
+    private final AtomicReference<StackTraceElement[]> capturedStack = new AtomicReference<>();
+
+    // Despacho de eventos: só a thread do JavaFX
+    private int dispatchDepth;
+    private long dispatchStartedAt;
+    private boolean nestedLoop;                           // O batimento rodou durante o evento
+    private MenuItem activeMenuItem;
+
+    private final Map<String, StallAccumulator> stalls = new ConcurrentHashMap<>();
+
+    public FxWatchdog(UIController uiController, IMetricsController metrics, long stallMillis) {
+        this.uiController = uiController;
+        this.metrics = metrics;
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        this.heartbeatLatency = metrics.timer("library_ui_heartbeat_latency_seconds",
+            "Espera de uma tarefa agendada na thread do JavaFX");
+        this.dispatchDuration = metrics.timer("library_ui_event_dispatch_seconds",
+            "Tempo de cada evento da interface, do início ao fim dos handlers");
+        this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Passa a cronometrar as cenas de todas as janelas e inicia o
+     * batimento. Deve ser chamado na thread do JavaFX.
+     */
+    public void install() {
+        fxThread = Thread.currentThread();
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(this::watch);
+            }
+        });
+        Window.getWindows().forEach(this::watch);
+        watcher.scheduleWithFixedDelay(this::check, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para o batimento e resume no log os travamentos vistos.
+     */
+    public void close() {
+        watcher.shutdownNow();
+        for (StallStatistics stall : getStallReport()) {
+            logger.info("Travamentos da interface: {} em {}: {} vezes, {} ms no total, pior {} ms",
+                        stall.getPlugin(), stall.getComponent(), stall.getCount(),
+                        stall.getTotalMillis(), stall.getWorstMillis());
+        }
+    }
+
+    /**
+     * Chamado pelo handler que o UIController põe em cada item de menu;
+     * roda antes do onAction do plugin.
+     */
+    void menuItemFired(MenuItem menuItem) {
+        if (dispatchDepth > 0) {
+            activeMenuItem = menuItem;
+        }
+    }
+
+    /**
+     * @return travamentos por plugin e componente, do maior tempo total para o menor
+     */
+    public List<StallStatistics> getStallReport() {
+        List<StallStatistics> report = new ArrayList<>();
+        for (StallAccumulator stall : stalls.values()) {
+            report.add(stall.snapshot());
+        }
+        report.sort(Comparator.comparingLong(StallStatistics::getTotalMillis).reversed());
+        return report;
+    }
+
+    private void watch(Window window) {
+        if (window.getProperties().putIfAbsent(WATCHED, Boolean.TRUE) != null) {
+            return;
+        }
+        if (window.getScene() != null) {
+            wrap(window.getScene());
+        }
+        window.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                wrap(newScene);
+            }
+        });
+    }
+
+    private void wrap(Scene scene) {
+        EventDispatcher current = scene.getEventDispatcher();
+        if (!(current instanceof TimingDispatcher)) {
+            scene.setEventDispatcher(new TimingDispatcher(current));
+        }
+    }
+
+    /**
+     * Tarefa periódica do vigia: envia o batimento ou, se ele está
+     * pendente além do limite, captura a pilha da thread do JavaFX.
+     */
+    private void check() {
+        long now = System.nanoTime();
+        long sentAt = heartbeatSentAt;
+        if (sentAt == 0) {
+            heartbeatSentAt = now;
+            try {
+                Platform.runLater(() -> heartbeat(now));
+            } catch (IllegalStateException e) {
+                watcher.shutdown(); // Toolkit encerrado
+            }
+            return;
+        }
+        if (now - sentAt < stallNanos || capturedHeartbeat == sentAt) {
+            return;
+        }
+        capturedHeartbeat = sentAt;
+        Thread thread = fxThread;
+        StackTraceElement[] stack = thread.getStackTrace();
+        capturedStack.set(stack);
+
+        Attribution attribution = attributionOf(stack);
+        logger.warn("Thread do JavaFX sem responder há {} ms; provável origem: {} ({})\n{}",
+                    TimeUnit.NANOSECONDS.toMillis(now - sentAt), attribution.plugin,
+                    attribution.component, format(stack));
+    }
+
+    /**
+     * Resposta ao batimento, na thread do JavaFX.
+     */
+    private void heartbeat(long sentAt) {
+        long latency = System.nanoTime() - sentAt;
+        heartbeatLatency.record(latency, TimeUnit.NANOSECONDS);
+        heartbeatSentAt = 0;
+        if (dispatchDepth > 0) {
+            nestedLoop = true;
+        }
+
+        // Pilha ainda não usada por um evento lento: o travamento veio de
+        // outra tarefa da thread, como um runLater
+        StackTraceElement[] stack = capturedStack.getAndSet(null);
+        if (stack != null) {
+            recordStall(attributionOf(stack), latency, stack);
+        }
+    }
+
+    private void dispatchStarted() {
+        if (dispatchDepth++ == 0) {
+            dispatchStartedAt = System.nanoTime();
+            nestedLoop = false;
+            activeMenuItem = null;
+        }
+    }
+
+    private void dispatchFinished(Event event) {
+        if (--dispatchDepth > 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - dispatchStartedAt;
+        MenuItem menuItem = activeMenuItem;
+        activeMenuItem = null;
+        if (nestedLoop) {
+            return; // Esperou um diálogo modal, não o código
+        }
+        dispatchDuration.record(elapsed, TimeUnit.NANOSECONDS);
+        if (elapsed < stallNanos) {
+            return;
+        }
+
+        StackTraceElement[] stack = capturedStack.getAndSet(null);
+        Attribution attribution = menuItem != null
+            ? uiController.attributionOf(menuItem)
+            : uiController.attributionOf(event.getTarget());
+        if (attribution == null) {
+            attribution = attributionOf(stack);
+        }
+        recordStall(attribution, elapsed, stack);
+    }
+
+    private void recordStall(Attribution attribution, long nanos, StackTraceElement[] stack) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        String stackText = stack == null ? "" : format(stack);
+        stalls.computeIfAbsent(attribution.plugin + "\u0000" + attribution.component,
+                               key -> new StallAccumulator(attribution))
+              .add(millis, stackText);
+        metrics.counter("library_ui_stalls_total", "Travamentos da thread do JavaFX acima do limite",
+                        "plugin", attribution.plugin).increment();
+        logger.warn("Interface travada por {} ms em {} ({})", millis, attribution.plugin, attribution.component);
+    }
+
+    /**
+     * Atribui uma pilha ao primeiro método carregado por um plugin.
+     */
+    static Attribution attributionOf(StackTraceElement[] stack) {
+        if (stack == null || stack.length == 0) {
+            return new Attribution(KERNEL, "desconhecido");
+        }
+        for (StackTraceElement frame : stack) {
+            String loader = frame.getClassLoaderName();
+            if (loader != null && loader.startsWith(PLUGIN_LOADER_PREFIX)) {
+                return new Attribution(loader.substring(PLUGIN_LOADER_PREFIX.length()), methodOf(frame));
+            }
+        }
+        return new Attribution(KERNEL, methodOf(stack[0]));
+    }
+
+    private static String methodOf(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    private static String format(StackTraceElement[] stack) {
+        StringBuilder text = new StringBuilder();
+        int frames = Math.min(stack.length, REPORTED_FRAMES);
+        for (int i = 0; i < frames; i++) {
+            text.append("\tat ").append(stack[i]).append('\n');
+        }
+        if (stack.length > frames) {
+            text.append("\t... ").append(stack.length - frames).append(" mais\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Envolve o EventDispatcher de uma cena; só o evento mais externo é
+     * cronometrado, os disparados dentro dos handlers fazem parte dele.
+     */
+    private final class TimingDispatcher implements EventDispatcher {
+        private final EventDispatcher delegate;
+
+        TimingDispatcher(EventDispatcher delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Event dispatchEvent(Event event, EventDispatchChain tail) {
+            dispatchStarted();
+            try {
+                return delegate.dispatchEvent(event, tail);
+            } finally {
+                dispatchFinished(event);
+            }
+        }
+    }
+
+    /**
+     * Soma dos travamentos de um componente.
+     */
+    private static final class StallAccumulator {
+        private final Attribution attribution;
+        private long count;
+        private long totalMillis;
+        private long worstMillis;
+        private String worstStack = "";
+
+        StallAccumulator(Attribution attribution) {
+            this.attribution = attribution;
+        }
+
+        synchronized void add(long millis, String stack) {
+            count++;
+            totalMillis += millis;
+            if (millis >= worstMillis) {
+                worstMillis = millis;
+                if (!stack.isEmpty() || worstStack.isEmpty()) {
+                    worstStack = stack;
+                }
+            }
+        }
+
+        synchronized StallStatistics snapshot() {
+            return new StallStatistics(attribution.plugin, attribution.component, count,
+                                       totalMillis, worstMillis, worstStack);
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package br.edu.ifba.inf008.shell;
 
 import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.model.ConnectionPoolStatistics;
+import br.edu.ifba.inf008.interfaces.model.QueryStatistics;
+import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementação do IOController com suporte a banco de dados
@@ -15,10 +26,28 @@ public class IOController implements IIOController {
     private static final Logger logger = LoggerFactory.getLogger(IOController.class);
     
     // Configurações do banco
-    private final String url = "jdbc:mariadb://localhost:3307/bookstore";
+    // Instruções preparadas no servidor e guardadas por conexão física, para
+    // que consultas repetidas não sejam analisadas e planejadas de novo
+    private final String url = "jdbc:mariadb://localhost:3307/bookstore"
+        + "?useServerPrepStmts=true&cachePrepStmts=true"
+        + "&prepStmtCacheSize=" + Integer.getInteger("library.db.prepStmtCacheSize", 250);
     private final String username = "root";
     private final String password = "root";
     
+    // Configurações do pool (podem ser sobrescritas via -Dlibrary.db.pool.*)
+    private final int poolMinSize = Integer.getInteger("library.db.pool.minSize", 2);
+    private final int poolMaxSize = Integer.getInteger("library.db.pool.maxSize", 10);
+    private final long poolIdleTimeoutMillis = Long.getLong("library.db.pool.idleTimeoutMillis", 300_000L);
+    private final long poolBorrowTimeoutMillis = Long.getLong("library.db.pool.borrowTimeoutMillis", 10_000L);
+    private final long poolLeakThresholdMillis = Long.getLong("library.db.pool.leakThresholdMillis", 60_000L); // 0 desliga
+    
+    // Tarefas assíncronas: uma thread por conexão do pool, fila limitada
+    private final int asyncQueueCapacity = Integer.getInteger("library.db.async.queueCapacity", 256);
+    
+    private final ConnectionPool connectionPool;
+    private final ThreadPoolExecutor databaseExecutor;
+    private final LatencyHistogram taskQueueWait = new LatencyHistogram();
+    
     public IOController() {
         try {
             // Registrar driver MariaDB
@@ -27,14 +56,27 @@ public class IOController implements IIOController {
         } catch (ClassNotFoundException e) {
             logger.error("Erro ao carregar driver MariaDB: {}", e.getMessage());
         }
+        connectionPool = new ConnectionPool(url, username, password,
+                                            poolMinSize, poolMaxSize, poolIdleTimeoutMillis,
+                                            poolBorrowTimeoutMillis, poolLeakThresholdMillis,
+                                            new QueryMonitor());
+        
+        AtomicInteger workerCount = new AtomicInteger();
+        databaseExecutor = new ThreadPoolExecutor(
+            poolMaxSize, poolMaxSize, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(asyncQueueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "db-worker-" + workerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        databaseExecutor.allowCoreThreadTimeOut(true);
     }
     
     @Override
     public Connection getDatabaseConnection() throws SQLException {
         try {
-            Connection conn = DriverManager.getConnection(url, username, password);
-            logger.debug("Nova conexão estabelecida com o banco");
-            return conn;
+            return connectionPool.borrow();
         } catch (SQLException e) {
             logger.error("Falha ao conectar com banco: {}", e.getMessage());
             throw e;
@@ -53,9 +95,114 @@ public class IOController implements IIOController {
         }
     }
     
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            databaseExecutor.execute(() -> {
+                taskQueueWait.record(System.nanoTime() - queuedAt);
+                try {
+                    T value = task.call();
+                    runOnFxThread(() -> result.complete(value));
+                } catch (CancellationException e) {
+                    // Cancelada pelo usuário; quem chamou trata no futuro
+                    logger.debug("Tarefa assíncrona cancelada: {}", e.getMessage());
+                    runOnFxThread(() -> result.completeExceptionally(e));
+                } catch (Exception e) {
+                    logger.error("Tarefa assíncrona falhou: {}", e.getMessage());
+                    runOnFxThread(() -> result.completeExceptionally(e));
+                } catch (Throwable e) {
+                    // Ex.: NoClassDefFoundError de um plugin recarregado durante
+                    // a tarefa; o futuro precisa terminar para fechar os diálogos
+                    logger.error("Tarefa assíncrona falhou: {}", e.toString(), e);
+                    runOnFxThread(() -> result.completeExceptionally(e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Fila de tarefas de banco cheia ({} pendentes)", databaseExecutor.getQueue().size());
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+    
+    /**
+     * Publica no registro a ocupação do pool, as esperas por conexão e
+     * pela fila e o tempo de todas as consultas somadas.
+     */
+    public void registerMetrics(MetricsController metrics) {
+        metrics.gauge("library_db_pool_connections", "Conexões físicas abertas",
+                      connectionPool::getTotalConnections, "state", "open");
+        metrics.gauge("library_db_pool_connections", "Conexões físicas abertas",
+                      connectionPool::getIdleConnections, "state", "idle");
+        metrics.gauge("library_db_pool_connections", "Conexões físicas abertas",
+                      connectionPool::getBorrowedConnections, "state", "borrowed");
+        metrics.gauge("library_db_pool_max_connections", "Limite de conexões do pool",
+                      connectionPool::getMaxSize);
+        metrics.gauge("library_db_async_queued_tasks", "Tarefas de executeAsync aguardando thread",
+                      () -> databaseExecutor.getQueue().size());
+        metrics.counter("library_db_pool_borrow_timeouts_total", "Pedidos de conexão que esgotaram o tempo",
+                        connectionPool::getBorrowTimeouts);
+        metrics.timer("library_db_pool_wait_seconds", "Espera por uma conexão livre",
+                      connectionPool.getWaitTime());
+        metrics.timer("library_db_pool_borrow_seconds", "Tempo de cada conexão emprestada",
+                      connectionPool.getBorrowDuration());
+        metrics.timer("library_db_async_queue_wait_seconds", "Espera das tarefas de executeAsync na fila",
+                      taskQueueWait);
+        metrics.timer("library_db_statement_seconds", "Tempo de execução de todas as instruções SQL",
+                      connectionPool.getQueryMonitor().getAllStatements());
+    }
+    
+    @Override
+    public List<QueryStatistics> getQueryStatistics() {
+        return connectionPool.getQueryMonitor().snapshot();
+    }
+    
+    @Override
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return new ConnectionPoolStatistics(connectionPool.getTotalConnections(),
+                                            connectionPool.getIdleConnections(),
+                                            connectionPool.getBorrowedConnections(),
+                                            connectionPool.getMaxSize(),
+                                            connectionPool.getBorrowTimeouts(),
+                                            databaseExecutor.getQueue().size(),
+                                            connectionPool.getWaitTime().summarize(),
+                                            connectionPool.getBorrowDuration().summarize(),
+                                            taskQueueWait.summarize());
+    }
+    
+    @Override
+    public void resetDatabaseStatistics() {
+        connectionPool.getQueryMonitor().reset();
+        connectionPool.getWaitTime().reset();
+        connectionPool.getBorrowDuration().reset();
+        taskQueueWait.reset();
+    }
+    
+    /**
+     * Entrega o resultado na thread do JavaFX; sem toolkit ativo
+     * (ex.: durante o encerramento), completa na própria thread.
+     */
+    private void runOnFxThread(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            action.run();
+        }
+    }
+    
     @Override
     public void closeDatabaseConnections() {
         logger.info("Limpeza de conexões solicitada");
-        // Em versão futura, usaremos pool de conexões
+        databaseExecutor.shutdown();
+        try {
+            if (!databaseExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                databaseExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            databaseExecutor.shutdownNow();
+        }
+        connectionPool.close();
     }
 }
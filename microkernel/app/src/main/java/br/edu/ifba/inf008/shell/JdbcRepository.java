@@ -0,0 +1,86 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base dos repositórios do kernel: executa uma consulta numa conexão do
+ * pool e converte as linhas com um RowMapper.
+ *
+ * Os mapeadores leem as colunas pela posição, na ordem da lista de
+ * colunas de cada repositório, o que evita procurar cada rótulo a cada
+ * linha. As instruções são preparadas no servidor e ficam no cache de
+ * cada conexão física (ver IOController), então repetir uma consulta não
+ * a analisa de novo.
+ */
+abstract class JdbcRepository {
+
+    /**
+     * Converte a linha atual do cursor em um objeto.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    protected final IIOController ioController;
+
+    protected JdbcRepository(IIOController ioController) {
+        this.ioController = ioController;
+    }
+
+    /**
+     * @return o objeto da primeira linha, ou null se a consulta não trouxer nenhuma
+     */
+    protected <T> T queryOne(String sql, RowMapper<T> mapper, Object... parameters) throws SQLException {
+        try (Connection conn = ioController.getDatabaseConnection();
+             PreparedStatement stmt = prepare(conn, sql, parameters);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? mapper.map(rs) : null;
+        }
+    }
+
+    /**
+     * @return os objetos de todas as linhas, na ordem da consulta
+     */
+    protected <T> List<T> queryList(String sql, RowMapper<T> mapper, Object... parameters) throws SQLException {
+        List<T> result = new ArrayList<>();
+        try (Connection conn = ioController.getDatabaseConnection();
+             PreparedStatement stmt = prepare(conn, sql, parameters);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                result.add(mapper.map(rs));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return número de linhas alteradas
+     */
+    protected int update(String sql, Object... parameters) throws SQLException {
+        try (Connection conn = ioController.getDatabaseConnection();
+             PreparedStatement stmt = prepare(conn, sql, parameters)) {
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql, Object... parameters) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        try {
+            for (int i = 0; i < parameters.length; i++) {
+                stmt.setObject(i + 1, parameters[i]);
+            }
+            return stmt;
+        } catch (SQLException e) {
+            stmt.close();
+            throw e;
+        }
+    }
+}
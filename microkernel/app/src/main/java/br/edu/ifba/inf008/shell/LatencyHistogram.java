@@ -0,0 +1,32 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.model.LatencySummary;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograma de durações, guardadas em microssegundos num LogHistogram.
+ */
+public class LatencyHistogram extends LogHistogram {
+
+    /**
+     * Grava uma duração.
+     * @param nanos duração em nanossegundos; valores negativos contam como zero
+     */
+    public void record(long nanos) {
+        recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Resume o histograma em milissegundos. Gravações concorrentes podem ou
+     * não entrar no resumo, mas nenhuma se perde para o próximo.
+     */
+    public LatencySummary summarize() {
+        return new LatencySummary(getCount(),
+                                  getMean() / 1000.0,
+                                  getValueAtQuantile(0.50) / 1000.0,
+                                  getValueAtQuantile(0.95) / 1000.0,
+                                  getValueAtQuantile(0.99) / 1000.0,
+                                  getMax() / 1000.0);
+    }
+}
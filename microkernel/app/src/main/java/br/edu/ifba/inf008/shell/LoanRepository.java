@@ -0,0 +1,204 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.ILoanRepository;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consultas da tabela loans, com os dados de exibição do usuário e do livro.
+ */
+public class LoanRepository extends JdbcRepository implements ILoanRepository {
+    // Ordem lida por MAPPER
+    private static final String SELECT = """
+        SELECT l.loan_id, l.user_id, l.book_id, l.loan_date, l.return_date,
+               u.name, b.title, u.email, b.author
+        FROM loans l
+        JOIN users u ON l.user_id = u.user_id
+        JOIN books b ON l.book_id = b.book_id
+        """;
+
+    static final RowMapper<Loan> MAPPER = rs -> {
+        Date returnDate = rs.getDate(5);
+        return new Loan(
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getInt(3),
+            rs.getDate(4).toLocalDate(),
+            returnDate != null ? returnDate.toLocalDate() : null,
+            rs.getString(6),
+            rs.getString(7),
+            rs.getString(8),
+            rs.getString(9)
+        );
+    };
+
+    public LoanRepository(IIOController ioController) {
+        super(ioController);
+    }
+
+    @Override
+    public Loan findById(int loanId) throws SQLException {
+        return queryOne(SELECT + "WHERE l.loan_id = ?", MAPPER, loanId);
+    }
+
+    @Override
+    public List<Loan> findPage(boolean activeOnly, Loan after, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        if (activeOnly) {
+            sql.append(" AND l.return_date IS NULL");
+        }
+        if (after != null) {
+            Date lastDate = Date.valueOf(after.getLoanDate());
+            sql.append(" AND (l.loan_date < ? OR (l.loan_date = ? AND l.loan_id < ?))");
+            parameters.add(lastDate);
+            parameters.add(lastDate);
+            parameters.add(after.getLoanId());
+        }
+        sql.append(" ORDER BY l.loan_date DESC, l.loan_id DESC LIMIT ?");
+        parameters.add(limit);
+
+        return queryList(sql.toString(), MAPPER, parameters.toArray());
+    }
+
+    /**
+     * Os exemplares são reservados com um único decremento condicional,
+     * então dois balcões emprestando o último exemplar ao mesmo tempo não
+     * conseguem ambos; os empréstimos são inseridos depois num só lote.
+     */
+    @Override
+    public List<Integer> checkout(int userId, List<Integer> bookIds) throws SQLException {
+        List<Integer> distinctBookIds = new ArrayList<>(new LinkedHashSet<>(bookIds));
+        if (distinctBookIds.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(distinctBookIds.size(), "?"));
+        String reserveSql = "UPDATE books SET copies_available = copies_available - 1 "
+                          + "WHERE copies_available > 0 AND book_id IN (" + placeholders + ")";
+        String insertSql = "INSERT INTO loans (user_id, book_id, loan_date) VALUES (?, ?, ?)";
+
+        try (Connection conn = ioController.getDatabaseConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement reserve = conn.prepareStatement(reserveSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+
+                // Uma contagem menor significa que algum livro acabou
+                for (int i = 0; i < distinctBookIds.size(); i++) {
+                    reserve.setInt(i + 1, distinctBookIds.get(i));
+                }
+                if (reserve.executeUpdate() != distinctBookIds.size()) {
+                    conn.rollback();
+                    return List.of();
+                }
+
+                Date loanDate = Date.valueOf(LocalDate.now());
+                for (int bookId : distinctBookIds) {
+                    insert.setInt(1, userId);
+                    insert.setInt(2, bookId);
+                    insert.setDate(3, loanDate);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+
+                List<Integer> loanIds = new ArrayList<>();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        loanIds.add(keys.getInt(1));
+                    }
+                }
+
+                conn.commit();
+                return loanIds;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Os empréstimos ainda abertos são travados primeiro (SELECT ... FOR
+     * UPDATE), e só eles são devolvidos. A contagem por linha do lote não
+     * serve para isso: o Connector/J envia o lote de uma vez e responde
+     * SUCCESS_NO_INFO para todas as linhas. Cada devolução fecha o
+     * empréstimo e devolve o exemplar num único UPDATE de duas tabelas, e
+     * todas vão num só lote JDBC.
+     */
+    @Override
+    public List<Integer> returnLoans(List<Integer> loanIds) throws SQLException {
+        List<Integer> distinctLoanIds = new ArrayList<>(new LinkedHashSet<>(loanIds));
+        if (distinctLoanIds.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(distinctLoanIds.size(), "?"));
+        String lockSql = "SELECT loan_id FROM loans "
+                       + "WHERE return_date IS NULL AND loan_id IN (" + placeholders + ") FOR UPDATE";
+        String updateSql = """
+            UPDATE loans l
+            JOIN books b ON b.book_id = l.book_id
+            SET l.return_date = ?, b.copies_available = b.copies_available + 1
+            WHERE l.loan_id = ? AND l.return_date IS NULL
+            """;
+
+        try (Connection conn = ioController.getDatabaseConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement lock = conn.prepareStatement(lockSql);
+                 PreparedStatement update = conn.prepareStatement(updateSql)) {
+
+                // Outro balcão pode ter devolvido alguns; esses ficam de fora
+                Set<Integer> active = new HashSet<>();
+                for (int i = 0; i < distinctLoanIds.size(); i++) {
+                    lock.setInt(i + 1, distinctLoanIds.get(i));
+                }
+                try (ResultSet rs = lock.executeQuery()) {
+                    while (rs.next()) {
+                        active.add(rs.getInt(1));
+                    }
+                }
+
+                List<Integer> returned = new ArrayList<>();
+                for (int loanId : distinctLoanIds) {
+                    if (active.contains(loanId)) {
+                        returned.add(loanId);
+                    }
+                }
+                if (returned.isEmpty()) {
+                    conn.rollback();
+                    return returned;
+                }
+
+                Date returnDate = Date.valueOf(LocalDate.now());
+                for (int loanId : returned) {
+                    update.setDate(1, returnDate);
+                    update.setInt(2, loanId);
+                    update.addBatch();
+                }
+                update.executeBatch();
+
+                conn.commit();
+                return returned;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
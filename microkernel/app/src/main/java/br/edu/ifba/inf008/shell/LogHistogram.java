@@ -0,0 +1,142 @@
+package br.edu.ifba.inf008.shell;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores inteiros não negativos, sem trava, para ser
+ * gravado por várias threads.
+ *
+ * Os valores caem em faixas logarítmicas, como num HdrHistogram: cada
+ * potência de dois é dividida em 128 faixas, então um percentil fica no
+ * máximo 1% acima do valor real, de 0 a Long.MAX_VALUE. As 128 faixas de
+ * uma potência de dois só são alocadas na primeira gravação que cai nela;
+ * latências costumam ocupar poucas potências, e há um histograma por
+ * formato de SQL.
+ */
+public class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int RANGES = Long.SIZE - SUB_BUCKET_BITS;
+
+    // Uma posição por potência de dois (a primeira cobre 0 a SUB_BUCKETS - 1)
+    private final AtomicReferenceArray<AtomicLongArray> counts = new AtomicReferenceArray<>(RANGES);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value valor gravado; negativos contam como zero
+     */
+    public void recordValue(long value) {
+        value = Math.max(0, value);
+        int bucket = bucketOf(value);
+        rangeOf(bucket / SUB_BUCKETS).incrementAndGet(bucket % SUB_BUCKETS);
+        count.increment();
+        total.add(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Percentil aproximado para cima, limitado ao maior valor gravado.
+     * Gravações concorrentes podem ou não entrar na conta.
+     * @param quantile entre 0 e 1, ex.: 0.99
+     * @return limite superior da faixa do percentil, ou 0 se vazio
+     */
+    public long getValueAtQuantile(double quantile) {
+        long[][] snapshot = new long[RANGES][];
+        long n = 0;
+        for (int range = 0; range < RANGES; range++) {
+            AtomicLongArray rangeCounts = counts.get(range);
+            if (rangeCounts == null) {
+                continue;
+            }
+            snapshot[range] = new long[SUB_BUCKETS];
+            for (int i = 0; i < SUB_BUCKETS; i++) {
+                snapshot[range][i] = rangeCounts.get(i);
+                n += snapshot[range][i];
+            }
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int range = 0; range < RANGES; range++) {
+            if (snapshot[range] == null) {
+                continue;
+            }
+            for (int i = 0; i < SUB_BUCKETS; i++) {
+                seen += snapshot[range][i];
+                if (seen >= rank) {
+                    return Math.min(max.get(), upperBoundOf(range * SUB_BUCKETS + i));
+                }
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int range = 0; range < RANGES; range++) {
+            AtomicLongArray rangeCounts = counts.get(range);
+            if (rangeCounts != null) {
+                for (int i = 0; i < SUB_BUCKETS; i++) {
+                    rangeCounts.set(i, 0);
+                }
+            }
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    private AtomicLongArray rangeOf(int range) {
+        AtomicLongArray rangeCounts = counts.get(range);
+        if (rangeCounts == null) {
+            counts.compareAndSet(range, null, new AtomicLongArray(SUB_BUCKETS));
+            rangeCounts = counts.get(range);
+        }
+        return rangeCounts;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+}
@@ -0,0 +1,631 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.IMetricsController;
+import br.edu.ifba.inf008.interfaces.model.ConnectionPoolStatistics;
+import br.edu.ifba.inf008.interfaces.model.LatencySummary;
+import br.edu.ifba.inf008.interfaces.model.QueryStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de métricas do kernel.
+ *
+ * Contadores usam LongAdder, que espalha os incrementos em células por
+ * thread; tempos e distribuições usam LogHistogram, também sem trava.
+ * A cada 5 segundos o registro atualiza a taxa por segundo de cada
+ * contador (média móvel exponencial de um minuto), mostrada no JMX, onde
+ * não há como derivar a taxa do total.
+ *
+ * start() publica cada métrica como um MBean em br.edu.ifba.inf008.metrics
+ * (desligável com -Dlibrary.metrics.jmx=false), junto com as consultas por
+ * formato do IIOController, e, se -Dlibrary.metrics.httpPort for
+ * informado, abre o endpoint /metrics em localhost. Sem start(), como nos
+ * benchmarks, as métricas só ficam em memória.
+ */
+public class MetricsController implements IMetricsController {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsController.class);
+
+    static final String JMX_DOMAIN = "br.edu.ifba.inf008.metrics";
+
+    private static final long TICK_SECONDS = 5;
+    private static final double RATE_ALPHA = 1 - Math.exp(-TICK_SECONDS / 60.0);
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final Set<String> RESERVED_LABELS = Set.of("terminal", "quantile", "type", "metric");
+
+    /**
+     * Tipos de métrica, com o nome usado no formato do Prometheus
+     */
+    enum Type {
+        COUNTER("counter"), GAUGE("gauge"), TIMER("summary"), HISTOGRAM("summary");
+
+        final String exposition;
+
+        Type(String exposition) {
+            this.exposition = exposition;
+        }
+    }
+
+    private final String terminalId;
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private final Map<String, Type> typesByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    private volatile MBeanServer mbeanServer;
+    private MetricsHttpServer httpServer;
+
+    public MetricsController() {
+        this.terminalId = System.getProperty("library.terminal", defaultTerminalId());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_SECONDS, TICK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Interface JMX das estatísticas de banco; os modelos viram CompositeData.
+     */
+    public interface DatabaseStatisticsMXBean {
+        List<QueryStatistics> getQueryStatistics();
+
+        ConnectionPoolStatistics getConnectionPoolStatistics();
+
+        void resetDatabaseStatistics();
+    }
+
+    /**
+     * Publica as métricas por JMX e abre o endpoint HTTP, conforme as
+     * propriedades do sistema.
+     * @param ioController fonte das consultas por formato e do estado do pool
+     */
+    public void start(IIOController ioController) {
+        if (Boolean.parseBoolean(System.getProperty("library.metrics.jmx", "true"))) {
+            mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            metrics.values().forEach(this::registerMBean);
+            registerDatabaseMBean(ioController);
+        }
+        int port = Integer.getInteger("library.metrics.httpPort", 0);
+        if (port > 0) {
+            try {
+                httpServer = new MetricsHttpServer(this, ioController, port);
+                logger.info("Métricas disponíveis em http://localhost:{}/metrics", port);
+            } catch (IOException e) {
+                logger.error("Não foi possível abrir o endpoint de métricas na porta {}: {}", port, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fecha o endpoint HTTP, retira os MBeans e para o cálculo das taxas.
+     */
+    public void close() {
+        ticker.shutdownNow();
+        if (httpServer != null) {
+            httpServer.stop();
+            httpServer = null;
+        }
+        MBeanServer server = mbeanServer;
+        mbeanServer = null;
+        if (server != null) {
+            metrics.values().forEach(metric -> unregisterMBean(server, metric));
+            try {
+                ObjectName name = databaseObjectName();
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                logger.debug("Erro ao retirar as estatísticas de banco do JMX: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) getOrCreate(name, help, labels, Type.COUNTER, CounterMetric::new);
+    }
+
+    /**
+     * Contador cujo total vem de outro componente, como os acertos de um
+     * cache; não aceita increment().
+     */
+    void counter(String name, String help, LongSupplier total, String... labels) {
+        getOrCreate(name, help, labels, Type.COUNTER, (n, h, l) -> new CounterMetric(n, h, l, total));
+    }
+
+    @Override
+    public Timer timer(String name, String help, String... labels) {
+        return (Timer) getOrCreate(name, help, labels, Type.TIMER,
+                                   (n, h, l) -> new TimerMetric(n, h, l, new LatencyHistogram()));
+    }
+
+    /**
+     * Publica um histograma de durações mantido por outro componente,
+     * como a espera por conexões do pool.
+     */
+    void timer(String name, String help, LatencyHistogram histogram, String... labels) {
+        getOrCreate(name, help, labels, Type.TIMER, (n, h, l) -> new TimerMetric(n, h, l, histogram));
+    }
+
+    @Override
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) getOrCreate(name, help, labels, Type.HISTOGRAM, HistogramMetric::new);
+    }
+
+    @Override
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        GaugeMetric gauge = (GaugeMetric) getOrCreate(name, help, labels, Type.GAUGE,
+                                                      (n, h, l) -> new GaugeMetric(n, h, l, value));
+        gauge.value = value;
+    }
+
+    @Override
+    public String getTerminalId() {
+        return terminalId;
+    }
+
+    /**
+     * Remove os medidores cujo fornecedor foi criado pelo código de um
+     * plugin; chamado pelo PluginController ao descarregá-lo, para que o
+     * classloader do plugin possa ser coletado.
+     */
+    void removeGaugesOf(ClassLoader classLoader) {
+        for (Metric metric : metrics.values()) {
+            if (metric instanceof GaugeMetric
+                    && ((GaugeMetric) metric).value.getClass().getClassLoader() == classLoader) {
+                metrics.remove(metric.key, metric);
+                MBeanServer server = mbeanServer;
+                if (server != null) {
+                    unregisterMBean(server, metric);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return as métricas agrupadas por nome, em ordem alfabética
+     */
+    Map<String, List<Metric>> snapshotByName() {
+        Map<String, List<Metric>> byName = new TreeMap<>();
+        for (Metric metric : metrics.values()) {
+            byName.computeIfAbsent(metric.name, key -> new ArrayList<>()).add(metric);
+        }
+        byName.values().forEach(list -> list.sort((a, b) -> a.key.compareTo(b.key)));
+        return byName;
+    }
+
+    private Metric getOrCreate(String name, String help, String[] labels, Type type, MetricFactory factory) {
+        Map<String, String> labelMap = parseLabels(name, labels);
+        String key = name + labelMap;
+        Metric existing = metrics.get(key);
+        if (existing != null && existing.type == type) {
+            return existing;
+        }
+
+        Type registered = typesByName.putIfAbsent(name, type);
+        if (registered != null && registered != type) {
+            throw new IllegalArgumentException("Métrica " + name + " já registrada como " + registered);
+        }
+        Metric[] created = new Metric[1];
+        Metric metric = metrics.computeIfAbsent(key, k -> created[0] = factory.create(name, help, labelMap));
+        if (metric == created[0]) {
+            registerMBean(metric);
+        }
+        return metric;
+    }
+
+    private static Map<String, String> parseLabels(String name, String[] labels) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nome de métrica inválido: " + name);
+        }
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Rótulos de " + name + " devem vir em pares chave e valor");
+        }
+        Map<String, String> labelMap = new TreeMap<>();
+        for (int i = 0; i < labels.length; i += 2) {
+            String key = labels[i];
+            if (key == null || !LABEL.matcher(key).matches() || RESERVED_LABELS.contains(key)) {
+                throw new IllegalArgumentException("Rótulo inválido em " + name + ": " + key);
+            }
+            labelMap.put(key, String.valueOf(labels[i + 1]));
+        }
+        return Collections.unmodifiableMap(labelMap);
+    }
+
+    private void registerDatabaseMBean(IIOController ioController) {
+        DatabaseStatisticsMXBean bean = new DatabaseStatisticsMXBean() {
+            @Override
+            public List<QueryStatistics> getQueryStatistics() {
+                return ioController.getQueryStatistics();
+            }
+
+            @Override
+            public ConnectionPoolStatistics getConnectionPoolStatistics() {
+                return ioController.getConnectionPoolStatistics();
+            }
+
+            @Override
+            public void resetDatabaseStatistics() {
+                ioController.resetDatabaseStatistics();
+            }
+        };
+        try {
+            ObjectName name = databaseObjectName();
+            if (!mbeanServer.isRegistered(name)) {
+                mbeanServer.registerMBean(bean, name);
+            }
+        } catch (JMException e) {
+            logger.warn("Não foi possível registrar as estatísticas de banco no JMX: {}", e.getMessage());
+        }
+    }
+
+    private ObjectName databaseObjectName() throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=Database,terminal=" + quote(terminalId));
+    }
+
+    private void tick() {
+        for (Metric metric : metrics.values()) {
+            if (metric instanceof CounterMetric) {
+                ((CounterMetric) metric).updateRate();
+            }
+        }
+    }
+
+    private void registerMBean(Metric metric) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            ObjectName objectName = objectNameOf(metric);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(new MetricBean(metric), objectName);
+            }
+        } catch (JMException e) {
+            logger.warn("Não foi possível registrar a métrica {} no JMX: {}", metric.name, e.getMessage());
+        }
+    }
+
+    private void unregisterMBean(MBeanServer server, Metric metric) {
+        try {
+            ObjectName objectName = objectNameOf(metric);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            logger.debug("Erro ao retirar a métrica {} do JMX: {}", metric.name, e.getMessage());
+        }
+    }
+
+    private ObjectName objectNameOf(Metric metric) throws JMException {
+        StringBuilder name = new StringBuilder(JMX_DOMAIN)
+            .append(":type=").append(metric.type.name().charAt(0)).append(metric.type.name().substring(1).toLowerCase())
+            .append(",metric=").append(metric.name)
+            .append(",terminal=").append(quote(terminalId));
+        metric.labels.forEach((key, value) -> name.append(',').append(key).append('=').append(quote(value)));
+        return new ObjectName(name.toString());
+    }
+
+    private static String quote(String value) {
+        for (char c : value.toCharArray()) {
+            if (",=:\"*?\\\n".indexOf(c) >= 0) {
+                return ObjectName.quote(value);
+            }
+        }
+        return value;
+    }
+
+    private static String defaultTerminalId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
+
+    @FunctionalInterface
+    private interface MetricFactory {
+        Metric create(String name, String help, Map<String, String> labels);
+    }
+
+    /**
+     * Nome, descrição e rótulos comuns a todos os tipos.
+     */
+    abstract static class Metric {
+        final String name;
+        final String help;
+        final Map<String, String> labels;
+        final Type type;
+        final String key;
+
+        Metric(String name, String help, Map<String, String> labels, Type type) {
+            this.name = name;
+            this.help = help == null ? "" : help;
+            this.labels = labels;
+            this.type = type;
+            this.key = name + labels;
+        }
+
+        /**
+         * @return atributos mostrados no JMX, na ordem de exibição
+         */
+        abstract Map<String, MetricAttribute> attributes();
+    }
+
+    /**
+     * Atributo JMX de uma métrica. O tipo é declarado no registro, sem
+     * chamar o fornecedor, que pode ainda não estar pronto ou ser caro.
+     */
+    static final class MetricAttribute {
+        final Class<?> type;
+        final Supplier<Object> value;
+
+        private MetricAttribute(Class<?> type, Supplier<Object> value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        static MetricAttribute ofLong(LongSupplier value) {
+            return new MetricAttribute(Long.class, value::getAsLong);
+        }
+
+        static MetricAttribute ofDouble(DoubleSupplier value) {
+            return new MetricAttribute(Double.class, value::getAsDouble);
+        }
+    }
+
+    static final class CounterMetric extends Metric implements Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongSupplier total;
+        private long lastTotal;
+        private volatile double ratePerSecond;
+        private boolean rateStarted;
+
+        CounterMetric(String name, String help, Map<String, String> labels) {
+            this(name, help, labels, null);
+        }
+
+        CounterMetric(String name, String help, Map<String, String> labels, LongSupplier total) {
+            super(name, help, labels, Type.COUNTER);
+            this.total = total;
+        }
+
+        @Override
+        public void increment() {
+            add(1);
+        }
+
+        @Override
+        public void add(long amount) {
+            if (total != null) {
+                throw new UnsupportedOperationException("O contador " + name + " é mantido pelo kernel");
+            }
+            if (amount < 0) {
+                throw new IllegalArgumentException("Contadores só crescem: " + amount);
+            }
+            count.add(amount);
+        }
+
+        @Override
+        public long getCount() {
+            return total != null ? total.getAsLong() : count.sum();
+        }
+
+        double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        /**
+         * Chamado só pela thread do ticker.
+         */
+        void updateRate() {
+            long current = getCount();
+            double instant = (double) Math.max(0, current - lastTotal) / TICK_SECONDS;
+            lastTotal = current;
+            if (rateStarted) {
+                ratePerSecond += RATE_ALPHA * (instant - ratePerSecond);
+            } else {
+                ratePerSecond = instant;
+                rateStarted = true;
+            }
+        }
+
+        @Override
+        Map<String, MetricAttribute> attributes() {
+            Map<String, MetricAttribute> attributes = new LinkedHashMap<>();
+            attributes.put("Count", MetricAttribute.ofLong(this::getCount));
+            attributes.put("OneMinuteRatePerSecond", MetricAttribute.ofDouble(this::getRatePerSecond));
+            return attributes;
+        }
+    }
+
+    static final class GaugeMetric extends Metric {
+        volatile DoubleSupplier value;
+
+        GaugeMetric(String name, String help, Map<String, String> labels, DoubleSupplier value) {
+            super(name, help, labels, Type.GAUGE);
+            this.value = value;
+        }
+
+        double getValue() {
+            try {
+                return value.getAsDouble();
+            } catch (RuntimeException e) {
+                logger.debug("Medidor {} falhou: {}", name, e.getMessage());
+                return Double.NaN;
+            }
+        }
+
+        @Override
+        Map<String, MetricAttribute> attributes() {
+            return Map.of("Value", MetricAttribute.ofDouble(this::getValue));
+        }
+    }
+
+    static final class TimerMetric extends Metric implements Timer {
+        final LatencyHistogram histogram;
+
+        TimerMetric(String name, String help, Map<String, String> labels, LatencyHistogram histogram) {
+            super(name, help, labels, Type.TIMER);
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void record(long duration, TimeUnit unit) {
+            histogram.record(unit.toNanos(duration));
+        }
+
+        @Override
+        public LatencySummary getSummary() {
+            return histogram.summarize();
+        }
+
+        @Override
+        Map<String, MetricAttribute> attributes() {
+            Map<String, MetricAttribute> attributes = new LinkedHashMap<>();
+            attributes.put("Count", MetricAttribute.ofLong(histogram::getCount));
+            attributes.put("MeanMillis", MetricAttribute.ofDouble(() -> histogram.getMean() / 1000.0));
+            attributes.put("P50Millis", MetricAttribute.ofDouble(() -> histogram.getValueAtQuantile(0.50) / 1000.0));
+            attributes.put("P95Millis", MetricAttribute.ofDouble(() -> histogram.getValueAtQuantile(0.95) / 1000.0));
+            attributes.put("P99Millis", MetricAttribute.ofDouble(() -> histogram.getValueAtQuantile(0.99) / 1000.0));
+            attributes.put("MaxMillis", MetricAttribute.ofDouble(() -> histogram.getMax() / 1000.0));
+            return attributes;
+        }
+    }
+
+    static final class HistogramMetric extends Metric implements Histogram {
+        final LogHistogram histogram = new LogHistogram();
+
+        HistogramMetric(String name, String help, Map<String, String> labels) {
+            super(name, help, labels, Type.HISTOGRAM);
+        }
+
+        @Override
+        public void record(long value) {
+            histogram.recordValue(value);
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMax();
+        }
+
+        @Override
+        public long getValueAtQuantile(double quantile) {
+            return histogram.getValueAtQuantile(quantile);
+        }
+
+        @Override
+        Map<String, MetricAttribute> attributes() {
+            Map<String, MetricAttribute> attributes = new LinkedHashMap<>();
+            attributes.put("Count", MetricAttribute.ofLong(histogram::getCount));
+            attributes.put("Mean", MetricAttribute.ofDouble(histogram::getMean));
+            attributes.put("P50", MetricAttribute.ofLong(() -> histogram.getValueAtQuantile(0.50)));
+            attributes.put("P95", MetricAttribute.ofLong(() -> histogram.getValueAtQuantile(0.95)));
+            attributes.put("P99", MetricAttribute.ofLong(() -> histogram.getValueAtQuantile(0.99)));
+            attributes.put("Max", MetricAttribute.ofLong(histogram::getMax));
+            return attributes;
+        }
+    }
+
+    /**
+     * MBean somente leitura com os atributos de uma métrica.
+     */
+    private static final class MetricBean implements DynamicMBean {
+        private final Map<String, MetricAttribute> attributes;
+        private final MBeanInfo info;
+
+        MetricBean(Metric metric) {
+            this.attributes = metric.attributes();
+            List<MBeanAttributeInfo> infos = new ArrayList<>();
+            attributes.forEach((name, attribute) -> infos.add(new MBeanAttributeInfo(
+                name, attribute.type.getName(), name, true, false, false)));
+            this.info = new MBeanInfo(Metric.class.getName(), metric.help,
+                                      infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            MetricAttribute value = attributes.get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value.value.get();
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                MetricAttribute value = attributes.get(name);
+                if (value != null) {
+                    list.add(new Attribute(name, value.value.get()));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Métricas são somente leitura: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(actionName), "Métricas não têm operações");
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return info;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.model.LatencySummary;
+import br.edu.ifba.inf008.interfaces.model.QueryStatistics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Endpoint /metrics no formato de texto do Prometheus (versão 0.0.4).
+ *
+ * Escuta só no endereço de loopback, então a coleta precisa de um agente
+ * na própria máquina. Além das métricas do registro, expõe as consultas
+ * por formato do IIOController como library_db_query_seconds, com o SQL
+ * e o plugin de origem como rótulos; o número de formatos é limitado pelo
+ * QueryMonitor.
+ */
+public class MetricsHttpServer {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = { 0.50, 0.95, 0.99 };
+
+    private final MetricsController metrics;
+    private final IIOController ioController;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public MetricsHttpServer(MetricsController metrics, IIOController ioController, int port) throws IOException {
+        this.metrics = metrics;
+        this.ioController = ioController;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            try {
+                body = render().getBytes(StandardCharsets.UTF_8);
+            } catch (RuntimeException e) {
+                logger.error("Erro ao gerar as métricas: {}", e.getMessage(), e);
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return todas as métricas no formato de texto do Prometheus
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        String terminal = "terminal=\"" + escape(metrics.getTerminalId()) + "\"";
+
+        for (Map.Entry<String, List<MetricsController.Metric>> entry : metrics.snapshotByName().entrySet()) {
+            List<MetricsController.Metric> group = entry.getValue();
+            MetricsController.Metric first = group.get(0);
+            header(out, entry.getKey(), first.help, first.type.exposition);
+            for (MetricsController.Metric metric : group) {
+                String labels = terminal + labelsOf(metric.labels);
+                if (metric instanceof MetricsController.CounterMetric) {
+                    sample(out, metric.name, labels, ((MetricsController.CounterMetric) metric).getCount());
+                } else if (metric instanceof MetricsController.GaugeMetric) {
+                    sample(out, metric.name, labels, ((MetricsController.GaugeMetric) metric).getValue());
+                } else if (metric instanceof MetricsController.TimerMetric) {
+                    // Guardado em microssegundos, exportado em segundos
+                    summary(out, metric.name, labels, ((MetricsController.TimerMetric) metric).histogram, 1e-6);
+                } else if (metric instanceof MetricsController.HistogramMetric) {
+                    summary(out, metric.name, labels, ((MetricsController.HistogramMetric) metric).histogram, 1);
+                }
+            }
+        }
+
+        renderQueries(out, terminal);
+        return out.toString();
+    }
+
+    private void renderQueries(StringBuilder out, String terminal) {
+        List<QueryStatistics> queries = ioController.getQueryStatistics();
+        if (queries.isEmpty()) {
+            return;
+        }
+        header(out, "library_db_query_seconds", "Tempo de execução por formato de SQL", "summary");
+        for (QueryStatistics query : queries) {
+            String labels = labelsOf(terminal, query);
+            LatencySummary latency = query.getLatency();
+            sample(out, "library_db_query_seconds", labels + ",quantile=\"0.5\"", latency.getP50Millis() / 1000);
+            sample(out, "library_db_query_seconds", labels + ",quantile=\"0.95\"", latency.getP95Millis() / 1000);
+            sample(out, "library_db_query_seconds", labels + ",quantile=\"0.99\"", latency.getP99Millis() / 1000);
+            sample(out, "library_db_query_seconds_sum", labels, latency.getMeanMillis() * latency.getCount() / 1000);
+            sample(out, "library_db_query_seconds_count", labels, latency.getCount());
+        }
+        header(out, "library_db_query_rows_total", "Linhas lidas ou alteradas por formato de SQL", "counter");
+        for (QueryStatistics query : queries) {
+            sample(out, "library_db_query_rows_total", labelsOf(terminal, query), query.getRows());
+        }
+        header(out, "library_db_query_errors_total", "Execuções que falharam por formato de SQL", "counter");
+        for (QueryStatistics query : queries) {
+            sample(out, "library_db_query_errors_total", labelsOf(terminal, query), query.getErrors());
+        }
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LogHistogram histogram, double scale) {
+        for (double quantile : QUANTILES) {
+            sample(out, name, labels + ",quantile=\"" + quantile + "\"", histogram.getValueAtQuantile(quantile) * scale);
+        }
+        sample(out, name + "_sum", labels, histogram.getTotal() * scale);
+        sample(out, name + "_count", labels, histogram.getCount());
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ')
+           .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append('{').append(labels).append("} ");
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            out.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String labelsOf(Map<String, String> labels) {
+        StringBuilder out = new StringBuilder();
+        labels.forEach((key, value) -> out.append(',').append(key).append("=\"").append(escape(value)).append('"'));
+        return out.toString();
+    }
+
+    private static String labelsOf(String terminal, QueryStatistics query) {
+        return terminal + ",source=\"" + escape(query.getSource()) + "\",sql=\"" + escape(query.getSql()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
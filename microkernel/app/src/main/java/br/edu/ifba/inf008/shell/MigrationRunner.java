@@ -0,0 +1,224 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica as migrações de esquema que ainda faltam no banco, em ordem de versão.
+ *
+ * Cada migração é um script em db/migration no classpath, chamado
+ * V{versão}__{descrição}.sql e listado em MIGRATIONS. As versões aplicadas
+ * ficam na tabela schema_migrations, com o hash SHA-256 das instruções do
+ * script; um script alterado depois de aplicado só gera um aviso no log.
+ *
+ * O MariaDB confirma cada DDL na hora, então uma migração interrompida
+ * não é desfeita. Por isso os scripts usam IF NOT EXISTS: rodar a mesma
+ * migração de novo completa o que faltou. Duas instâncias iniciando juntas
+ * não aplicam a mesma migração duas vezes, pois o runner segura um
+ * GET_LOCK enquanto trabalha.
+ *
+ * Pode ser desligado com -Dlibrary.db.migrate=false.
+ */
+public class MigrationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+    private static final String LOCATION = "/db/migration/";
+    private static final String[] MIGRATIONS = {
+        "V1__loan_indexes.sql",
+        "V2__catalog_indexes.sql"
+    };
+
+    private static final String LOCK_NAME = "bookstore.schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private final IIOController ioController;
+
+    public MigrationRunner(IIOController ioController) {
+        this.ioController = ioController;
+    }
+
+    /**
+     * Aplica as migrações pendentes.
+     * @return quantas migrações foram aplicadas agora
+     * @throws SQLException se uma migração falhar; as anteriores continuam aplicadas
+     * @throws IOException se um script não puder ser lido
+     */
+    public int migrate() throws SQLException, IOException {
+        try (Connection conn = ioController.getDatabaseConnection()) {
+            acquireLock(conn);
+            try {
+                createTrackingTable(conn);
+                Map<Integer, String> applied = appliedVersions(conn);
+
+                int count = 0;
+                for (String fileName : MIGRATIONS) {
+                    Migration migration = load(fileName);
+                    String checksum = applied.get(migration.version);
+                    if (checksum == null) {
+                        apply(conn, migration);
+                        count++;
+                    } else if (!checksum.equals(migration.checksum)) {
+                        logger.warn("Migração V{} foi alterada depois de aplicada; as mudanças não serão aplicadas",
+                                    migration.version);
+                    }
+                }
+                return count;
+
+            } finally {
+                releaseLock(conn);
+            }
+        }
+    }
+
+    private void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Outra instância está migrando o banco; tempo esgotado aguardando");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.debug("Erro ao liberar trava de migração: {}", e.getMessage());
+        }
+    }
+
+    private void createTrackingTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_migrations (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(200) NOT NULL,
+                    checksum CHAR(64) NOT NULL,
+                    applied_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                    execution_ms BIGINT NOT NULL
+                )
+                """);
+        }
+    }
+
+    private Map<Integer, String> appliedVersions(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        logger.info("Aplicando migração V{}: {}", migration.version, migration.description);
+        long start = System.nanoTime();
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migração V" + migration.version + " falhou: " + e.getMessage(), e.getSQLState(), e);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.setString(3, migration.checksum);
+            stmt.setLong(4, elapsedMillis);
+            stmt.executeUpdate();
+        }
+        logger.info("Migração V{} aplicada em {} ms", migration.version, elapsedMillis);
+    }
+
+    private static Migration load(String fileName) throws IOException {
+        int separator = fileName.indexOf("__");
+        int version = Integer.parseInt(fileName.substring(1, separator));
+        String description = fileName.substring(separator + 2, fileName.length() - ".sql".length()).replace('_', ' ');
+
+        byte[] content;
+        try (InputStream in = MigrationRunner.class.getResourceAsStream(LOCATION + fileName)) {
+            if (in == null) {
+                throw new IOException("Script de migração não encontrado: " + LOCATION + fileName);
+            }
+            content = in.readAllBytes();
+        }
+        // O hash cobre só as instruções: comentários e fins de linha podem mudar
+        List<String> statements = splitStatements(new String(content, StandardCharsets.UTF_8));
+        return new Migration(version, description, sha256(String.join("\n", statements)), statements);
+    }
+
+    /**
+     * Separa o script nas instruções terminadas em ';', ignorando as
+     * linhas de comentário "--". Os scripts não usam ';' dentro de textos.
+     */
+    private static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String checksum;
+        final List<String> statements;
+
+        Migration(int version, String description, String checksum, List<String> statements) {
+            this.version = version;
+            this.description = description;
+            this.checksum = checksum;
+            this.statements = statements;
+        }
+    }
+}
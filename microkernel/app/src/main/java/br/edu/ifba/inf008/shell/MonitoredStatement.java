@@ -0,0 +1,418 @@
+package br.edu.ifba.inf008.shell;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Instrução do pool que cronometra as execuções para o QueryMonitor.
+ *
+ * Só os métodos execute* passam pelo monitor; os demais vão direto à
+ * instrução do driver, sem reflexão, porque os laços de importação e de
+ * lote chamam um setXxx por parâmetro. Cursores devolvidos por
+ * executeQuery ou getResultSet são envolvidos num CountingResultSet, que
+ * conta as linhas lidas. getConnection() devolve a conexão do pool, e
+ * unwrap() não entrega a instrução do driver.
+ */
+class MonitoredStatement implements Statement {
+    private final QueryMonitor monitor;
+    private final Statement statement;
+    private final String preparedSql;
+    private final Connection connection;
+    private String batchSql;
+    private QueryMonitor.ShapeStatistics lastStatistics;
+    private ResultSet driverResult;
+    private CountingResultSet openResult;
+
+    /**
+     * Chamada ao driver que executa a instrução.
+     */
+    @FunctionalInterface
+    interface Execution<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * @param monitor destino das medidas
+     * @param statement instrução da conexão física
+     * @param preparedSql SQL preparado, ou null para createStatement
+     * @param connection proxy da conexão, devolvido por getConnection()
+     */
+    MonitoredStatement(QueryMonitor monitor, Statement statement, String preparedSql, Connection connection) {
+        this.monitor = monitor;
+        this.statement = statement;
+        this.preparedSql = preparedSql;
+        this.connection = connection;
+    }
+
+    /**
+     * Cronometra uma execução e conta as linhas alteradas ou, se ela
+     * devolve um cursor, as linhas lidas nele.
+     * @param sql SQL passado à execução, ou null para o SQL preparado
+     * @param batch true para executeBatch e executeLargeBatch
+     */
+    @SuppressWarnings("unchecked")
+    final <T> T timed(String sql, boolean batch, Execution<T> execution) throws SQLException {
+        String shapeSql = sql != null ? sql : batch && preparedSql == null ? batchSql : preparedSql;
+        QueryMonitor.ShapeStatistics stats = monitor.statisticsFor(shapeSql);
+        flushOpenResult();
+        lastStatistics = stats;
+
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = execution.run();
+        } catch (SQLException | RuntimeException e) {
+            monitor.recordError(stats, System.nanoTime() - start, e);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (batch) {
+            batchSql = null;
+        }
+
+        if (result instanceof ResultSet) {
+            monitor.recordExecution(stats, elapsed, 0);
+            return (T) countRows((ResultSet) result, stats);
+        }
+        monitor.recordExecution(stats, elapsed, affectedRows(result));
+        return result;
+    }
+
+    /**
+     * Soma ao formato as linhas lidas no cursor aberto, se houver.
+     */
+    final void flushOpenResult() {
+        if (openResult != null) {
+            openResult.flush();
+            openResult = null;
+            driverResult = null;
+        }
+    }
+
+    private ResultSet countRows(ResultSet resultSet, QueryMonitor.ShapeStatistics stats) {
+        driverResult = resultSet;
+        openResult = new CountingResultSet(resultSet, this, stats.rows);
+        return openResult;
+    }
+
+    private long affectedRows(Object result) throws SQLException {
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        if (result instanceof int[]) {
+            long sum = 0;
+            for (int count : (int[]) result) {
+                sum += Math.max(0, count);
+            }
+            return sum;
+        }
+        if (result instanceof long[]) {
+            long sum = 0;
+            for (long count : (long[]) result) {
+                sum += Math.max(0, count);
+            }
+            return sum;
+        }
+        if (Boolean.FALSE.equals(result)) {
+            return Math.max(0, statement.getUpdateCount());
+        }
+        return 0;
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        if (batchSql == null) {
+            batchSql = sql;
+        }
+        statement.addBatch(sql);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        statement.cancel();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        statement.clearBatch();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        statement.clearWarnings();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flushOpenResult();
+        statement.close();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        statement.closeOnCompletion();
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return statement.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return statement.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return statement.enquoteNCharLiteral(val);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        return timed(sql, false, () -> statement.execute(sql));
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        return timed(sql, false, () -> statement.execute(sql, columnNames));
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        return timed(sql, false, () -> statement.execute(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        return timed(sql, false, () -> statement.execute(sql, columnIndexes));
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return timed(null, true, statement::executeBatch);
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return timed(null, true, statement::executeLargeBatch);
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        return timed(sql, false, () -> statement.executeLargeUpdate(sql));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        return timed(sql, false, () -> statement.executeLargeUpdate(sql, columnNames));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return timed(sql, false, () -> statement.executeLargeUpdate(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return timed(sql, false, () -> statement.executeLargeUpdate(sql, columnIndexes));
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        return timed(sql, false, () -> statement.executeQuery(sql));
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return timed(sql, false, () -> statement.executeUpdate(sql));
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return timed(sql, false, () -> statement.executeUpdate(sql, columnNames));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return timed(sql, false, () -> statement.executeUpdate(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return timed(sql, false, () -> statement.executeUpdate(sql, columnIndexes));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection;
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return statement.getFetchDirection();
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return statement.getFetchSize();
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return statement.getGeneratedKeys();
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return statement.getLargeMaxRows();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return statement.getLargeUpdateCount();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return statement.getMaxFieldSize();
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return statement.getMaxRows();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        flushOpenResult();
+        return statement.getMoreResults();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        flushOpenResult();
+        return statement.getMoreResults(current);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return statement.getQueryTimeout();
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        ResultSet resultSet = statement.getResultSet();
+        if (resultSet == null || resultSet == driverResult) {
+            return resultSet == null ? null : openResult;
+        }
+        flushOpenResult();
+        return countRows(resultSet, lastStatistics != null ? lastStatistics : monitor.statisticsFor(preparedSql));
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return statement.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return statement.getResultSetHoldability();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return statement.getResultSetType();
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return statement.getUpdateCount();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return statement.getWarnings();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return statement.isCloseOnCompletion();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return statement.isClosed();
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return statement.isPoolable();
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return statement.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        statement.setCursorName(name);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        statement.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        statement.setFetchDirection(direction);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        statement.setFetchSize(rows);
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        statement.setLargeMaxRows(max);
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        statement.setMaxFieldSize(max);
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        statement.setMaxRows(max);
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        statement.setPoolable(poolable);
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        statement.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("A instrução do driver não pode ser obtida com unwrap()");
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.ifba.inf008.shell;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Classloader exclusivo de um plugin.
+ *
+ * Cada jar tem o seu, para que o plugin possa ser descarregado e
+ * recarregado sem afetar os demais. O jar lido é uma cópia do original,
+ * então o arquivo na pasta de plugins pode ser substituído enquanto o
+ * plugin está em uso. O kernel também usa este tipo para descobrir a
+ * qual plugin pertence um menu ou aba.
+ */
+public class PluginClassLoader extends URLClassLoader {
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final String pluginName;
+    private final File jarCopy;
+
+    public PluginClassLoader(String pluginName, File jarCopy, ClassLoader parent) throws MalformedURLException {
+        super("plugin:" + pluginName, new URL[] { jarCopy.toURI().toURL() }, parent);
+        this.pluginName = pluginName;
+        this.jarCopy = jarCopy;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    /**
+     * @return cópia do jar lida por este classloader
+     */
+    public File getJarCopy() {
+        return jarCopy;
+    }
+}
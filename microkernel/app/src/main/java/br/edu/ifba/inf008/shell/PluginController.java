@@ -1,48 +1,476 @@
 package br.edu.ifba.inf008.shell;
 
 import br.edu.ifba.inf008.App;
+import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IMetricsController;
 import br.edu.ifba.inf008.interfaces.IPluginController;
 import br.edu.ifba.inf008.interfaces.IPlugin;
-import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IUIController;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.File;
 import java.io.FilenameFilter;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Carrega, descarrega e recarrega os plugins da pasta de plugins.
+ *
+ * Cada jar ganha o próprio PluginClassLoader, lendo uma cópia do arquivo,
+ * e a leitura dos jars e o carregamento das classes rodam em paralelo em
+ * threads de apoio. Só o init() e o shutdown() dos plugins, que mexem em
+ * menus e abas, rodam na thread do JavaFX; na carga inicial os init() são
+ * chamados na ordem alfabética dos jars. A falha de um plugin é registrada
+ * no log e não impede os demais de carregar, e os tempos de carga e de
+ * init() de cada plugin também vão para o log.
+ *
+ * Depois da carga inicial a pasta é observada: um jar novo é carregado, um
+ * jar alterado é recarregado e um jar apagado é descarregado. Como um jar
+ * costuma ser escrito em várias etapas, a mudança só é aplicada depois de
+ * um intervalo sem novos eventos para o mesmo arquivo
+ * (-Dlibrary.plugins.reloadDelayMillis, padrão 1000 ms). A observação pode
+ * ser desligada com -Dlibrary.plugins.hotReload=false.
+ */
 public class PluginController implements IPluginController
 {
+    private static final Logger logger = LoggerFactory.getLogger(PluginController.class);
+    private static final String PLUGIN_PACKAGE = "br.edu.ifba.inf008.plugins.";
+    private static final long WATCH_POLL_MILLIS = 250;
+
+    private final boolean hotReload = Boolean.parseBoolean(System.getProperty("library.plugins.hotReload", "true"));
+    private final long reloadDelayMillis = Long.getLong("library.plugins.reloadDelayMillis", 1_000L);
+
+    private final File pluginDirectory;
+    private final Map<String, LoadedPlugin> loadedPlugins = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor loaderExecutor;
+    private final AtomicInteger copyCount = new AtomicInteger();
+    private volatile CompletableFuture<Void> loading = CompletableFuture.completedFuture(null);
+    private volatile Path copyDirectory;
+    private volatile WatchService watchService;
+    private volatile Thread watcherThread;
+
+    public PluginController() {
+        this(new File("./plugins"));
+    }
+
+    public PluginController(File pluginDirectory) {
+        this.pluginDirectory = pluginDirectory;
+
+        AtomicInteger loaderCount = new AtomicInteger();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        loaderExecutor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "plugin-loader-" + loaderCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        loaderExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Inicia o carregamento dos plugins e a observação da pasta, e retorna
+     * sem esperar por eles.
+     *
+     * @return false se a pasta de plugins não puder ser lida
+     */
     public boolean init() {
+        long startNanos = System.nanoTime();
+
+        // Define a FilenameFilter to include only .jar files
+        FilenameFilter jarFilter = new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.toLowerCase().endsWith(".jar");
+            }
+        };
+
+        String[] plugins = pluginDirectory.list(jarFilter);
+        if (plugins == null) {
+            logger.error("Pasta de plugins não encontrada: {}", pluginDirectory.getAbsolutePath());
+            return false;
+        }
+        Arrays.sort(plugins);
+
+        // Cada init() espera o anterior e a carga do próprio plugin, o que
+        // mantém a ordem dos jars sem bloquear a thread do JavaFX
+        AtomicInteger initialized = new AtomicInteger();
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (String jarName : plugins) {
+            String pluginName = pluginNameOf(jarName);
+            CompletableFuture<LoadedPlugin> loaded =
+                CompletableFuture.supplyAsync(() -> load(pluginName), loaderExecutor);
+            chain = chain.thenCombineAsync(loaded, (previous, plugin) -> {
+                if (initialize(plugin)) {
+                    initialized.incrementAndGet();
+                }
+                return null;
+            }, PluginController::runOnFxThread);
+        }
+
+        loading = chain.whenComplete((result, error) ->
+            logger.info("{} de {} plugins carregados em {} ms", initialized.get(), plugins.length,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+
+        if (hotReload) {
+            startWatching();
+        }
+        return true;
+    }
+
+    /**
+     * @return futuro completado quando todos os plugins iniciados pelo
+     *         último init() terminarem de carregar, com ou sem sucesso
+     */
+    public CompletableFuture<Void> whenLoaded() {
+        return loading;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> loadPlugin(String pluginName) {
+        return CompletableFuture.supplyAsync(() -> load(pluginName), loaderExecutor)
+            .thenApplyAsync(this::initialize, PluginController::runOnFxThread);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unloadPlugin(String pluginName) {
+        return CompletableFuture.supplyAsync(() -> unload(pluginName, true), PluginController::runOnFxThread);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> reloadPlugin(String pluginName) {
+        // A nova versão é carregada e iniciada antes de a atual sair, para
+        // que um jar com defeito ou um init() que falha não deixem o sistema
+        // sem o plugin. Como cada versão tem seu classloader, os menus,
+        // inscrições e medidores da antiga saem sem levar os da nova.
+        return CompletableFuture.supplyAsync(() -> load(pluginName), loaderExecutor)
+            .thenApplyAsync(fresh -> {
+                LoadedPlugin current = loadedPlugins.remove(pluginName);
+                boolean started = initialize(fresh);
+                if (current == null) {
+                    return started;
+                }
+                if (started) {
+                    stop(current, true);
+                } else {
+                    loadedPlugins.put(pluginName, current);
+                    logger.warn("Mantendo a versão em uso do plugin {}", pluginName);
+                }
+                return started;
+            }, PluginController::runOnFxThread);
+    }
+
+    @Override
+    public Set<String> getLoadedPlugins() {
+        return Collections.unmodifiableSet(new TreeSet<>(loadedPlugins.keySet()));
+    }
+
+    /**
+     * Para a observação e descarrega todos os plugins na thread atual;
+     * chamado pelo Core depois que a interface foi encerrada.
+     */
+    @Override
+    public void shutdown() {
+        stopWatching();
+        loaderExecutor.shutdownNow();
+
+        List<String> names = new ArrayList<>(loadedPlugins.keySet());
+        Collections.sort(names, Collections.reverseOrder());
+        for (String name : names) {
+            unload(name, false);
+        }
+        deleteCopyDirectory();
+    }
+
+    /**
+     * Copia o jar e carrega e instancia a classe do plugin; roda em uma
+     * thread de apoio.
+     */
+    private LoadedPlugin load(String pluginName) {
+        long startNanos = System.nanoTime();
+        PluginClassLoader classLoader = null;
         try {
-            File currentDir = new File("./plugins");
+            File jar = new File(pluginDirectory, pluginName + ".jar");
+            File jarCopy = copyJar(jar, pluginName);
+            classLoader = new PluginClassLoader(pluginName, jarCopy, App.class.getClassLoader());
+            IPlugin plugin = (IPlugin) Class.forName(PLUGIN_PACKAGE + pluginName, true, classLoader)
+                                            .getDeclaredConstructor().newInstance();
+            return new LoadedPlugin(pluginName, classLoader, plugin, null, System.nanoTime() - startNanos);
+        } catch (Throwable e) {
+            return new LoadedPlugin(pluginName, classLoader, null, e, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Chama o init() do plugin e o registra como carregado; roda na
+     * thread do JavaFX.
+     */
+    private boolean initialize(LoadedPlugin loaded) {
+        long loadMillis = TimeUnit.NANOSECONDS.toMillis(loaded.loadNanos);
+        if (loaded.error != null) {
+            logger.error("Plugin {} não pôde ser carregado ({} ms): {} - {}", loaded.name, loadMillis,
+                         loaded.error.getClass().getName(), loaded.error.getMessage());
+            release(loaded, false);
+            return false;
+        }
+        if (loadedPlugins.containsKey(loaded.name)) {
+            logger.warn("Plugin {} já está carregado; use a recarga", loaded.name);
+            release(loaded, false);
+            return false;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean success;
+        try {
+            success = loaded.plugin.init();
+        } catch (Throwable e) {
+            logger.error("Plugin {} falhou no init(): {} - {}", loaded.name, e.getClass().getName(), e.getMessage(), e);
+            success = false;
+        }
+        long initMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        if (success) {
+            loadedPlugins.put(loaded.name, loaded);
+            logger.info("Plugin {} carregado: carga {} ms, init {} ms", loaded.name, loadMillis, initMillis);
+        } else {
+            logger.warn("Plugin {} recusou a inicialização: carga {} ms, init {} ms", loaded.name, loadMillis, initMillis);
+            release(loaded, true);
+        }
+        return success;
+    }
 
-            // Define a FilenameFilter to include only .jar files
-            FilenameFilter jarFilter = new FilenameFilter() {
-                @Override
-                public boolean accept(File dir, String name) {
-                    return name.toLowerCase().endsWith(".jar");
+    /**
+     * Chama o shutdown() do plugin e libera seus recursos.
+     *
+     * @param removeComponents remover menus e abas (falso no encerramento,
+     *        quando a interface já foi fechada)
+     */
+    private boolean unload(String pluginName, boolean removeComponents) {
+        LoadedPlugin loaded = loadedPlugins.remove(pluginName);
+        if (loaded == null) {
+            return false;
+        }
+        stop(loaded, removeComponents);
+        return true;
+    }
+
+    /**
+     * Chama o shutdown() de uma instância que já saiu de loadedPlugins.
+     */
+    private void stop(LoadedPlugin loaded, boolean removeComponents) {
+        try {
+            loaded.plugin.shutdown();
+        } catch (Throwable e) {
+            logger.error("Plugin {} falhou no shutdown(): {}", loaded.name, e.getMessage(), e);
+        }
+        release(loaded, removeComponents);
+        logger.info("Plugin {} descarregado", loaded.name);
+    }
+
+    /**
+     * Cancela as inscrições de eventos do plugin, remove seus medidores,
+     * menus e abas, fecha o classloader e apaga a cópia do jar.
+     */
+    private void release(LoadedPlugin loaded, boolean removeComponents) {
+        if (loaded.classLoader == null) {
+            return;
+        }
+        IEventBus eventBus = ICore.getInstance().getEventBus();
+        if (eventBus instanceof EventBus) {
+            ((EventBus) eventBus).removeSubscribersOf(loaded.classLoader);
+        }
+        IMetricsController metrics = ICore.getInstance().getMetricsController();
+        if (metrics instanceof MetricsController) {
+            ((MetricsController) metrics).removeGaugesOf(loaded.classLoader);
+        }
+        if (removeComponents) {
+            IUIController uiController = ICore.getInstance().getUIController();
+            if (uiController instanceof UIController) {
+                ((UIController) uiController).removeComponentsOf(loaded.classLoader);
+            }
+        }
+        try {
+            loaded.classLoader.close();
+        } catch (IOException e) {
+            logger.debug("Erro ao fechar classloader do plugin {}: {}", loaded.name, e.getMessage());
+        }
+        if (!loaded.classLoader.getJarCopy().delete()) {
+            loaded.classLoader.getJarCopy().deleteOnExit();
+        }
+    }
+
+    /**
+     * Copia o jar para a pasta temporária, liberando o original para ser
+     * substituído enquanto o plugin está carregado.
+     */
+    private File copyJar(File jar, String pluginName) throws IOException {
+        if (copyDirectory == null) {
+            synchronized (this) {
+                if (copyDirectory == null) {
+                    copyDirectory = Files.createTempDirectory("library-plugins");
                 }
-            };
-
-            String []plugins = currentDir.list(jarFilter);
-            int i;
-            URL[] jars = new URL[plugins.length];
-            for (i = 0; i < plugins.length; i++)
-            {
-                jars[i] = (new File("./plugins/" + plugins[i])).toURL();
             }
-            URLClassLoader ulc = new URLClassLoader(jars, App.class.getClassLoader());
-            for (i = 0; i < plugins.length; i++)
-            {
-                String pluginName = plugins[i].split("\\.")[0];
-                IPlugin plugin = (IPlugin) Class.forName("br.edu.ifba.inf008.plugins." + pluginName, true, ulc).newInstance();
-                plugin.init();
+        }
+        Path copy = copyDirectory.resolve(pluginName + "-" + copyCount.incrementAndGet() + ".jar");
+        Files.copy(jar.toPath(), copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy.toFile();
+    }
+
+    private void deleteCopyDirectory() {
+        Path directory = copyDirectory;
+        if (directory == null) {
+            return;
+        }
+        File[] leftovers = directory.toFile().listFiles();
+        if (leftovers != null) {
+            for (File leftover : leftovers) {
+                leftover.delete();
+            }
+        }
+        directory.toFile().delete();
+    }
+
+    private void startWatching() {
+        if (watcherThread != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            pluginDirectory.toPath().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.warn("Recarga de plugins desativada: {}", e.getMessage());
+            return;
+        }
+        watcherThread = new Thread(this::watch, "plugin-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.info("Observando {} para recarga de plugins", pluginDirectory.getAbsolutePath());
+    }
+
+    private void stopWatching() {
+        Thread thread = watcherThread;
+        watcherThread = null;
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Erro ao fechar observação da pasta de plugins: {}", e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    /**
+     * Laço da thread de observação: acumula os jars alterados e aplica cada
+     * mudança quando o arquivo fica quieto por reloadDelayMillis.
+     */
+    private void watch() {
+        Map<String, Long> pending = new HashMap<>();
+        try {
+            while (watcherThread != null) {
+                WatchKey key = watchService.poll(WATCH_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        Object context = event.context();
+                        if (context instanceof Path && context.toString().toLowerCase().endsWith(".jar")) {
+                            pending.put(pluginNameOf(context.toString()), System.currentTimeMillis());
+                        }
+                    }
+                    key.reset();
+                }
+
+                long now = System.currentTimeMillis();
+                Iterator<Map.Entry<String, Long>> iterator = pending.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Long> change = iterator.next();
+                    if (now - change.getValue() >= reloadDelayMillis) {
+                        iterator.remove();
+                        applyChange(change.getKey());
+                    }
+                }
             }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Encerramento
+        }
+    }
 
-            return true;
-        } catch (Exception e) {
-            System.out.println("Error: " + e.getClass().getName() + " - " + e.getMessage());
+    private void applyChange(String pluginName) {
+        boolean present = new File(pluginDirectory, pluginName + ".jar").isFile();
+        boolean loaded = loadedPlugins.containsKey(pluginName);
+        if (present && loaded) {
+            logger.info("Jar do plugin {} alterado, recarregando", pluginName);
+            reloadPlugin(pluginName);
+        } else if (present) {
+            logger.info("Novo jar de plugin: {}", pluginName);
+            loadPlugin(pluginName);
+        } else if (loaded) {
+            logger.info("Jar do plugin {} removido, descarregando", pluginName);
+            unloadPlugin(pluginName);
+        }
+    }
 
-            return false;
+    private static String pluginNameOf(String jarName) {
+        return jarName.split("\\.")[0];
+    }
+
+    /**
+     * Executa na thread do JavaFX; sem toolkit ativo (ex.: nos benchmarks),
+     * executa na própria thread.
+     */
+    private static void runOnFxThread(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            action.run();
+        }
+    }
+
+    /**
+     * Resultado da carga de um plugin: a instância ou o erro.
+     */
+    private static final class LoadedPlugin {
+        private final String name;
+        private final PluginClassLoader classLoader;
+        private final IPlugin plugin;
+        private final Throwable error;
+        private final long loadNanos;
+
+        LoadedPlugin(String name, PluginClassLoader classLoader, IPlugin plugin, Throwable error, long loadNanos) {
+            this.name = name;
+            this.classLoader = classLoader;
+            this.plugin = plugin;
+            this.error = error;
+            this.loadNanos = loadNanos;
         }
     }
 }
@@ -0,0 +1,221 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.model.QueryStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Mede as instruções executadas pelas conexões do pool.
+ *
+ * O ConnectionPool entrega ao monitor cada Statement criado numa conexão
+ * emprestada; o monitor devolve um MonitoredStatement, que cronometra as
+ * execuções e conta as linhas lidas ou alteradas, inclusive as dos cursores
+ * obtidos com getResultSet(). Chamadas que não executam, como os setXxx, vão
+ * direto ao driver. Instruções de prepareCall, que o sistema não usa, passam
+ * por um proxy sobre um MonitoredPreparedStatement para os métodos próprios
+ * de CallableStatement. As medidas são agrupadas pelo formato do
+ * SQL (literais e listas de parâmetros viram marcadores), então a mesma
+ * consulta com outros valores conta junto.
+ *
+ * O tempo medido vai da chamada de execute* até o seu retorno. A leitura
+ * das linhas depois disso não entra: numa consulta com fetch size ou em
+ * streaming, o tempo registrado é só o da primeira leva de linhas.
+ *
+ * Cada formato guarda também o plugin que o executou primeiro, descoberto
+ * pelo PluginClassLoader das classes na pilha. Execuções que passam de
+ * -Dlibrary.db.slowQueryMillis (padrão 500; 0 desliga) são registradas no
+ * log com o plugin que as chamou.
+ */
+public class QueryMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(QueryMonitor.class);
+
+    private static final int MAX_SHAPES = 500;
+    private static final int MAX_CACHED_SQL = 2_000;
+    private static final String OTHER_SHAPES = "(outros formatos)";
+    private static final String KERNEL = "kernel";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("\\(\\.\\.\\.\\)(?:\\s*,\\s*\\(\\.\\.\\.\\))+");
+
+    private static final StackWalker stackWalker =
+        StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final long slowQueryNanos;
+    private final Map<String, ShapeStatistics> shapes = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final LatencyHistogram allStatements = new LatencyHistogram();
+
+    public QueryMonitor() {
+        this(Long.getLong("library.db.slowQueryMillis", 500L));
+    }
+
+    /**
+     * @param slowQueryMillis execuções a partir deste tempo vão para o log; 0 desliga
+     */
+    public QueryMonitor(long slowQueryMillis) {
+        this.slowQueryNanos = slowQueryMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(slowQueryMillis) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Envolve um Statement criado por prepareStatement, prepareCall ou
+     * createStatement.
+     * @param statement instrução da conexão física
+     * @param type interface devolvida pelo método que criou a instrução
+     * @param sql SQL preparado, ou null para createStatement
+     * @param connection proxy da conexão, devolvido por getConnection()
+     */
+    Statement wrap(Statement statement, Class<?> type, String sql, Connection connection) {
+        if (type == CallableStatement.class) {
+            return wrapCall((CallableStatement) statement, sql, connection);
+        }
+        if (type == PreparedStatement.class) {
+            return new MonitoredPreparedStatement(this, (PreparedStatement) statement, sql, connection);
+        }
+        return new MonitoredStatement(this, statement, sql, connection);
+    }
+
+    /**
+     * Os métodos declarados em CallableStatement vão ao driver; os demais,
+     * ao MonitoredPreparedStatement.
+     */
+    private Statement wrapCall(CallableStatement statement, String sql, Connection connection) {
+        MonitoredPreparedStatement monitored = new MonitoredPreparedStatement(this, statement, sql, connection);
+        return (Statement) Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] { CallableStatement.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                Object target = method.getDeclaringClass() == CallableStatement.class ? statement : monitored;
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    /**
+     * @return um retrato de cada formato, do maior tempo total para o menor
+     */
+    public List<QueryStatistics> snapshot() {
+        List<QueryStatistics> result = new ArrayList<>(shapes.size());
+        for (ShapeStatistics stats : shapes.values()) {
+            result.add(new QueryStatistics(stats.shape, stats.source, stats.latency.getCount(),
+                                           stats.errors.sum(), stats.rows.sum(), stats.latency.summarize()));
+        }
+        result.sort(Comparator.comparingDouble(
+            (QueryStatistics stats) -> stats.getLatency().getMeanMillis() * stats.getExecutions()).reversed());
+        return result;
+    }
+
+    /**
+     * @return tempos de todas as execuções, sem separar por formato
+     */
+    public LatencyHistogram getAllStatements() {
+        return allStatements;
+    }
+
+    public void reset() {
+        shapes.clear();
+        allStatements.reset();
+    }
+
+    /**
+     * Reduz o SQL ao seu formato: espaços colapsados, literais trocados
+     * por ?, listas de parâmetros por (...) e várias tuplas de VALUES por uma.
+     */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(...)");
+        return REPEATED_TUPLES.matcher(shape).replaceAll("(...), ...");
+    }
+
+    ShapeStatistics statisticsFor(String sql) {
+        String shape = sql == null ? OTHER_SHAPES : shapeCache.get(sql);
+        if (shape == null) {
+            shape = shapeOf(sql);
+            if (shapeCache.size() < MAX_CACHED_SQL) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        ShapeStatistics stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= MAX_SHAPES) {
+            shape = OTHER_SHAPES;
+        }
+        return shapes.computeIfAbsent(shape, key -> new ShapeStatistics(key, callingPlugin()));
+    }
+
+    void recordExecution(ShapeStatistics stats, long elapsedNanos, long rows) {
+        stats.latency.record(elapsedNanos);
+        allStatements.record(elapsedNanos);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            logger.warn("Consulta lenta ({} ms) chamada por {}: {}",
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), callingPlugin(), stats.shape);
+        }
+    }
+
+    void recordError(ShapeStatistics stats, long elapsedNanos, Throwable error) {
+        stats.latency.record(elapsedNanos);
+        allStatements.record(elapsedNanos);
+        stats.errors.increment();
+        logger.warn("Consulta falhou ({}) chamada por {}: {}", error.getMessage(), callingPlugin(), stats.shape);
+    }
+
+    private static String callingPlugin() {
+        return stackWalker.walk(frames -> frames
+            .map(frame -> frame.getDeclaringClass().getClassLoader())
+            .filter(PluginClassLoader.class::isInstance)
+            .map(loader -> ((PluginClassLoader) loader).getPluginName())
+            .findFirst()
+            .orElse(KERNEL));
+    }
+
+    /**
+     * Medidas acumuladas de um formato de SQL.
+     */
+    static final class ShapeStatistics {
+        final String shape;
+        final String source;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        ShapeStatistics(String shape, String source) {
+            this.shape = shape;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IBookRepository;
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.ILoanRepository;
+import br.edu.ifba.inf008.interfaces.IRepositoryController;
+import br.edu.ifba.inf008.interfaces.IUserRepository;
+
+/**
+ * Repositórios de livros, usuários e empréstimos sobre o pool do IOController.
+ */
+public class RepositoryController implements IRepositoryController {
+    private final IBookRepository bookRepository;
+    private final IUserRepository userRepository;
+    private final ILoanRepository loanRepository;
+
+    public RepositoryController(IIOController ioController) {
+        bookRepository = new BookRepository(ioController);
+        userRepository = new UserRepository(ioController);
+        loanRepository = new LoanRepository(ioController);
+    }
+
+    @Override
+    public IBookRepository getBookRepository() {
+        return bookRepository;
+    }
+
+    @Override
+    public IUserRepository getUserRepository() {
+        return userRepository;
+    }
+
+    @Override
+    public ILoanRepository getLoanRepository() {
+        return loanRepository;
+    }
+}
@@ -0,0 +1,257 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.IStatisticsController;
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.model.LibraryStatistics;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+import br.edu.ifba.inf008.interfaces.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mantém os contadores do painel a partir dos eventos de mudança.
+ *
+ * A primeira leitura conta tudo no banco. Depois disso, cada livro,
+ * usuário ou empréstimo publicado no barramento ajusta os contadores, e
+ * uma thread de apoio os confere com o banco a cada intervalo
+ * (-Dlibrary.stats.reconcileMinutes, padrão 5). A conferência periódica só
+ * reconta os empréstimos do mês atual e do anterior; apagar um livro ou
+ * usuário apaga os empréstimos dele em cascata, então nesse caso a próxima
+ * conferência, feita logo em seguida, reconta o histórico inteiro.
+ *
+ * Cada evento avança um número de sequência. Se algum evento foi aplicado
+ * enquanto a conferência lia o banco, não há como saber se a leitura já o
+ * incluía, então a contagem é descartada e feita de novo; na última
+ * tentativa ela é aplicada mesmo assim.
+ */
+public class StatisticsController implements IStatisticsController {
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsController.class);
+
+    private static final int MAX_RECOUNT_ATTEMPTS = 3;
+
+    private final long reconcileMinutes = Long.getLong("library.stats.reconcileMinutes", 5L);
+
+    private final IIOController ioController;
+    private final Object loadLock = new Object();
+    private final AtomicBoolean fullReconcilePending = new AtomicBoolean();
+    private volatile ScheduledExecutorService reconciler;
+
+    // Contadores; só valem depois da primeira carga
+    private volatile boolean loaded;
+    private long changeSequence;                 // Eventos recebidos, para descartar contagens antigas
+    private long activeLoans;
+    private long totalBooks;
+    private long totalUsers;
+    private final Map<YearMonth, Long> loansPerMonth = new HashMap<>();
+
+    public StatisticsController(IIOController ioController, IEventBus eventBus) {
+        this.ioController = ioController;
+        eventBus.subscribe(Book.class, this::onBookChange);
+        eventBus.subscribe(User.class, this::onUserChange);
+        eventBus.subscribe(Loan.class, this::onLoanChange);
+    }
+
+    @Override
+    public LibraryStatistics getStatistics() throws SQLException {
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (!loaded) {
+                    recount(null);
+                    startReconciler();
+                }
+            }
+        }
+        synchronized (this) {
+            return new LibraryStatistics(activeLoans, totalBooks, totalUsers, loansPerMonth);
+        }
+    }
+
+    @Override
+    public void reconcile() throws SQLException {
+        recount(null);
+    }
+
+    private synchronized void onBookChange(EntityChangeEvent<Book> event) {
+        changeSequence++;
+        if (!loaded) {
+            return;
+        }
+        switch (event.getChangeType()) {
+            case CREATED -> totalBooks++;
+            case DELETED -> {
+                totalBooks--;
+                requestFullReconcile();
+            }
+            default -> { }
+        }
+    }
+
+    private synchronized void onUserChange(EntityChangeEvent<User> event) {
+        changeSequence++;
+        if (!loaded) {
+            return;
+        }
+        switch (event.getChangeType()) {
+            case CREATED -> totalUsers++;
+            case DELETED -> {
+                totalUsers--;
+                requestFullReconcile();
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Empréstimos são criados ativos e atualizados só na devolução.
+     */
+    private synchronized void onLoanChange(EntityChangeEvent<Loan> event) {
+        changeSequence++;
+        if (!loaded) {
+            return;
+        }
+        Loan loan = event.getEntity();
+        switch (event.getChangeType()) {
+            case CREATED -> {
+                if (loan.isActive()) {
+                    activeLoans++;
+                }
+                loansPerMonth.merge(YearMonth.from(loan.getLoanDate()), 1L, Long::sum);
+            }
+            case UPDATED -> {
+                if (!loan.isActive()) {
+                    activeLoans--;
+                }
+            }
+            case DELETED -> requestFullReconcile();
+        }
+    }
+
+    /**
+     * Conta tudo no banco e substitui os contadores, contando de novo se
+     * chegou algum evento durante a leitura.
+     *
+     * @param monthsFrom primeiro dia a recontar por mês, ou null para o
+     *        histórico inteiro
+     */
+    private void recount(LocalDate monthsFrom) throws SQLException {
+        long startNanos = System.nanoTime();
+        int attempt = 1;
+        while (!tryRecount(monthsFrom, attempt == MAX_RECOUNT_ATTEMPTS)) {
+            attempt++;
+        }
+        logger.debug("Contadores conferidos em {} ms ({} tentativas)",
+                     TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), attempt);
+    }
+
+    /**
+     * @param force aplica a contagem mesmo que tenham chegado eventos
+     * @return false se a contagem foi descartada
+     */
+    private boolean tryRecount(LocalDate monthsFrom, boolean force) throws SQLException {
+        long expectedSequence;
+        synchronized (this) {
+            expectedSequence = changeSequence;
+        }
+        String totalsSql = """
+            SELECT
+                (SELECT COUNT(*) FROM loans WHERE return_date IS NULL) AS active_loans,
+                (SELECT COUNT(*) FROM books) AS total_books,
+                (SELECT COUNT(*) FROM users) AS total_users
+            """;
+        // Faixa em loan_date, e não MONTH(loan_date), para poder usar índice
+        String monthsSql = "SELECT YEAR(loan_date) AS loan_year, MONTH(loan_date) AS loan_month, COUNT(*) AS loans "
+                         + "FROM loans" + (monthsFrom != null ? " WHERE loan_date >= ?" : "")
+                         + " GROUP BY loan_year, loan_month";
+
+        long active;
+        long books;
+        long users;
+        Map<YearMonth, Long> months = new HashMap<>();
+        try (Connection conn = ioController.getDatabaseConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(totalsSql);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Contagem de totais não retornou linhas");
+                }
+                active = rs.getLong("active_loans");
+                books = rs.getLong("total_books");
+                users = rs.getLong("total_users");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(monthsSql)) {
+                if (monthsFrom != null) {
+                    stmt.setDate(1, Date.valueOf(monthsFrom));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        months.put(YearMonth.of(rs.getInt("loan_year"), rs.getInt("loan_month")), rs.getLong("loans"));
+                    }
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (changeSequence != expectedSequence && !force) {
+                return false;
+            }
+            if (loaded && (active != activeLoans || books != totalBooks || users != totalUsers)) {
+                logger.info("Contadores corrigidos na conferência: empréstimos ativos {} -> {}, livros {} -> {}, usuários {} -> {}",
+                            activeLoans, active, totalBooks, books, totalUsers, users);
+            }
+            activeLoans = active;
+            totalBooks = books;
+            totalUsers = users;
+            if (monthsFrom == null) {
+                loansPerMonth.clear();
+            } else {
+                loansPerMonth.keySet().removeIf(month -> !month.atDay(1).isBefore(monthsFrom));
+            }
+            loansPerMonth.putAll(months);
+            loaded = true;                       // Junto da troca, para não perder eventos entre as duas
+            return true;
+        }
+    }
+
+    private void startReconciler() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::scheduledReconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+    }
+
+    private void requestFullReconcile() {
+        if (fullReconcilePending.compareAndSet(false, true) && reconciler != null) {
+            reconciler.execute(this::scheduledReconcile);
+        }
+    }
+
+    private void scheduledReconcile() {
+        boolean full = fullReconcilePending.getAndSet(false);
+        try {
+            recount(full ? null : YearMonth.now().minusMonths(1).atDay(1));
+        } catch (SQLException e) {
+            if (full) {
+                fullReconcilePending.set(true);
+            }
+            logger.warn("Conferência dos contadores falhou: {}", e.getMessage());
+        }
+    }
+}
@@ -2,9 +2,12 @@ package br.edu.ifba.inf008.shell;
 
 import br.edu.ifba.inf008.interfaces.IUIController;
 import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.model.StallStatistics;
 import br.edu.ifba.inf008.shell.PluginController;
 
 import javafx.application.Application;
+import javafx.event.ActionEvent;
+import javafx.event.EventTarget;
 import javafx.scene.Scene;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.Menu;
@@ -17,6 +20,12 @@ import javafx.scene.control.Tab;
 import javafx.geometry.Side;
 import javafx.scene.Node;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class UIController extends Application implements IUIController
 {
     private ICore core;
@@ -24,6 +33,14 @@ public class UIController extends Application implements IUIController
     private TabPane tabPane;
     private static UIController uiController;
 
+    // Menus e abas criados por cada plugin, para removê-los quando ele é descarregado
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private final Map<ClassLoader, List<MenuItem>> pluginMenuItems = new HashMap<>();
+    private final Map<ClassLoader, List<Tab>> pluginTabs = new HashMap<>();
+
+    // Vigia da thread do JavaFX (-Dlibrary.ui.watchdog=false desliga)
+    private FxWatchdog watchdog;
+
     public UIController() {
     }
 
@@ -54,9 +71,22 @@ public class UIController extends Application implements IUIController
         primaryStage.setScene(scene);
         primaryStage.show();
 
+        if (Boolean.parseBoolean(System.getProperty("library.ui.watchdog", "true"))) {
+            watchdog = new FxWatchdog(this, Core.getInstance().getMetricsController(),
+                                      Long.getLong("library.ui.stallMillis", 500L));
+            watchdog.install();
+        }
+
         Core.getInstance().getPluginController().init();
     }
 
+    @Override
+    public void stop() {
+        if (watchdog != null) {
+            watchdog.close();
+        }
+    }
+
     public MenuItem createMenuItem(String menuText, String menuItemText) {
         // Criar o menu caso ele nao exista
         Menu newMenu = null;
@@ -74,6 +104,15 @@ public class UIController extends Application implements IUIController
         // Criar o menu item neste menu
         MenuItem menuItem = new MenuItem(menuItemText);
         newMenu.getItems().add(menuItem);
+        if (watchdog != null) {
+            FxWatchdog itemWatchdog = watchdog;
+            menuItem.addEventHandler(ActionEvent.ACTION, e -> itemWatchdog.menuItemFired(menuItem));
+        }
+
+        PluginClassLoader owner = callingPlugin();
+        if (owner != null) {
+            pluginMenuItems.computeIfAbsent(owner, key -> new ArrayList<>()).add(menuItem);
+        }
 
         return menuItem;
     }
@@ -84,6 +123,109 @@ public class UIController extends Application implements IUIController
         tab.setContent(contents);
         tabPane.getTabs().add(tab);
 
+        PluginClassLoader owner = callingPlugin();
+        if (owner != null) {
+            pluginTabs.computeIfAbsent(owner, key -> new ArrayList<>()).add(tab);
+            tab.setOnClosed(e -> forget(pluginTabs, tab));
+        }
+
         return true;
     }
+
+    public boolean removeMenuItem(MenuItem menuItem) {
+        forget(pluginMenuItems, menuItem);
+        Menu menu = menuItem.getParentMenu();
+        if (menu == null || !menu.getItems().remove(menuItem)) {
+            return false;
+        }
+        if (menu.getItems().isEmpty()) {
+            menuBar.getMenus().remove(menu);
+        }
+        return true;
+    }
+
+    public boolean removeTab(Node contents) {
+        for (Tab tab : tabPane.getTabs()) {
+            if (tab.getContent() == contents) {
+                forget(pluginTabs, tab);
+                return tabPane.getTabs().remove(tab);
+            }
+        }
+        return false;
+    }
+
+    public List<StallStatistics> getStallReport() {
+        return watchdog == null ? Collections.emptyList() : watchdog.getStallReport();
+    }
+
+    /**
+     * Plugin que criou um item de menu, para o vigia da thread do JavaFX.
+     * @return null se o item não é de um plugin
+     */
+    FxWatchdog.Attribution attributionOf(MenuItem menuItem) {
+        for (Map.Entry<ClassLoader, List<MenuItem>> entry : pluginMenuItems.entrySet()) {
+            if (entry.getValue().contains(menuItem)) {
+                Menu menu = menuItem.getParentMenu();
+                return new FxWatchdog.Attribution(((PluginClassLoader) entry.getKey()).getPluginName(),
+                    "menu " + (menu == null ? "" : menu.getText() + " > ") + menuItem.getText());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Plugin dono da aba onde está o alvo de um evento.
+     * @return null se o alvo não está numa aba de plugin
+     */
+    FxWatchdog.Attribution attributionOf(EventTarget target) {
+        if (!(target instanceof Node)) {
+            return null;
+        }
+        for (Node node = (Node) target; node != null; node = node.getParent()) {
+            for (Map.Entry<ClassLoader, List<Tab>> entry : pluginTabs.entrySet()) {
+                for (Tab tab : entry.getValue()) {
+                    if (tab.getContent() == node) {
+                        return new FxWatchdog.Attribution(((PluginClassLoader) entry.getKey()).getPluginName(),
+                                                          "aba " + tab.getText());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove todos os menus e abas criados pelas classes de um plugin.
+     */
+    void removeComponentsOf(ClassLoader pluginClassLoader) {
+        List<MenuItem> menuItems = pluginMenuItems.remove(pluginClassLoader);
+        if (menuItems != null) {
+            for (MenuItem menuItem : menuItems) {
+                removeMenuItem(menuItem);
+            }
+        }
+        List<Tab> tabs = pluginTabs.remove(pluginClassLoader);
+        if (tabs != null) {
+            tabPane.getTabs().removeAll(tabs);
+        }
+    }
+
+    /**
+     * Procura na pilha a primeira classe carregada por um plugin, que é
+     * quem está criando o menu ou a aba.
+     */
+    private static PluginClassLoader callingPlugin() {
+        return stackWalker.walk(frames -> frames
+            .map(frame -> frame.getDeclaringClass().getClassLoader())
+            .filter(PluginClassLoader.class::isInstance)
+            .map(PluginClassLoader.class::cast)
+            .findFirst()
+            .orElse(null));
+    }
+
+    private static <T> void forget(Map<ClassLoader, List<T>> owned, T component) {
+        for (List<T> components : owned.values()) {
+            components.remove(component);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package br.edu.ifba.inf008.shell;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.IUserRepository;
+import br.edu.ifba.inf008.interfaces.model.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Consultas da tabela users.
+ */
+public class UserRepository extends JdbcRepository implements IUserRepository {
+    // Ordem lida por MAPPER
+    private static final String COLUMNS = "user_id, name, email, registered_at";
+
+    static final RowMapper<User> MAPPER = rs -> new User(
+        rs.getInt(1),
+        rs.getString(2),
+        rs.getString(3),
+        rs.getTimestamp(4).toLocalDateTime()
+    );
+
+    public UserRepository(IIOController ioController) {
+        super(ioController);
+    }
+
+    @Override
+    public User findById(int userId) throws SQLException {
+        return queryOne("SELECT " + COLUMNS + " FROM users WHERE user_id = ?", MAPPER, userId);
+    }
+
+    @Override
+    public List<User> findAll() throws SQLException {
+        return queryList("SELECT " + COLUMNS + " FROM users ORDER BY name", MAPPER);
+    }
+
+    @Override
+    public void insert(User user) throws SQLException {
+        String sql = "INSERT INTO users (name, email, registered_at) VALUES (?, ?, ?)";
+        try (Connection conn = ioController.getDatabaseConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, user.getName());
+            stmt.setString(2, user.getEmail());
+            stmt.setTimestamp(3, Timestamp.valueOf(user.getRegisteredAt()));
+            stmt.executeUpdate();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setUserId(keys.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(int userId) throws SQLException {
+        return update("DELETE FROM users WHERE user_id = ?", userId) > 0;
+    }
+}
@@ -0,0 +1,20 @@
+-- Índices das consultas de empréstimos.
+-- IF NOT EXISTS: bancos montados à mão podem já ter alguns deles.
+-- LOCK=NONE: empréstimos e devoluções continuam durante a criação.
+
+-- Páginas do histórico (ORDER BY loan_date DESC, loan_id DESC; o InnoDB
+-- guarda a chave primária no fim de todo índice secundário), exportações
+-- por período e contagem mensal do painel
+CREATE INDEX IF NOT EXISTS idx_loans_loan_date ON loans (loan_date) LOCK=NONE;
+
+-- Cobre a leitura do histórico pelas análises de circulação
+-- (loan_date, book_id, user_id por período, em ordem de data)
+CREATE INDEX IF NOT EXISTS idx_loans_loan_date_book_user ON loans (loan_date, book_id, user_id) LOCK=NONE;
+
+-- Empréstimos ativos (WHERE return_date IS NULL), contados pelo painel e
+-- agrupados por livro no relatório de livros emprestados
+CREATE INDEX IF NOT EXISTS idx_loans_return_date_book ON loans (return_date, book_id) LOCK=NONE;
+
+-- Empréstimos agrupados ou filtrados por livro e por usuário
+CREATE INDEX IF NOT EXISTS idx_loans_book_date ON loans (book_id, loan_date) LOCK=NONE;
+CREATE INDEX IF NOT EXISTS idx_loans_user_date ON loans (user_id, loan_date) LOCK=NONE;
@@ -0,0 +1,12 @@
+-- Índices das consultas de acervo e usuários.
+-- IF NOT EXISTS: bancos montados à mão podem já ter alguns deles.
+
+-- Acervo em ordem de título; copies_available no índice responde
+-- "copies_available > 0 ORDER BY title" sem ler as linhas
+CREATE INDEX IF NOT EXISTS idx_books_title_copies ON books (title, copies_available) LOCK=NONE;
+
+-- Busca por autor
+CREATE INDEX IF NOT EXISTS idx_books_author ON books (author) LOCK=NONE;
+
+-- Lista de usuários em ordem de nome
+CREATE INDEX IF NOT EXISTS idx_users_name ON users (name) LOCK=NONE;
@@ -0,0 +1,170 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import br.edu.ifba.inf008.interfaces.IAuthenticationController;
+import br.edu.ifba.inf008.interfaces.ICacheController;
+import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.IMetricsController;
+import br.edu.ifba.inf008.interfaces.IPluginController;
+import br.edu.ifba.inf008.interfaces.IRepositoryController;
+import br.edu.ifba.inf008.interfaces.IStatisticsController;
+import br.edu.ifba.inf008.interfaces.IUIController;
+import br.edu.ifba.inf008.interfaces.model.StallStatistics;
+import br.edu.ifba.inf008.shell.AuthenticationController;
+import br.edu.ifba.inf008.shell.CacheController;
+import br.edu.ifba.inf008.shell.EventBus;
+import br.edu.ifba.inf008.shell.MetricsController;
+import br.edu.ifba.inf008.shell.RepositoryController;
+import br.edu.ifba.inf008.shell.StatisticsController;
+
+import javafx.scene.Node;
+import javafx.scene.control.MenuItem;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BenchmarkCore - Kernel stand-in installed as ICore.getInstance()
+ *
+ * Plugins reach the kernel only through ICore, so installing this core lets
+ * their code run outside the JavaFX application: menu items and tabs are
+ * created but never shown, and database access goes to the given stub.
+ * Without a JavaFX toolkit, events are delivered on the publishing thread.
+ * No plugins are loaded and metrics are never exported.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class BenchmarkCore extends ICore {
+
+    private final IIOController ioController;
+    private final IRepositoryController repositoryController;
+    private final ICacheController cacheController;
+    private final IEventBus eventBus = new EventBus();
+    private final IStatisticsController statisticsController;
+    private final IMetricsController metricsController = new MetricsController();
+    private final IAuthenticationController authenticationController = new AuthenticationController();
+    private final IPluginController pluginController = new IPluginController() {
+        @Override
+        public boolean init() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> loadPlugin(String pluginName) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> unloadPlugin(String pluginName) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> reloadPlugin(String pluginName) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        public Set<String> getLoadedPlugins() {
+            return Set.of();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    };
+    private final IUIController uiController = new IUIController() {
+        @Override
+        public MenuItem createMenuItem(String menuText, String menuItemText) {
+            return new MenuItem(menuItemText);
+        }
+
+        @Override
+        public boolean createTab(String tabText, Node contents) {
+            return true;
+        }
+
+        @Override
+        public boolean removeMenuItem(MenuItem menuItem) {
+            return true;
+        }
+
+        @Override
+        public boolean removeTab(Node contents) {
+            return true;
+        }
+
+        @Override
+        public List<StallStatistics> getStallReport() {
+            return List.of();
+        }
+    };
+
+    private BenchmarkCore(IIOController ioController) {
+        this.ioController = ioController;
+        this.repositoryController = new RepositoryController(ioController);
+        this.cacheController = new CacheController(repositoryController);
+        this.statisticsController = new StatisticsController(ioController, eventBus);
+    }
+
+    /**
+     * Replaces the current core with one backed by the given database.
+     *
+     * @param ioController database stand-in for the suite
+     * @return the installed core
+     */
+    public static BenchmarkCore install(IIOController ioController) {
+        BenchmarkCore core = new BenchmarkCore(ioController);
+        instance = core;
+        return core;
+    }
+
+    @Override
+    public IUIController getUIController() {
+        return uiController;
+    }
+
+    @Override
+    public IAuthenticationController getAuthenticationController() {
+        return authenticationController;
+    }
+
+    @Override
+    public IIOController getIOController() {
+        return ioController;
+    }
+
+    @Override
+    public ICacheController getCacheController() {
+        return cacheController;
+    }
+
+    @Override
+    public IEventBus getEventBus() {
+        return eventBus;
+    }
+
+    @Override
+    public IStatisticsController getStatisticsController() {
+        return statisticsController;
+    }
+
+    @Override
+    public IRepositoryController getRepositoryController() {
+        return repositoryController;
+    }
+
+    @Override
+    public IMetricsController getMetricsController() {
+        return metricsController;
+    }
+
+    @Override
+    public IPluginController getPluginController() {
+        return pluginController;
+    }
+}
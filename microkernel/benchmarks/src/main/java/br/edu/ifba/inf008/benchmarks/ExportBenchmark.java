@@ -0,0 +1,123 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExportBenchmark - Report file exports
+ *
+ * Streams a stub loan history, shaped like the reports plugin's export
+ * query, through the plugin's file writers into a temporary file. The
+ * time covers the whole file, so rows per second is the row count
+ * divided by the score.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+    /**
+     * Loan history rows and a reports plugin loader to take the writers from.
+     */
+    @State(Scope.Benchmark)
+    public static class LoanHistory {
+        @Param({ "10000", "100000" })
+        public int loans;
+
+        StubDatabase table;
+        PluginSandbox sandbox;
+        Object progress;
+        Path directory;
+
+        @Setup
+        public void setUp() throws Exception {
+            LocalDate start = LocalDate.now().minusYears(1);
+            table = new StubDatabase("loan_id", "loan_date", "return_date", "user_id", "user_name", "email",
+                                     "book_id", "title", "author", "isbn");
+            for (int i = 1; i <= loans; i++) {
+                LocalDate loaned = start.plusDays(i % 365);
+                table.row(i, Date.valueOf(loaned), i % 4 == 0 ? null : Date.valueOf(loaned.plusDays(14)),
+                          i % 2000, "User " + i % 2000, "user" + i % 2000 + "@library.org",
+                          i % 5000, "Book Title " + i % 5000 + ", Volume " + i % 3, "Author " + i % 700,
+                          "978-0-" + (100000 + i % 5000));
+            }
+            BenchmarkCore.install(table);
+
+            sandbox = new PluginSandbox();
+            ClassLoader loader = sandbox.newPlugin("ReportManagement").getClass().getClassLoader();
+            Class<?> progressType = Class.forName("br.edu.ifba.inf008.plugins.ExportProgress", true, loader);
+            progress = Proxy.newProxyInstance(loader, new Class<?>[] { progressType },
+                (proxy, method, args) -> method.getName().equals("isCancelled") ? false : null);
+            directory = Files.createTempDirectory("export-benchmark");
+        }
+
+        ResultSet cursor() throws Exception {
+            return table.getDatabaseConnection().prepareStatement("SELECT ...").executeQuery();
+        }
+
+        Path target(String extension) {
+            return directory.resolve("loans." + extension);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            sandbox.close();
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Benchmark
+    public Object csv(LoanHistory state) throws Throwable {
+        Object exporter = state.sandbox.newPlugin("CsvExporter");
+        Method export = PluginSandbox.method(exporter, "export",
+            ResultSet.class, long.class, Path.class, state.progress.getClass().getInterfaces()[0]);
+        return PluginSandbox.invoke(export, exporter, state.cursor(), (long) state.loans, state.target("csv"), state.progress);
+    }
+
+    @Benchmark
+    public Object xlsx(LoanHistory state) throws Throwable {
+        Object exporter = state.sandbox.newPlugin("XlsxExporter");
+        Method export = PluginSandbox.method(exporter, "export",
+            ResultSet.class, long.class, Path.class, state.progress.getClass().getInterfaces()[0]);
+        return PluginSandbox.invoke(export, exporter, state.cursor(), (long) state.loans, state.target("xlsx"), state.progress);
+    }
+
+    @Benchmark
+    public Object pdf(LoanHistory state) throws Throwable {
+        Object exporter = state.sandbox.loadClass("PdfExporter")
+            .getConstructor(String.class, String.class).newInstance("Loan History", null);
+        Method export = PluginSandbox.method(exporter, "export",
+            ResultSet.class, long.class, Path.class, state.progress.getClass().getInterfaces()[0]);
+        return PluginSandbox.invoke(export, exporter, state.cursor(), (long) state.loans, state.target("pdf"), state.progress);
+    }
+}
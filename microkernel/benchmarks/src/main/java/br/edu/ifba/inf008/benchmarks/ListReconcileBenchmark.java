@@ -0,0 +1,105 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.util.ListReconciler;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ListReconcileBenchmark - Refreshing a table's backing list
+ *
+ * Compares replacing every row with setAll against reconciling the rows
+ * by ID, for a catalog refresh where a handful of books were added,
+ * removed or re-read. Each invocation starts from the rows currently
+ * shown; a listener counts the change events a TableView would receive.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ListReconcileBenchmark {
+
+    @Param({ "1000", "50000" })
+    public int rows;
+
+    @Param({ "10" })
+    public int changes;
+
+    private List<Book> shown;
+    private List<Book> refreshed;
+    private ObservableList<Book> list;
+    private long changeEvents;
+
+    @Setup(Level.Trial)
+    public void setUpRows() {
+        shown = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            shown.add(book(i));
+        }
+
+        // Same catalog after a few edits: new books, deleted books and
+        // books whose copies changed, spread over the whole list
+        refreshed = new ArrayList<>(shown);
+        int step = Math.max(1, rows / changes);
+        for (int i = step / 2; i < refreshed.size(); i += step) {
+            refreshed.set(i, book(refreshed.get(i).getBookId()));
+        }
+        for (int i = step / 3; i < refreshed.size(); i += step) {
+            refreshed.remove(i);
+        }
+        for (int i = 0; i < changes; i++) {
+            refreshed.add(Math.min(refreshed.size(), i * step), book(rows + i + 1));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpList() {
+        list = FXCollections.observableArrayList(shown);
+        list.addListener((ListChangeListener<Book>) change -> {
+            while (change.next()) {
+                changeEvents++;
+            }
+        });
+    }
+
+    @Benchmark
+    public long setAll() {
+        list.setAll(refreshed);
+        return changeEvents;
+    }
+
+    @Benchmark
+    public long reconcile() {
+        ListReconciler.reconcile(list, refreshed, Book::getBookId);
+        return changeEvents;
+    }
+
+    private static Book book(int id) {
+        return new Book(id, "Book Title " + id, "Author " + (id % 500), "978-0-00-" + id, 1990, id % 5);
+    }
+}
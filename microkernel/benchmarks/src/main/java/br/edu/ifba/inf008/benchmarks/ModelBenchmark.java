@@ -0,0 +1,92 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+import br.edu.ifba.inf008.interfaces.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModelBenchmark - Construction and validation of the shared models
+ *
+ * Covers the validating constructors used by the entry forms, the plain
+ * constructors used when mapping database rows, and the derived loan
+ * status shown in every row of the loan table.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ModelBenchmark {
+
+    private LocalDate recentLoanDate;
+    private LocalDate overdueLoanDate;
+    private Loan activeLoan;
+    private Loan overdueLoan;
+
+    @Setup
+    public void setUp() {
+        recentLoanDate = LocalDate.now().minusDays(3);
+        overdueLoanDate = LocalDate.now().minusDays(30);
+        activeLoan = new Loan(1, 1, 1, recentLoanDate, null, "Ana Souza", "Dom Casmurro", "", "");
+        overdueLoan = new Loan(2, 1, 1, overdueLoanDate, null, "Ana Souza", "Dom Casmurro", "", "");
+    }
+
+    @Benchmark
+    public Book newBookValidated() {
+        return new Book("Dom Casmurro", "Machado de Assis", "978-85-359-0277-5", 1899, 3);
+    }
+
+    @Benchmark
+    public Book newBookFromDatabase() {
+        return new Book(42, "Dom Casmurro", "Machado de Assis", "978-85-359-0277-5", 1899, 3);
+    }
+
+    @Benchmark
+    public User newUserValidated() {
+        User user = new User();
+        user.setName("Ana Souza");
+        user.setEmail("ana.souza@example.com");
+        return user;
+    }
+
+    @Benchmark
+    public User newUserFromDatabase() {
+        User user = new User("Ana Souza", "ana.souza@example.com");
+        user.setUserId(42);
+        return user;
+    }
+
+    @Benchmark
+    public Loan newLoanFromDatabase() {
+        return new Loan(42, 7, 9, recentLoanDate, null, "Ana Souza", "Dom Casmurro", "", "");
+    }
+
+    @Benchmark
+    public String activeLoanStatus() {
+        return activeLoan.getStatus();
+    }
+
+    @Benchmark
+    public String overdueLoanStatus() {
+        return overdueLoan.getStatus();
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import br.edu.ifba.inf008.shell.PluginController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PluginLoadingBenchmark - Startup cost of PluginController.init()
+ *
+ * Each invocation scans the plugin directory, opens a class loader per
+ * jar and instantiates and initializes every plugin, so class
+ * loading is paid again every time, as it is on application start.
+ * Without a JavaFX toolkit the init() calls run on the loader threads, and
+ * the suite waits for the last one.
+ * Single-shot mode keeps the JIT from hiding that one-off cost.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(3)
+public class PluginLoadingBenchmark {
+
+    private File pluginDirectory;
+    private PluginController pluginController;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("library.plugins.hotReload", "false");
+        BenchmarkCore.install(new StubDatabase("unused"));
+        pluginDirectory = PluginSandbox.pluginDirectory();
+    }
+
+    @TearDown(Level.Invocation)
+    public void unloadPlugins() {
+        pluginController.shutdown();
+    }
+
+    @Benchmark
+    public boolean loadAllPlugins() {
+        pluginController = new PluginController(pluginDirectory);
+        if (!pluginController.init()) {
+            throw new IllegalStateException("Plugin loading failed for " + pluginDirectory.getAbsolutePath());
+        }
+        pluginController.whenLoaded().join();
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * PluginSandbox - Loads the built plugin jars the way the kernel does
+ *
+ * The suites exercise plugin internals (private data-access methods), so
+ * they open the jars from the plugins directory and call those methods
+ * reflectively. The directory defaults to "plugins", relative to the
+ * microkernel directory, and can be changed with the
+ * library.benchmarks.pluginDir system property.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class PluginSandbox implements AutoCloseable {
+
+    private static final String PLUGIN_PACKAGE = "br.edu.ifba.inf008.plugins.";
+
+    private final URLClassLoader classLoader;
+
+    /**
+     * Opens every jar in the plugin directory.
+     *
+     * @throws IOException if the directory holds no plugin jars
+     */
+    public PluginSandbox() throws IOException {
+        this.classLoader = new URLClassLoader(pluginJars(pluginDirectory()), PluginSandbox.class.getClassLoader());
+    }
+
+    /**
+     * @return directory holding the built plugin jars
+     */
+    public static File pluginDirectory() {
+        return new File(System.getProperty("library.benchmarks.pluginDir", "plugins"));
+    }
+
+    /**
+     * Creates a plugin instance without calling init().
+     *
+     * @param pluginName plugin class name, e.g. "BookManagement"
+     * @return new plugin instance
+     */
+    public Object newPlugin(String pluginName) throws ReflectiveOperationException {
+        return loadClass(pluginName).getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Loads a class from the plugin JARs, for classes whose constructor
+     * takes arguments.
+     *
+     * @param className class name without the plugin package
+     * @return the class, initialized
+     */
+    public Class<?> loadClass(String className) throws ClassNotFoundException {
+        return Class.forName(PLUGIN_PACKAGE + className, true, classLoader);
+    }
+
+    /**
+     * Looks up a method of a plugin class, private or not.
+     *
+     * @param plugin plugin instance
+     * @param methodName method name
+     * @param parameterTypes declared parameter types
+     * @return accessible method
+     */
+    public static Method method(Object plugin, String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = plugin.getClass().getDeclaredMethod(methodName, parameterTypes);
+        method.setAccessible(true);
+        return method;
+    }
+
+    /**
+     * Invokes a method, unwrapping the plugin's own exception.
+     */
+    public static Object invoke(Method method, Object plugin, Object... args) throws Throwable {
+        try {
+            return method.invoke(plugin, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+    }
+
+    private static URL[] pluginJars(File directory) throws IOException {
+        File[] jars = directory.listFiles((dir, name) -> name.toLowerCase().endsWith(".jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IOException("No plugin jars in " + directory.getAbsolutePath()
+                                  + "; run 'mvn package' from the microkernel directory first");
+        }
+        URL[] urls = new URL[jars.length];
+        for (int i = 0; i < jars.length; i++) {
+            try {
+                urls[i] = jars[i].toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new IOException(e);
+            }
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,200 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportAggregationBenchmark - Client side of the report queries
+ *
+ * The aggregation itself runs in MariaDB; these suites measure what the
+ * reports plugin does with the aggregated rows: the circulation chart
+ * slices and the per-book detail rows. The dashboard counters come from
+ * the kernel's running counters, loaded from the stub on the first read.
+ * The date-range reports are answered by the plugin's CirculationAnalytics
+ * from a loan history read once from the stub; the ranges end yesterday so
+ * today's bucket, which is always read from the database, is left out.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReportAggregationBenchmark {
+
+    /**
+     * Reports plugin bound to a stub table.
+     */
+    @State(Scope.Benchmark)
+    public abstract static class ReportState {
+        PluginSandbox sandbox;
+        Object plugin;
+        Method query;
+
+        abstract StubDatabase table();
+
+        abstract String queryName();
+
+        @Setup
+        public void setUp() throws Exception {
+            BenchmarkCore.install(table());
+            sandbox = new PluginSandbox();
+            plugin = sandbox.newPlugin("ReportManagement");
+            query = PluginSandbox.method(plugin, queryName());
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            sandbox.close();
+        }
+    }
+
+    public static class DashboardRow extends ReportState {
+        @Override
+        StubDatabase table() {
+            // One row serves both the totals and the loans-per-month query
+            LocalDate today = LocalDate.now();
+            return new StubDatabase("active_loans", "total_books", "total_users", "loan_year", "loan_month", "loans")
+                .row(1250, 20000, 3400, today.getYear(), today.getMonthValue(), 780);
+        }
+
+        @Override
+        String queryName() {
+            return "loadDashboardMetrics";
+        }
+    }
+
+    public static class ChartRows extends ReportState {
+        @Param({ "10", "1000" })
+        public int books;
+
+        @Override
+        StubDatabase table() {
+            StubDatabase table = new StubDatabase("title", "loan_count");
+            for (int i = books; i >= 1; i--) {
+                table.row("Book Title " + i, i);
+            }
+            return table;
+        }
+
+        @Override
+        String queryName() {
+            return "queryCirculationChartData";
+        }
+    }
+
+    public static class DetailRows extends ReportState {
+        @Param({ "100", "10000" })
+        public int books;
+
+        @Override
+        StubDatabase table() {
+            StubDatabase table = new StubDatabase("book_title", "total_copies", "times_loaned", "currently_loaned");
+            for (int i = 1; i <= books; i++) {
+                table.row("Book Title " + i, i % 5, i % 40, i % 3);
+            }
+            return table;
+        }
+
+        @Override
+        String queryName() {
+            return "queryTableData";
+        }
+    }
+
+    /**
+     * Circulation analytics over a year of loans, already loaded.
+     */
+    @State(Scope.Benchmark)
+    public static class LoanHistory {
+        @Param({ "10000", "200000" })
+        public int loans;
+
+        PluginSandbox sandbox;
+        Object analytics;
+        Method loansOverTime;
+        Method loansPerBook;
+        Method invalidate;
+        Object monthly;
+        LocalDate from;
+        LocalDate to;
+
+        @Setup
+        public void setUp() throws Throwable {
+            LocalDate today = LocalDate.now();
+            StubDatabase table = new StubDatabase("loan_date", "book_id", "user_id");
+            for (int i = 0; i < loans; i++) {
+                // Oldest first, as the history query orders by loan_date
+                LocalDate day = today.minusDays(365 - (long) i * 365 / loans);
+                table.row(java.sql.Date.valueOf(day), 1 + i * 7 % 5000, 1 + i * 13 % 2000);
+            }
+            BenchmarkCore.install(table);
+
+            sandbox = new PluginSandbox();
+            analytics = sandbox.newPlugin("CirculationAnalytics");
+            Class<?> granularity = Class.forName(analytics.getClass().getName() + "$Granularity",
+                                                 true, analytics.getClass().getClassLoader());
+            loansOverTime = PluginSandbox.method(analytics, "loansOverTime", LocalDate.class, LocalDate.class, granularity);
+            loansPerBook = PluginSandbox.method(analytics, "loansPerBook", LocalDate.class, LocalDate.class, int.class);
+            invalidate = PluginSandbox.method(analytics, "invalidate");
+            monthly = granularity.getEnumConstants()[2];
+
+            from = today.minusDays(365);
+            to = today.minusDays(1);
+            PluginSandbox.invoke(loansOverTime, analytics, from, to, monthly);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            sandbox.close();
+        }
+    }
+
+    @Benchmark
+    public Object loansPerMonth(LoanHistory state) throws Throwable {
+        return PluginSandbox.invoke(state.loansOverTime, state.analytics, state.from, state.to, state.monthly);
+    }
+
+    @Benchmark
+    public Object mostBorrowedTitles(LoanHistory state) throws Throwable {
+        return PluginSandbox.invoke(state.loansPerBook, state.analytics, state.from, state.to, 10);
+    }
+
+    @Benchmark
+    public Object loanHistoryReload(LoanHistory state) throws Throwable {
+        PluginSandbox.invoke(state.invalidate, state.analytics);
+        return PluginSandbox.invoke(state.loansOverTime, state.analytics, state.from, state.to, state.monthly);
+    }
+
+    @Benchmark
+    public Object dashboardMetrics(DashboardRow state) throws Throwable {
+        return PluginSandbox.invoke(state.query, state.plugin);
+    }
+
+    @Benchmark
+    public Object circulationChart(ChartRows state) throws Throwable {
+        return PluginSandbox.invoke(state.query, state.plugin);
+    }
+
+    @Benchmark
+    public Object detailTable(DetailRows state) throws Throwable {
+        return PluginSandbox.invoke(state.query, state.plugin);
+    }
+}
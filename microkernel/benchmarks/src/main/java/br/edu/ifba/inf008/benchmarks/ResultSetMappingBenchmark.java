@@ -0,0 +1,125 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import br.edu.ifba.inf008.interfaces.IEntityCache;
+import br.edu.ifba.inf008.interfaces.ILoanRepository;
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+import br.edu.ifba.inf008.interfaces.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultSetMappingBenchmark - Row-to-model mapping for catalog, users and loans
+ *
+ * Books and users are mapped by the kernel's entity caches, so those suites
+ * empty the cache and read the whole table through it. Loan pages are read
+ * straight from the kernel's loan repository. Every query hits a
+ * StubDatabase table, so the numbers cover JDBC getter calls, model
+ * construction and list building, but not the network or the server.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResultSetMappingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class BookRows {
+        @Param({ "100", "10000" })
+        public int rows;
+
+        IEntityCache<Book> cache;
+
+        @Setup
+        public void setUp() {
+            StubDatabase table = new StubDatabase("book_id", "title", "author", "isbn", "published_year", "copies_available");
+            for (int i = 1; i <= rows; i++) {
+                table.row(i, "Book Title " + i, "Author " + (i % 500), "978-0-00-" + String.format("%06d", i), 1950 + i % 70, i % 5);
+            }
+            cache = BenchmarkCore.install(table).getCacheController().getBookCache();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class UserRows {
+        @Param({ "100", "10000" })
+        public int rows;
+
+        IEntityCache<User> cache;
+
+        @Setup
+        public void setUp() {
+            StubDatabase table = new StubDatabase("user_id", "name", "email", "registered_at");
+            Timestamp registeredAt = Timestamp.valueOf("2024-03-01 09:30:00");
+            for (int i = 1; i <= rows; i++) {
+                table.row(i, "User " + i, "user" + i + "@example.com", registeredAt);
+            }
+            cache = BenchmarkCore.install(table).getCacheController().getUserCache();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LoanRows {
+        @Param({ "100", "10000" })
+        public int rows;
+
+        ILoanRepository repository;
+
+        @Setup
+        public void setUp() {
+            StubDatabase table = new StubDatabase("loan_id", "user_id", "book_id", "loan_date", "return_date",
+                                                  "name", "title", "email", "author");
+            LocalDate today = LocalDate.now();
+            for (int i = 1; i <= rows; i++) {
+                Date loanDate = Date.valueOf(today.minusDays(i % 60));
+                Date returnDate = i % 3 == 0 ? null : Date.valueOf(today.minusDays(i % 60).plusDays(7));
+                table.row(i, i % 200, i % 1000, loanDate, returnDate, "User " + (i % 200), "Book Title " + (i % 1000),
+                          "user" + (i % 200) + "@example.com", "Author " + (i % 500));
+            }
+            repository = BenchmarkCore.install(table).getRepositoryController().getLoanRepository();
+        }
+    }
+
+    @Benchmark
+    public List<Book> retrieveBooks(BookRows state) throws Exception {
+        state.cache.invalidateAll();
+        return state.cache.getAll();
+    }
+
+    @Benchmark
+    public List<Book> cachedBooks(BookRows state) throws Exception {
+        return state.cache.getAll();
+    }
+
+    @Benchmark
+    public List<Loan> loanPage(LoanRows state) throws Exception {
+        return state.repository.findPage(false, null, state.rows);
+    }
+
+    @Benchmark
+    public List<User> retrieveUsers(UserRows state) throws Exception {
+        state.cache.invalidateAll();
+        return state.cache.getAll();
+    }
+}
@@ -0,0 +1,303 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * StubConnection - Connection handing out StubStatements
+ *
+ * Transactions are accepted and do nothing; every other method throws
+ * IllegalStateException.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+final class StubConnection implements Connection {
+    private final StubDatabase table;
+
+    StubConnection(StubDatabase table) {
+        this.table = table;
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        throw StubDatabase.notStubbed("abort");
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        throw StubDatabase.notStubbed("clearWarnings");
+    }
+
+    @Override
+    public void close() throws SQLException {
+    }
+
+    @Override
+    public void commit() throws SQLException {
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        throw StubDatabase.notStubbed("createArrayOf");
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        throw StubDatabase.notStubbed("createBlob");
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        throw StubDatabase.notStubbed("createClob");
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        throw StubDatabase.notStubbed("createNClob");
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        throw StubDatabase.notStubbed("createSQLXML");
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        throw StubDatabase.notStubbed("createStruct");
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return true;
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        throw StubDatabase.notStubbed("getCatalog");
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        throw StubDatabase.notStubbed("getClientInfo");
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        throw StubDatabase.notStubbed("getClientInfo");
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        throw StubDatabase.notStubbed("getHoldability");
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        throw StubDatabase.notStubbed("getMetaData");
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        throw StubDatabase.notStubbed("getNetworkTimeout");
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        throw StubDatabase.notStubbed("getSchema");
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        throw StubDatabase.notStubbed("getTransactionIsolation");
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        throw StubDatabase.notStubbed("getTypeMap");
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        throw StubDatabase.notStubbed("getWarnings");
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        throw StubDatabase.notStubbed("isReadOnly");
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        throw StubDatabase.notStubbed("isValid");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        throw StubDatabase.notStubbed("isWrapperFor");
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        throw StubDatabase.notStubbed("nativeSQL");
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        throw StubDatabase.notStubbed("prepareCall");
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        throw StubDatabase.notStubbed("prepareCall");
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        throw StubDatabase.notStubbed("prepareCall");
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return new StubStatement(table);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        throw StubDatabase.notStubbed("releaseSavepoint");
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        throw StubDatabase.notStubbed("setCatalog");
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        throw StubDatabase.notStubbed("setClientInfo");
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        throw StubDatabase.notStubbed("setClientInfo");
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        throw StubDatabase.notStubbed("setHoldability");
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        throw StubDatabase.notStubbed("setNetworkTimeout");
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        throw StubDatabase.notStubbed("setReadOnly");
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        throw StubDatabase.notStubbed("setSavepoint");
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        throw StubDatabase.notStubbed("setSavepoint");
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        throw StubDatabase.notStubbed("setSchema");
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        throw StubDatabase.notStubbed("setTransactionIsolation");
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        throw StubDatabase.notStubbed("setTypeMap");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw StubDatabase.notStubbed("unwrap");
+    }
+}
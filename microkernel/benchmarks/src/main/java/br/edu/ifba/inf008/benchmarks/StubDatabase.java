@@ -0,0 +1,165 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.model.ConnectionPoolStatistics;
+import br.edu.ifba.inf008.interfaces.model.LatencySummary;
+import br.edu.ifba.inf008.interfaces.model.QueryStatistics;
+
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * StubDatabase - In-memory stand-in for the kernel's database access
+ *
+ * Every query returns the rows of a fixed table, so a suite can drive the
+ * plugins' JDBC mapping code without a running MariaDB. Connections,
+ * statements and result sets are plain classes (StubConnection,
+ * StubStatement, StubResultSet) that implement only what the plugins
+ * call, so the suites measure the mapping code rather than proxy
+ * dispatch. Plugins swallow SQLException, so misuse of the stub (an
+ * unknown column, an unstubbed method) throws IllegalStateException
+ * instead, failing the suite rather than quietly measuring an error path.
+ *
+ * Async tasks run inline on the calling thread.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class StubDatabase implements IIOController {
+
+    private final String[] columns;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    /**
+     * Creates a stub whose queries return a table with the given columns.
+     *
+     * @param columns column labels, as read by rs.getXxx("label")
+     */
+    public StubDatabase(String... columns) {
+        this.columns = columns;
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+        }
+    }
+
+    /**
+     * Appends a row to the table.
+     *
+     * @param values one value per column, in column order
+     * @return this stub, for chaining
+     */
+    public StubDatabase row(Object... values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, got " + values.length);
+        }
+        rows.add(values);
+        return this;
+    }
+
+    /**
+     * @return number of rows every query returns
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public Connection getDatabaseConnection() {
+        return new StubConnection(this);
+    }
+
+    @Override
+    public boolean testDatabaseConnection() {
+        return true;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Callable<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.call());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public List<QueryStatistics> getQueryStatistics() {
+        return List.of();
+    }
+
+    @Override
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        LatencySummary none = new LatencySummary(0, 0, 0, 0, 0, 0);
+        return new ConnectionPoolStatistics(0, 0, 0, 0, 0, 0, none, none, none);
+    }
+
+    @Override
+    public void resetDatabaseStatistics() {
+    }
+
+    @Override
+    public void closeDatabaseConnections() {
+    }
+
+    /**
+     * @return the error thrown by every JDBC method the stub does not implement
+     */
+    static IllegalStateException notStubbed(String method) {
+        return new IllegalStateException("Not stubbed: " + method);
+    }
+
+    List<Object[]> rows() {
+        return rows;
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param column position, starting at 1
+     */
+    String columnLabel(int column) {
+        return columns[column - 1];
+    }
+
+    /**
+     * @return position of the column, starting at 1
+     */
+    int findColumn(String label) {
+        Integer index = columnIndex.get(label);
+        if (index == null) {
+            throw new IllegalStateException("Unknown column: " + label);
+        }
+        return index + 1;
+    }
+
+    /**
+     * Derives a JDBC type from the first non-null value of the column.
+     *
+     * @param column position, starting at 1
+     */
+    int columnType(int column) {
+        for (Object[] row : rows) {
+            Object value = row[column - 1];
+            if (value instanceof Number) {
+                return value instanceof Integer || value instanceof Long ? Types.INTEGER : Types.DOUBLE;
+            }
+            if (value instanceof java.sql.Date) {
+                return Types.DATE;
+            }
+            if (value != null) {
+                return Types.VARCHAR;
+            }
+        }
+        return Types.VARCHAR;
+    }
+}
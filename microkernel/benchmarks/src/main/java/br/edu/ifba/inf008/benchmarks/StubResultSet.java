@@ -0,0 +1,1032 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StubResultSet - Forward-only cursor over the rows of a StubDatabase
+ *
+ * A plain class rather than a proxy, so a getter by index is an array read
+ * and a getter by label adds only the column lookup, as in a real driver.
+ * Only the getters the plugins and kernel repositories call are
+ * implemented; every other method throws IllegalStateException.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+final class StubResultSet implements ResultSet {
+    private final StubDatabase table;
+    private final Statement statement;
+    private final List<Object[]> rows;
+    private Object[] row;
+    private int cursor = -1;
+    private boolean lastWasNull;
+    private boolean closed;
+
+    StubResultSet(StubDatabase table, Statement statement) {
+        this.table = table;
+        this.statement = statement;
+        this.rows = table.rows();
+    }
+
+    /**
+     * Reads a column of the current row by position, as a driver does
+     * once a label has been resolved.
+     */
+    private Object value(int columnIndex) {
+        if (row == null) {
+            throw new IllegalStateException("Cursor is not on a row");
+        }
+        Object value = row[columnIndex - 1];
+        lastWasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        throw StubDatabase.notStubbed("absolute");
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        throw StubDatabase.notStubbed("afterLast");
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        throw StubDatabase.notStubbed("beforeFirst");
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        throw StubDatabase.notStubbed("cancelRowUpdates");
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        throw StubDatabase.notStubbed("clearWarnings");
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        throw StubDatabase.notStubbed("deleteRow");
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        return table.findColumn(columnLabel);
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        throw StubDatabase.notStubbed("first");
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getArray");
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getArray");
+    }
+
+    @Override
+    public java.io.InputStream getAsciiStream(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getAsciiStream");
+    }
+
+    @Override
+    public java.io.InputStream getAsciiStream(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getAsciiStream");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getBigDecimal");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getBigDecimal");
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        throw StubDatabase.notStubbed("getBigDecimal");
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        throw StubDatabase.notStubbed("getBigDecimal");
+    }
+
+    @Override
+    public java.io.InputStream getBinaryStream(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getBinaryStream");
+    }
+
+    @Override
+    public java.io.InputStream getBinaryStream(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getBinaryStream");
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getBlob");
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getBlob");
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getBoolean");
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getBoolean");
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getByte");
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getByte");
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getBytes");
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getBytes");
+    }
+
+    @Override
+    public java.io.Reader getCharacterStream(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getCharacterStream");
+    }
+
+    @Override
+    public java.io.Reader getCharacterStream(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getCharacterStream");
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getClob");
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getClob");
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        throw StubDatabase.notStubbed("getConcurrency");
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        throw StubDatabase.notStubbed("getCursorName");
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        return (Date) value(columnIndex);
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        throw StubDatabase.notStubbed("getDate");
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        throw StubDatabase.notStubbed("getDate");
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getDouble");
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getDouble");
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        throw StubDatabase.notStubbed("getFetchDirection");
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        throw StubDatabase.notStubbed("getFetchSize");
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getFloat");
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getFloat");
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        throw StubDatabase.notStubbed("getHoldability");
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return new StubResultSetMetaData(table);
+    }
+
+    @Override
+    public java.io.Reader getNCharacterStream(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getNCharacterStream");
+    }
+
+    @Override
+    public java.io.Reader getNCharacterStream(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getNCharacterStream");
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getNClob");
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getNClob");
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getNString");
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getNString");
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        throw StubDatabase.notStubbed("getObject");
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        throw StubDatabase.notStubbed("getObject");
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        throw StubDatabase.notStubbed("getObject");
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        throw StubDatabase.notStubbed("getObject");
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getRef");
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getRef");
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        throw StubDatabase.notStubbed("getRow");
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getRowId");
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getRowId");
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getSQLXML");
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getSQLXML");
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getShort");
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getShort");
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        return statement;
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getTime");
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getTime");
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        throw StubDatabase.notStubbed("getTime");
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        throw StubDatabase.notStubbed("getTime");
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return (Timestamp) value(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        throw StubDatabase.notStubbed("getTimestamp");
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        throw StubDatabase.notStubbed("getTimestamp");
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        throw StubDatabase.notStubbed("getType");
+    }
+
+    @Override
+    public java.net.URL getURL(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getURL");
+    }
+
+    @Override
+    public java.net.URL getURL(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getURL");
+    }
+
+    @Deprecated
+    @Override
+    public java.io.InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("getUnicodeStream");
+    }
+
+    @Deprecated
+    @Override
+    public java.io.InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("getUnicodeStream");
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        throw StubDatabase.notStubbed("getWarnings");
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        throw StubDatabase.notStubbed("insertRow");
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        throw StubDatabase.notStubbed("isAfterLast");
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        throw StubDatabase.notStubbed("isBeforeFirst");
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        throw StubDatabase.notStubbed("isFirst");
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        throw StubDatabase.notStubbed("isLast");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        throw StubDatabase.notStubbed("isWrapperFor");
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        throw StubDatabase.notStubbed("last");
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        throw StubDatabase.notStubbed("moveToCurrentRow");
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        throw StubDatabase.notStubbed("moveToInsertRow");
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        if (++cursor < rows.size()) {
+            row = rows.get(cursor);
+            return true;
+        }
+        cursor = rows.size();
+        row = null;
+        return false;
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        throw StubDatabase.notStubbed("previous");
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        throw StubDatabase.notStubbed("refreshRow");
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        throw StubDatabase.notStubbed("relative");
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        throw StubDatabase.notStubbed("rowDeleted");
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        throw StubDatabase.notStubbed("rowInserted");
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        throw StubDatabase.notStubbed("rowUpdated");
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        throw StubDatabase.notStubbed("setFetchDirection");
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        throw StubDatabase.notStubbed("setFetchSize");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw StubDatabase.notStubbed("unwrap");
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        throw StubDatabase.notStubbed("updateArray");
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        throw StubDatabase.notStubbed("updateArray");
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, java.io.InputStream x) throws SQLException {
+        throw StubDatabase.notStubbed("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, java.io.InputStream x) throws SQLException {
+        throw StubDatabase.notStubbed("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, java.io.InputStream x, int length) throws SQLException {
+        throw StubDatabase.notStubbed("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, java.io.InputStream x, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, java.io.InputStream x, int length) throws SQLException {
+        throw StubDatabase.notStubbed("updateAsciiStream");
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, java.io.InputStream x, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateAsciiStream");
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBigDecimal");
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBigDecimal");
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, java.io.InputStream x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, java.io.InputStream x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, java.io.InputStream x, int length) throws SQLException {
+        throw StubDatabase.notStubbed("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, java.io.InputStream x, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, java.io.InputStream x, int length) throws SQLException {
+        throw StubDatabase.notStubbed("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, java.io.InputStream x, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateBinaryStream");
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+        throw StubDatabase.notStubbed("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+        throw StubDatabase.notStubbed("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateBlob");
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateBlob");
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBoolean");
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBoolean");
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        throw StubDatabase.notStubbed("updateByte");
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        throw StubDatabase.notStubbed("updateByte");
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBytes");
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        throw StubDatabase.notStubbed("updateBytes");
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, java.io.Reader reader) throws SQLException {
+        throw StubDatabase.notStubbed("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, java.io.Reader x) throws SQLException {
+        throw StubDatabase.notStubbed("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, java.io.Reader reader, int length) throws SQLException {
+        throw StubDatabase.notStubbed("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, java.io.Reader reader, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, java.io.Reader x, int length) throws SQLException {
+        throw StubDatabase.notStubbed("updateCharacterStream");
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, java.io.Reader x, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateCharacterStream");
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+        throw StubDatabase.notStubbed("updateClob");
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        throw StubDatabase.notStubbed("updateClob");
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+        throw StubDatabase.notStubbed("updateClob");
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        throw StubDatabase.notStubbed("updateClob");
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateClob");
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateClob");
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        throw StubDatabase.notStubbed("updateDate");
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        throw StubDatabase.notStubbed("updateDate");
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        throw StubDatabase.notStubbed("updateDouble");
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        throw StubDatabase.notStubbed("updateDouble");
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        throw StubDatabase.notStubbed("updateFloat");
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        throw StubDatabase.notStubbed("updateFloat");
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        throw StubDatabase.notStubbed("updateInt");
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        throw StubDatabase.notStubbed("updateInt");
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        throw StubDatabase.notStubbed("updateLong");
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        throw StubDatabase.notStubbed("updateLong");
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, java.io.Reader reader) throws SQLException {
+        throw StubDatabase.notStubbed("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, java.io.Reader x) throws SQLException {
+        throw StubDatabase.notStubbed("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, java.io.Reader reader, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, java.io.Reader x, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+        throw StubDatabase.notStubbed("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+        throw StubDatabase.notStubbed("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+        throw StubDatabase.notStubbed("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+        throw StubDatabase.notStubbed("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateNClob");
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw StubDatabase.notStubbed("updateNClob");
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String nString) throws SQLException {
+        throw StubDatabase.notStubbed("updateNString");
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String nString) throws SQLException {
+        throw StubDatabase.notStubbed("updateNString");
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        throw StubDatabase.notStubbed("updateNull");
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        throw StubDatabase.notStubbed("updateNull");
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        throw StubDatabase.notStubbed("updateObject");
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        throw StubDatabase.notStubbed("updateObject");
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        throw StubDatabase.notStubbed("updateObject");
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        throw StubDatabase.notStubbed("updateObject");
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        throw StubDatabase.notStubbed("updateRef");
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        throw StubDatabase.notStubbed("updateRef");
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        throw StubDatabase.notStubbed("updateRow");
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        throw StubDatabase.notStubbed("updateRowId");
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        throw StubDatabase.notStubbed("updateRowId");
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+        throw StubDatabase.notStubbed("updateSQLXML");
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+        throw StubDatabase.notStubbed("updateSQLXML");
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        throw StubDatabase.notStubbed("updateShort");
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        throw StubDatabase.notStubbed("updateShort");
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        throw StubDatabase.notStubbed("updateString");
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        throw StubDatabase.notStubbed("updateString");
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        throw StubDatabase.notStubbed("updateTime");
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        throw StubDatabase.notStubbed("updateTime");
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        throw StubDatabase.notStubbed("updateTimestamp");
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        throw StubDatabase.notStubbed("updateTimestamp");
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return lastWasNull;
+    }
+}
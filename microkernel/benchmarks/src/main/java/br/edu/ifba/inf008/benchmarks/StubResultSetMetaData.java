@@ -0,0 +1,134 @@
+package br.edu.ifba.inf008.benchmarks;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * StubResultSetMetaData - Column labels and types of a StubDatabase table
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+final class StubResultSetMetaData implements ResultSetMetaData {
+    private final StubDatabase table;
+
+    StubResultSetMetaData(StubDatabase table) {
+        this.table = table;
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getCatalogName");
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getColumnClassName");
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        return table.columnCount();
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getColumnDisplaySize");
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        return table.columnLabel(column);
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+        return table.columnLabel(column);
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        return table.columnType(column);
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getColumnTypeName");
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getPrecision");
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getScale");
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getSchemaName");
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        throw StubDatabase.notStubbed("getTableName");
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isAutoIncrement");
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isCaseSensitive");
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isCurrency");
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isDefinitelyWritable");
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isNullable");
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isReadOnly");
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isSearchable");
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isSigned");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        throw StubDatabase.notStubbed("isWrapperFor");
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+        throw StubDatabase.notStubbed("isWritable");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw StubDatabase.notStubbed("unwrap");
+    }
+}
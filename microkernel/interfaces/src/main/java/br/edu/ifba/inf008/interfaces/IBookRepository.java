@@ -0,0 +1,39 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.model.Book;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Acesso à tabela books. Os métodos vão ao banco, então chame-os dentro
+ * de IIOController.executeAsync. Para leituras repetidas prefira o
+ * ICacheController, que usa este repositório quando não tem a entidade.
+ */
+public interface IBookRepository {
+    /**
+     * @param bookId chave do livro
+     * @return o livro, ou null se não existir
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    Book findById(int bookId) throws SQLException;
+
+    /**
+     * @return o acervo inteiro, ordenado pelo título
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    List<Book> findAll() throws SQLException;
+
+    /**
+     * Grava um livro novo e preenche o ID gerado pelo banco
+     * @throws SQLException em caso de erro, inclusive ISBN repetido
+     */
+    void insert(Book book) throws SQLException;
+
+    /**
+     * @param bookId chave do livro
+     * @return true se o livro existia e foi apagado
+     * @throws SQLException em caso de erro ao gravar no banco
+     */
+    boolean delete(int bookId) throws SQLException;
+}
@@ -0,0 +1,20 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+import br.edu.ifba.inf008.interfaces.model.User;
+
+/**
+ * Caches de entidades mantidos pelo kernel, chaveados pelo ID de cada modelo
+ */
+public interface ICacheController {
+    IEntityCache<Book> getBookCache();
+
+    IEntityCache<User> getUserCache();
+
+    /**
+     * O histórico de empréstimos não tem limite de tamanho, então este
+     * cache só atende leituras por ID; getAll() não é suportado.
+     */
+    IEntityCache<Loan> getLoanCache();
+}
@@ -10,6 +10,11 @@ public abstract class ICore
     public abstract IAuthenticationController getAuthenticationController();
     public abstract IIOController getIOController();
     public abstract IPluginController getPluginController();
+    public abstract ICacheController getCacheController();
+    public abstract IEventBus getEventBus();
+    public abstract IStatisticsController getStatisticsController();
+    public abstract IRepositoryController getRepositoryController();
+    public abstract IMetricsController getMetricsController();
 
     protected static ICore instance = null;
 }
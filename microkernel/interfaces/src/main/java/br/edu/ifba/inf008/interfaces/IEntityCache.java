@@ -0,0 +1,75 @@
+package br.edu.ifba.inf008.interfaces;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Cache de leitura de uma entidade, compartilhado entre os plugins.
+ *
+ * Leituras que não acham a entidade no cache vão ao banco e guardam o
+ * resultado. O cache não escreve no banco: depois de gravar uma mudança,
+ * o plugin avisa o cache com put, remove ou refresh. Os métodos podem
+ * acessar o banco, então chame-os dentro de IIOController.executeAsync.
+ */
+public interface IEntityCache<T> {
+    /**
+     * @param id chave da entidade
+     * @return a entidade, ou null se não existir no banco
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    T get(int id) throws SQLException;
+
+    /**
+     * Retorna a tabela inteira. Depois da primeira leitura completa, a
+     * lista sai do cache enquanto nenhuma entrada for descartada, sem
+     * prazo de validade: para ver mudanças feitas em outro terminal ou
+     * direto no banco, chame invalidateAll antes.
+     * @return todas as entidades, na ordem de exibição da tabela
+     * @throws SQLException em caso de erro ao consultar o banco
+     * @throws UnsupportedOperationException se a tabela não puder ser lida inteira
+     */
+    List<T> getAll() throws SQLException;
+
+    /**
+     * Guarda uma entidade recém-gravada no banco
+     */
+    void put(T entity);
+
+    /**
+     * Retira uma entidade apagada do banco
+     */
+    void remove(int id);
+
+    /**
+     * Relê a entidade do banco, para mudanças feitas direto em SQL
+     * (ex.: copies_available alterado por um empréstimo)
+     * @return a entidade atualizada, ou null se ela não existe mais
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    T refresh(int id) throws SQLException;
+
+    /**
+     * Descarta uma entidade; a próxima leitura vai ao banco
+     */
+    void invalidate(int id);
+
+    /**
+     * Descarta o cache inteiro
+     */
+    void invalidateAll();
+
+    /**
+     * @return leituras atendidas pelo cache
+     */
+    long getHitCount();
+
+    /**
+     * @return leituras que precisaram ir ao banco
+     */
+    long getMissCount();
+
+    /**
+     * @return número de entidades guardadas
+     */
+    int size();
+}
@@ -0,0 +1,37 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos do kernel, para que uma aba saiba das mudanças
+ * feitas pelas outras.
+ *
+ * Os ouvintes são chamados na thread de aplicação do JavaFX, na ordem
+ * em que os eventos foram publicados, e podem mexer na tela diretamente.
+ * As inscrições feitas por um plugin são canceladas pelo kernel quando
+ * ele é descarregado.
+ */
+public interface IEventBus {
+
+    /**
+     * Inscrição de um ouvinte; cancel() para de entregar eventos a ele
+     */
+    interface Subscription {
+        void cancel();
+    }
+
+    /**
+     * @param entityType classe do modelo observado, ex.: Book.class
+     * @param listener chamado a cada mudança dessa entidade
+     * @return inscrição, para cancelar no shutdown() do plugin
+     */
+    <T> Subscription subscribe(Class<T> entityType, Consumer<EntityChangeEvent<T>> listener);
+
+    /**
+     * Publica uma mudança já gravada. Pode ser chamado de qualquer thread,
+     * inclusive das tarefas de IIOController.executeAsync.
+     */
+    void publish(EntityChangeEvent<?> event);
+}
@@ -1,14 +1,21 @@
 package br.edu.ifba.inf008.interfaces;
 
+import br.edu.ifba.inf008.interfaces.model.ConnectionPoolStatistics;
+import br.edu.ifba.inf008.interfaces.model.QueryStatistics;
+
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface expandida para incluir operações de banco de dados
  */
 public interface IIOController {
     /**
-     * Obtém uma conexão com o banco de dados
+     * Obtém uma conexão do pool do kernel. Chamar close() devolve a
+     * conexão ao pool, então use sempre try-with-resources.
      * @return Connection ativa
      * @throws SQLException em caso de erro
      */
@@ -21,7 +28,36 @@ public interface IIOController {
     boolean testDatabaseConnection();
     
     /**
-     * Fecha todas as conexões ativas
+     * Executa uma tarefa de banco de dados fora da thread da interface.
+     * O futuro retornado é completado na thread de aplicação do JavaFX,
+     * então os estágios encadeados com thenAccept podem atualizar a tela
+     * diretamente.
+     * @param task tarefa que acessa o banco
+     * @return futuro com o resultado da tarefa
+     */
+    <T> CompletableFuture<T> executeAsync(Callable<T> task);
+    
+    /**
+     * Tempos e linhas de cada formato de SQL executado pelas conexões do
+     * pool desde o início ou o último reset
+     * @return formatos do maior tempo total para o menor
+     */
+    List<QueryStatistics> getQueryStatistics();
+    
+    /**
+     * Ocupação do pool e tempos de espera por conexão e pela fila de
+     * executeAsync
+     * @return retrato do pool agora
+     */
+    ConnectionPoolStatistics getConnectionPoolStatistics();
+    
+    /**
+     * Zera as medidas de getQueryStatistics e getConnectionPoolStatistics
+     */
+    void resetDatabaseStatistics();
+    
+    /**
+     * Drena o pool, fechando todas as conexões ativas
      */
     void closeDatabaseConnections();
 }
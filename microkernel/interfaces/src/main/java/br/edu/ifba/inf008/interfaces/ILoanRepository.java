@@ -0,0 +1,51 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.model.Loan;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Acesso à tabela loans. Os empréstimos lidos já trazem nome e email do
+ * usuário e título e autor do livro. Os métodos vão ao banco, então
+ * chame-os dentro de IIOController.executeAsync.
+ */
+public interface ILoanRepository {
+    /**
+     * @param loanId chave do empréstimo
+     * @return o empréstimo, ou null se não existir
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    Loan findById(int loanId) throws SQLException;
+
+    /**
+     * Lê uma página do histórico, do mais recente para o mais antigo,
+     * com paginação por chave em (loan_date, loan_id): cada página custa
+     * o mesmo, não importa a profundidade no histórico.
+     * @param activeOnly só empréstimos ainda não devolvidos
+     * @param after último empréstimo da página anterior, ou null para a primeira
+     * @param limit tamanho máximo da página
+     * @return empréstimos da página
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    List<Loan> findPage(boolean activeOnly, Loan after, int limit) throws SQLException;
+
+    /**
+     * Empresta um exemplar de cada livro a um usuário numa só transação.
+     * Se algum livro não tiver exemplar disponível, nada é gravado.
+     * @param userId chave do usuário
+     * @param bookIds livros a emprestar; IDs repetidos contam uma vez
+     * @return IDs dos empréstimos criados, ou lista vazia se faltou exemplar
+     * @throws SQLException em caso de erro ao gravar no banco
+     */
+    List<Integer> checkout(int userId, List<Integer> bookIds) throws SQLException;
+
+    /**
+     * Registra devoluções numa só transação, devolvendo cada exemplar ao
+     * acervo. Empréstimos já devolvidos são ignorados.
+     * @param loanIds empréstimos a devolver
+     * @return IDs dos empréstimos efetivamente devolvidos
+     * @throws SQLException em caso de erro ao gravar no banco
+     */
+    List<Integer> returnLoans(List<Integer> loanIds) throws SQLException;
+}
@@ -0,0 +1,97 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.model.LatencySummary;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas do kernel, exportado por JMX e, se configurado,
+ * num endpoint HTTP no formato do Prometheus.
+ *
+ * Uma métrica é identificada pelo nome e pelos rótulos, passados em pares
+ * chave e valor: counter("library_loans_checkouts_total", "...", "branch", "centro").
+ * Pedir de novo o mesmo nome com os mesmos rótulos devolve a mesma métrica,
+ * então um plugin recarregado continua de onde parou. Toda métrica sai
+ * também com o rótulo terminal, que identifica esta instância do sistema.
+ *
+ * Os nomes seguem a convenção do Prometheus: minúsculas e sublinhados,
+ * contadores terminando em _total e tempos em _seconds.
+ */
+public interface IMetricsController {
+
+    /**
+     * Contador que só cresce. As somas são distribuídas entre células por
+     * thread, então incrementar em caminhos quentes não disputa trava.
+     */
+    interface Counter {
+        void increment();
+
+        void add(long amount);
+
+        long getCount();
+    }
+
+    /**
+     * Durações, guardadas num histograma com faixas de até 1% de largura
+     */
+    interface Timer {
+        void record(long duration, TimeUnit unit);
+
+        LatencySummary getSummary();
+    }
+
+    /**
+     * Distribuição de valores inteiros não negativos (ex.: livros por
+     * empréstimo), com as mesmas faixas do Timer
+     */
+    interface Histogram {
+        void record(long value);
+
+        long getCount();
+
+        double getMean();
+
+        long getMax();
+
+        /**
+         * @param quantile entre 0 e 1, ex.: 0.99
+         * @return valor aproximado para cima
+         */
+        long getValueAtQuantile(double quantile);
+    }
+
+    /**
+     * @param name nome da métrica
+     * @param help descrição de uma linha
+     * @param labels pares chave e valor
+     * @return o contador, criado na primeira chamada
+     * @throws IllegalArgumentException se o nome já for de outro tipo de métrica
+     */
+    Counter counter(String name, String help, String... labels);
+
+    /**
+     * @see #counter(String, String, String...)
+     */
+    Timer timer(String name, String help, String... labels);
+
+    /**
+     * @see #counter(String, String, String...)
+     */
+    Histogram histogram(String name, String help, String... labels);
+
+    /**
+     * Registra um valor lido na hora da exportação. O fornecedor é chamado
+     * de threads do kernel e deve ser rápido e não acessar o banco.
+     * Os medidores de um plugin são removidos quando ele é descarregado;
+     * registrar de novo o mesmo nome e rótulos substitui o fornecedor.
+     * @param value fornecedor do valor atual
+     */
+    void gauge(String name, String help, DoubleSupplier value, String... labels);
+
+    /**
+     * @return identificação desta instância, vinda de -Dlibrary.terminal
+     *         ou, por padrão, do nome da máquina
+     */
+    String getTerminalId();
+}
@@ -5,4 +5,12 @@ import br.edu.ifba.inf008.interfaces.ICore;
 public interface IPlugin
 {
     public abstract boolean init();
+
+    /**
+     * Chamado antes de o plugin ser descarregado (recarga ou encerramento).
+     * Menus e abas criados pelo plugin são removidos pelo kernel; aqui o
+     * plugin só precisa liberar o que criou por conta própria.
+     */
+    public default void shutdown() {
+    }
 }
@@ -2,7 +2,42 @@ package br.edu.ifba.inf008.interfaces;
 
 import br.edu.ifba.inf008.interfaces.ICore;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 public interface IPluginController
 {
     public abstract boolean init();
+
+    /**
+     * Carrega o plugin do jar de mesmo nome na pasta de plugins.
+     * @param pluginName nome do plugin, ex.: "ReportManagement"
+     * @return futuro com true se o plugin foi carregado e iniciado
+     */
+    public abstract CompletableFuture<Boolean> loadPlugin(String pluginName);
+
+    /**
+     * Chama o shutdown() do plugin, remove seus menus e abas e libera
+     * o classloader dele.
+     * @return futuro com true se o plugin estava carregado
+     */
+    public abstract CompletableFuture<Boolean> unloadPlugin(String pluginName);
+
+    /**
+     * Recarrega o plugin a partir do jar atual. A nova versão é iniciada
+     * antes de a atual sair; se ela não puder ser carregada ou iniciada,
+     * a versão em uso é mantida.
+     * @return futuro com true se a nova versão foi iniciada
+     */
+    public abstract CompletableFuture<Boolean> reloadPlugin(String pluginName);
+
+    /**
+     * @return nomes dos plugins carregados no momento
+     */
+    public abstract Set<String> getLoadedPlugins();
+
+    /**
+     * Para de observar a pasta de plugins e descarrega todos os plugins
+     */
+    public abstract void shutdown();
 }
@@ -0,0 +1,14 @@
+package br.edu.ifba.inf008.interfaces;
+
+/**
+ * Repositórios do kernel, com as consultas de livros, usuários e
+ * empréstimos que antes cada plugin escrevia em JDBC. As instruções são
+ * preparadas no servidor e reaproveitadas por conexão do pool.
+ */
+public interface IRepositoryController {
+    IBookRepository getBookRepository();
+
+    IUserRepository getUserRepository();
+
+    ILoanRepository getLoanRepository();
+}
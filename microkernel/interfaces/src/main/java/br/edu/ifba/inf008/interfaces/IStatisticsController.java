@@ -0,0 +1,28 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.model.LibraryStatistics;
+
+import java.sql.SQLException;
+
+/**
+ * Contadores do acervo mantidos pelo kernel para o painel de relatórios.
+ *
+ * Os contadores são atualizados em memória a cada mudança publicada no
+ * IEventBus e conferidos com o banco periodicamente, então ler o painel
+ * não depende do tamanho do histórico.
+ */
+public interface IStatisticsController {
+    /**
+     * Só a primeira chamada consulta o banco; as demais leem da memória.
+     * Chame-o dentro de IIOController.executeAsync.
+     * @return contadores atuais
+     * @throws SQLException se a carga inicial falhar
+     */
+    LibraryStatistics getStatistics() throws SQLException;
+
+    /**
+     * Reconta tudo no banco imediatamente, substituindo os contadores
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    void reconcile() throws SQLException;
+}
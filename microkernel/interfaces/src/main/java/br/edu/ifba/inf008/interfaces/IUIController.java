@@ -1,10 +1,33 @@
 package br.edu.ifba.inf008.interfaces;
 
+import br.edu.ifba.inf008.interfaces.model.StallStatistics;
+
 import javafx.scene.control.MenuItem;
 import javafx.scene.Node;
 
+import java.util.List;
+
 public interface IUIController
 {
     public abstract MenuItem createMenuItem(String menuText, String menuItemText);
     public abstract boolean createTab(String tabText, Node contents);
+
+    /**
+     * Remove um item criado com createMenuItem; o menu some quando fica vazio.
+     * @return true se o item estava na barra de menus
+     */
+    public abstract boolean removeMenuItem(MenuItem menuItem);
+
+    /**
+     * Remove a aba criada com createTab para o conteúdo informado.
+     * @return true se a aba estava aberta
+     */
+    public abstract boolean removeTab(Node contents);
+
+    /**
+     * Travamentos da thread do JavaFX vistos pelo vigia do kernel,
+     * atribuídos ao plugin dono do menu ou da aba em uso.
+     * @return travamentos por plugin e componente, do maior tempo total para o menor
+     */
+    public abstract List<StallStatistics> getStallReport();
 }
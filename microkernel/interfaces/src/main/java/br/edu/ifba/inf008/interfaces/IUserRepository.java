@@ -0,0 +1,40 @@
+package br.edu.ifba.inf008.interfaces;
+
+import br.edu.ifba.inf008.interfaces.model.User;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Acesso à tabela users. Os métodos vão ao banco, então chame-os dentro
+ * de IIOController.executeAsync. Para leituras repetidas prefira o
+ * ICacheController, que usa este repositório quando não tem a entidade.
+ */
+public interface IUserRepository {
+    /**
+     * @param userId chave do usuário
+     * @return o usuário, ou null se não existir
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    User findById(int userId) throws SQLException;
+
+    /**
+     * @return todos os usuários, ordenados pelo nome
+     * @throws SQLException em caso de erro ao consultar o banco
+     */
+    List<User> findAll() throws SQLException;
+
+    /**
+     * Grava um usuário novo e preenche o ID gerado pelo banco
+     * @throws SQLException em caso de erro, inclusive email repetido
+     */
+    void insert(User user) throws SQLException;
+
+    /**
+     * Apaga o usuário; os empréstimos dele saem junto (ON DELETE CASCADE)
+     * @param userId chave do usuário
+     * @return true se o usuário existia e foi apagado
+     * @throws SQLException em caso de erro ao gravar no banco
+     */
+    boolean delete(int userId) throws SQLException;
+}
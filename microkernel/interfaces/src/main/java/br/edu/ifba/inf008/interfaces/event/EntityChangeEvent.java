@@ -0,0 +1,71 @@
+package br.edu.ifba.inf008.interfaces.event;
+
+/**
+ * Aviso de que uma entidade foi gravada no banco por algum plugin.
+ *
+ * Os eventos são publicados depois do commit e depois de o cache do
+ * kernel ter sido atualizado, então quem os recebe pode aplicar a
+ * mudança direto na sua lista, sem reler a tabela.
+ */
+public final class EntityChangeEvent<T> {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Class<T> entityType;
+    private final ChangeType changeType;
+    private final int id;
+    private final T entity;
+
+    private EntityChangeEvent(Class<T> entityType, ChangeType changeType, int id, T entity) {
+        if (entityType == null || changeType == null) {
+            throw new IllegalArgumentException("Tipo da entidade e da mudança são obrigatórios");
+        }
+        this.entityType = entityType;
+        this.changeType = changeType;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public static <T> EntityChangeEvent<T> created(Class<T> entityType, int id, T entity) {
+        return new EntityChangeEvent<>(entityType, ChangeType.CREATED, id, entity);
+    }
+
+    public static <T> EntityChangeEvent<T> updated(Class<T> entityType, int id, T entity) {
+        return new EntityChangeEvent<>(entityType, ChangeType.UPDATED, id, entity);
+    }
+
+    public static <T> EntityChangeEvent<T> deleted(Class<T> entityType, int id) {
+        return new EntityChangeEvent<>(entityType, ChangeType.DELETED, id, null);
+    }
+
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * @return ID da entidade alterada
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return estado atual da entidade, ou null em DELETED
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return entityType.getSimpleName() + " " + changeType + " #" + id;
+    }
+}
@@ -0,0 +1,73 @@
+package br.edu.ifba.inf008.interfaces.model;
+
+/**
+ * Retrato do pool de conexões e da fila de tarefas de banco
+ */
+public class ConnectionPoolStatistics {
+    private final int totalConnections;
+    private final int idleConnections;
+    private final int borrowedConnections;
+    private final int maxConnections;
+    private final long borrowTimeouts;
+    private final int queuedTasks;
+    private final LatencySummary connectionWait;
+    private final LatencySummary borrowDuration;
+    private final LatencySummary taskQueueWait;
+
+    public ConnectionPoolStatistics(int totalConnections, int idleConnections, int borrowedConnections,
+                                    int maxConnections, long borrowTimeouts, int queuedTasks,
+                                    LatencySummary connectionWait, LatencySummary borrowDuration,
+                                    LatencySummary taskQueueWait) {
+        this.totalConnections = totalConnections;
+        this.idleConnections = idleConnections;
+        this.borrowedConnections = borrowedConnections;
+        this.maxConnections = maxConnections;
+        this.borrowTimeouts = borrowTimeouts;
+        this.queuedTasks = queuedTasks;
+        this.connectionWait = connectionWait;
+        this.borrowDuration = borrowDuration;
+        this.taskQueueWait = taskQueueWait;
+    }
+
+    public int getTotalConnections() { return totalConnections; }
+
+    public int getIdleConnections() { return idleConnections; }
+
+    public int getBorrowedConnections() { return borrowedConnections; }
+
+    public int getMaxConnections() { return maxConnections; }
+
+    /**
+     * @return pedidos de conexão que desistiram por tempo esgotado
+     */
+    public long getBorrowTimeouts() { return borrowTimeouts; }
+
+    /**
+     * @return tarefas de executeAsync esperando uma thread livre agora
+     */
+    public int getQueuedTasks() { return queuedTasks; }
+
+    /**
+     * @return espera por uma conexão livre em cada empréstimo
+     */
+    public LatencySummary getConnectionWait() { return connectionWait; }
+
+    /**
+     * @return tempo entre obter e devolver cada conexão
+     */
+    public LatencySummary getBorrowDuration() { return borrowDuration; }
+
+    /**
+     * @return espera de cada tarefa de executeAsync na fila até começar a rodar
+     */
+    public LatencySummary getTaskQueueWait() { return taskQueueWait; }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatistics{total=" + totalConnections + ", idle=" + idleConnections
+             + ", borrowed=" + borrowedConnections + ", max=" + maxConnections
+             + ", timeouts=" + borrowTimeouts + ", queued=" + queuedTasks
+             + ", wait=[" + connectionWait + "], borrow=[" + borrowDuration
+             + "], queueWait=[" + taskQueueWait + "]}";
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.ifba.inf008.interfaces.model;
+
+/**
+ * Resumo de uma distribuição de tempos, em milissegundos
+ *
+ * Os percentis vêm de um histograma com faixas de até 1% de largura,
+ * então são aproximados para cima.
+ */
+public class LatencySummary {
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    public LatencySummary(long count, double meanMillis, double p50Millis, double p95Millis,
+                          double p99Millis, double maxMillis) {
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public long getCount() { return count; }
+
+    public double getMeanMillis() { return meanMillis; }
+
+    public double getP50Millis() { return p50Millis; }
+
+    public double getP95Millis() { return p95Millis; }
+
+    public double getP99Millis() { return p99Millis; }
+
+    public double getMaxMillis() { return maxMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                             count, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis);
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.ifba.inf008.interfaces.model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Retrato dos contadores do acervo em um instante
+ */
+public class LibraryStatistics {
+    private final long activeLoans;
+    private final long totalBooks;
+    private final long totalUsers;
+    private final Map<YearMonth, Long> loansPerMonth;
+
+    public LibraryStatistics(long activeLoans, long totalBooks, long totalUsers, Map<YearMonth, Long> loansPerMonth) {
+        this.activeLoans = activeLoans;
+        this.totalBooks = totalBooks;
+        this.totalUsers = totalUsers;
+        this.loansPerMonth = Collections.unmodifiableMap(new TreeMap<>(loansPerMonth));
+    }
+
+    public long getActiveLoans() { return activeLoans; }
+
+    public long getTotalBooks() { return totalBooks; }
+
+    public long getTotalUsers() { return totalUsers; }
+
+    /**
+     * @return empréstimos feitos no mês (do ano informado)
+     */
+    public long getLoansIn(YearMonth month) {
+        return loansPerMonth.getOrDefault(month, 0L);
+    }
+
+    /**
+     * @return empréstimos por mês, do mais antigo ao mais recente
+     */
+    public Map<YearMonth, Long> getLoansPerMonth() {
+        return loansPerMonth;
+    }
+
+    @Override
+    public String toString() {
+        return "LibraryStatistics{activeLoans=" + activeLoans + ", totalBooks=" + totalBooks
+             + ", totalUsers=" + totalUsers + ", months=" + loansPerMonth.size() + "}";
+    }
+}
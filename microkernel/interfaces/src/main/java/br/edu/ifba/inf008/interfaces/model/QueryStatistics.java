@@ -0,0 +1,60 @@
+package br.edu.ifba.inf008.interfaces.model;
+
+/**
+ * Retrato das execuções de um formato de consulta
+ *
+ * O formato é o SQL com literais e listas de parâmetros trocados por
+ * marcadores, então "WHERE book_id IN (?, ?)" e "WHERE book_id IN (?, ?, ?)"
+ * contam juntos.
+ */
+public class QueryStatistics {
+    private final String sql;
+    private final String source;
+    private final long executions;
+    private final long errors;
+    private final long rows;
+    private final LatencySummary latency;
+
+    public QueryStatistics(String sql, String source, long executions, long errors, long rows, LatencySummary latency) {
+        this.sql = sql;
+        this.source = source;
+        this.executions = executions;
+        this.errors = errors;
+        this.rows = rows;
+        this.latency = latency;
+    }
+
+    /**
+     * @return formato da consulta
+     */
+    public String getSql() { return sql; }
+
+    /**
+     * @return plugin que executou o formato pela primeira vez, ou "kernel"
+     */
+    public String getSource() { return source; }
+
+    public long getExecutions() { return executions; }
+
+    /**
+     * @return execuções que terminaram em SQLException
+     */
+    public long getErrors() { return errors; }
+
+    /**
+     * @return linhas lidas dos cursores mais linhas alteradas
+     */
+    public long getRows() { return rows; }
+
+    /**
+     * @return tempo de cada execução até a resposta do servidor, sem a
+     *         leitura das linhas seguintes do cursor
+     */
+    public LatencySummary getLatency() { return latency; }
+
+    @Override
+    public String toString() {
+        return "QueryStatistics{source=" + source + ", executions=" + executions + ", errors=" + errors
+             + ", rows=" + rows + ", latency=[" + latency + "], sql=" + sql + "}";
+    }
+}
@@ -0,0 +1,55 @@
+package br.edu.ifba.inf008.interfaces.model;
+
+/**
+ * Travamentos da thread do JavaFX atribuídos a um componente de um plugin
+ *
+ * O componente é o item de menu ou a aba que o plugin registrou e onde o
+ * evento lento aconteceu; travamentos fora de um evento (ex.: um
+ * thenAccept pesado) são atribuídos pelo método do plugin na pilha.
+ */
+public class StallStatistics {
+    private final String plugin;
+    private final String component;
+    private final long count;
+    private final long totalMillis;
+    private final long worstMillis;
+    private final String worstStack;
+
+    public StallStatistics(String plugin, String component, long count, long totalMillis,
+                           long worstMillis, String worstStack) {
+        this.plugin = plugin;
+        this.component = component;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.worstMillis = worstMillis;
+        this.worstStack = worstStack;
+    }
+
+    /**
+     * @return nome do plugin, ou "kernel"
+     */
+    public String getPlugin() { return plugin; }
+
+    /**
+     * @return ex.: "menu System > Manage Loans", "aba Loans" ou o método na pilha
+     */
+    public String getComponent() { return component; }
+
+    public long getCount() { return count; }
+
+    public long getTotalMillis() { return totalMillis; }
+
+    public long getWorstMillis() { return worstMillis; }
+
+    /**
+     * @return pilha da thread do JavaFX capturada durante o pior travamento,
+     *         ou vazio se ele terminou antes da captura
+     */
+    public String getWorstStack() { return worstStack; }
+
+    @Override
+    public String toString() {
+        return "StallStatistics{plugin=" + plugin + ", component=" + component + ", count=" + count
+             + ", totalMillis=" + totalMillis + ", worstMillis=" + worstMillis + "}";
+    }
+}
@@ -0,0 +1,52 @@
+package br.edu.ifba.inf008.interfaces.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta os bytes lidos de um stream, para mostrar o progresso da leitura
+ * de um arquivo.
+ */
+public class CountingInputStream extends FilterInputStream {
+    private final AtomicLong count = new AtomicLong();
+
+    public CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * @return bytes lidos até agora; pode ser chamado de qualquer thread
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count.incrementAndGet();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            count.addAndGet(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            count.addAndGet(skipped);
+        }
+        return skipped;
+    }
+}
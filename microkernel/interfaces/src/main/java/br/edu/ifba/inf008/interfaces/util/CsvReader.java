@@ -0,0 +1,139 @@
+package br.edu.ifba.inf008.interfaces.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitor de CSV (RFC 4180) linha a linha, com as colunas nomeadas pela
+ * primeira linha.
+ *
+ * Campos entre aspas podem conter vírgulas, aspas dobradas e quebras de
+ * linha. Uma marca de ordem de bytes no início é ignorada, assim como
+ * linhas em branco. getLine() dá a linha do arquivo onde a linha atual
+ * começa, para as mensagens de erro.
+ */
+public class CsvReader implements Closeable {
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final List<String> fields = new ArrayList<>();
+    private int nextLine = 1;
+    private int line;
+
+    /**
+     * Lê a linha de cabeçalho.
+     * @throws IOException se o arquivo estiver vazio ou não puder ser lido
+     */
+    public CsvReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset(); // Sem marca de ordem de bytes
+        }
+        if (!readRow()) {
+            throw new IOException("The file is empty");
+        }
+        header = new ArrayList<>(fields.size());
+        for (String name : fields) {
+            header.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * @param names nomes aceitos para a coluna, sem diferenciar maiúsculas
+     * @return posição da primeira coluna com um desses nomes, ou -1
+     */
+    public int column(String... names) {
+        for (String name : names) {
+            int index = header.indexOf(name.toLowerCase(Locale.ROOT));
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Avança para a próxima linha que não esteja em branco.
+     * @return false no fim do arquivo
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            line = nextLine;
+            if (!readRow()) {
+                return false;
+            }
+            if (fields.size() > 1 || !fields.get(0).isBlank()) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return linha do arquivo, a partir de 1, onde a linha atual começa
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @param column posição vinda de column(), possivelmente -1
+     * @return o campo, ou null se a coluna não existe ou falta na linha
+     */
+    public String get(int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lê uma linha em fields; campos entre aspas podem ocupar várias.
+     * @return false no fim do arquivo
+     */
+    private boolean readRow() throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        nextLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                nextLine++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package br.edu.ifba.inf008.interfaces.util;
+
+/**
+ * Recebe o progresso de uma importação e pode interrompê-la.
+ */
+public interface ImportProgress {
+    /**
+     * @return true quando o usuário pediu para parar a importação
+     */
+    boolean isCancelled();
+
+    /**
+     * Chamado depois de cada bloco gravado, da thread da importação.
+     * @param bytesRead bytes do arquivo lidos até agora
+     * @param totalBytes tamanho do arquivo
+     * @param report contagens até agora
+     */
+    void update(long bytesRead, long totalBytes, ImportReport report);
+}
@@ -0,0 +1,88 @@
+package br.edu.ifba.inf008.interfaces.util;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Janela de progresso de uma importação, que não bloqueia a interface.
+ *
+ * Mostra quanto do arquivo já foi lido, as contagens de
+ * ImportReport.getStatus() e um botão Cancelar; fechar a janela antes do
+ * fim também cancela. O progresso chega da thread da importação, e no
+ * máximo uma atualização fica na fila da thread do JavaFX por vez.
+ */
+public class ImportProgressDialog implements ImportProgress {
+    private final Dialog<Void> dialog = new Dialog<>();
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label statusLabel = new Label("Reading file...");
+
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+    private volatile double fraction;
+    private volatile String status;
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
+    /**
+     * @param title título da janela
+     * @param fileName nome do arquivo importado
+     */
+    public ImportProgressDialog(String title, String fileName) {
+        dialog.setTitle(title);
+        dialog.setHeaderText("Importing " + fileName);
+
+        progressBar.setPrefWidth(360);
+        VBox content = new VBox(10, progressBar, statusLabel);
+        content.setPadding(new Insets(10));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CANCEL);
+
+        dialog.setOnHidden(e -> {
+            if (!finished) {
+                cancelled = true;
+            }
+        });
+    }
+
+    /**
+     * Mostra a janela sem esperar que ela feche.
+     */
+    public void show() {
+        dialog.show();
+    }
+
+    /**
+     * Fecha a janela quando a importação termina, com ou sem sucesso.
+     * Deve ser chamado na thread do JavaFX.
+     */
+    public void close() {
+        finished = true;
+        dialog.close();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void update(long bytesRead, long totalBytes, ImportReport report) {
+        fraction = totalBytes > 0 ? Math.min(1.0, (double) bytesRead / totalBytes) : ProgressBar.INDETERMINATE_PROGRESS;
+        status = report.getStatus();
+        if (updatePending.compareAndSet(false, true)) {
+            Platform.runLater(this::showProgress);
+        }
+    }
+
+    private void showProgress() {
+        updatePending.set(false);
+        progressBar.setProgress(fraction);
+        statusLabel.setText(status);
+    }
+}
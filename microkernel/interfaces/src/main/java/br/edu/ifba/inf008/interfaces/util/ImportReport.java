@@ -0,0 +1,89 @@
+package br.edu.ifba.inf008.interfaces.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote: contagens e as primeiras linhas
+ * com problema.
+ *
+ * Guarda as contagens comuns a todas as importações; cada importador
+ * acrescenta as suas e escreve o resumo. Os métodos de registro são
+ * chamados só pela thread da importação.
+ */
+public abstract class ImportReport {
+    private static final int MAX_REPORTED_ISSUES = 1_000;
+
+    private long read;
+    private long rejected;
+    private long duplicatesInFile;
+    private boolean cancelled;
+    private final List<String> issues = new ArrayList<>();
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getDuplicatesInFile() {
+        return duplicatesInFile;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return linhas rejeitadas ou repetidas, com o número da linha; só
+     *         as primeiras 1.000
+     */
+    public List<String> getIssues() {
+        return issues;
+    }
+
+    /**
+     * @return resumo de uma linha das contagens, mostrado ao fim
+     */
+    public abstract String summary();
+
+    /**
+     * @return contagens curtas mostradas enquanto a importação corre
+     */
+    public abstract String getStatus();
+
+    public void addRead(long count) {
+        read += count;
+    }
+
+    /**
+     * Conta uma linha que não passou na validação.
+     */
+    public void reject(int line, String reason) {
+        rejected++;
+        addIssue(line, reason);
+    }
+
+    /**
+     * Conta uma linha que repete uma chave já vista no arquivo.
+     */
+    public void repeatedInFile(int line, String reason) {
+        duplicatesInFile++;
+        addIssue(line, reason);
+    }
+
+    public void markCancelled() {
+        cancelled = true;
+    }
+
+    /**
+     * Guarda uma mensagem sobre a linha, até o limite de mensagens.
+     */
+    public void addIssue(int line, String message) {
+        if (issues.size() < MAX_REPORTED_ISSUES) {
+            issues.add("Line " + line + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package br.edu.ifba.inf008.interfaces.util;
+
+import javafx.collections.ObservableList;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Atualiza uma lista já exibida para que fique igual a uma lista nova,
+ * mexendo só no que mudou.
+ *
+ * Os itens são casados pelo ID. Itens que saíram são removidos de uma vez,
+ * itens novos são inseridos em blocos contíguos e itens que continuam mas
+ * foram relidos (outra instância) são trocados no lugar. Dos itens que
+ * mudaram de posição, fica parada a maior sequência que já está na ordem
+ * certa e só os demais são movidos. Assim uma TableView mantém seleção,
+ * rolagem e as células das linhas que não mudaram.
+ *
+ * Quando as mudanças estão tão espalhadas que deslocar a lista custaria
+ * mais do que reconstruí-la, a lista é trocada inteira com um único
+ * setAll.
+ */
+public final class ListReconciler {
+
+    // Deslocamentos aceitos, em múltiplos do tamanho das listas, antes de
+    // preferir reconstruir a lista inteira
+    private static final int MAX_SHIFT_FACTOR = 4;
+
+    private ListReconciler() {
+    }
+
+    /**
+     * @param target lista exibida, alterada no lugar
+     * @param source conteúdo novo, na ordem de exibição; os IDs não se repetem
+     * @param idOf extrai o ID de um item
+     */
+    public static <T> void reconcile(List<T> target, List<? extends T> source, ToIntFunction<? super T> idOf) {
+        if (target.isEmpty() || source.isEmpty()) {
+            if (!target.isEmpty() || !source.isEmpty()) {
+                replaceAll(target, source);
+            }
+            return;
+        }
+
+        // Posição na lista nova de cada item exibido (-1 se saiu)
+        Map<Integer, Integer> sourcePositions = new HashMap<>(source.size() * 4 / 3 + 1);
+        for (int i = 0; i < source.size(); i++) {
+            sourcePositions.put(idOf.applyAsInt(source.get(i)), i);
+        }
+        int[] positions = new int[target.size()];
+        for (int j = 0; j < target.size(); j++) {
+            Integer position = sourcePositions.get(idOf.applyAsInt(target.get(j)));
+            positions[j] = position == null ? -1 : position;
+        }
+
+        boolean[] kept = longestIncreasingRun(positions);
+        boolean[] keptInSource = new boolean[source.size()];
+        for (int j = 0; j < positions.length; j++) {
+            if (kept[j]) {
+                keptInSource[positions[j]] = true;
+            }
+        }
+
+        if (shiftCost(kept, keptInSource) > (long) MAX_SHIFT_FACTOR * (target.size() + source.size())) {
+            replaceAll(target, source);
+            return;
+        }
+
+        // Remoções, de trás para frente em uma única chamada
+        Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int j = 0; j < kept.length; j++) {
+            if (!kept[j]) {
+                removed.add(target.get(j));
+            }
+        }
+        if (!removed.isEmpty()) {
+            target.removeAll(removed);
+        }
+
+        // A lista agora é uma subsequência da nova: falta inserir e trocar
+        int i = 0;
+        while (i < source.size()) {
+            if (keptInSource[i]) {
+                T item = source.get(i);
+                if (target.get(i) != item) {
+                    target.set(i, item);
+                }
+                i++;
+            } else {
+                int end = i;
+                while (end < source.size() && !keptInSource[end]) {
+                    end++;
+                }
+                target.addAll(i, source.subList(i, end));
+                i = end;
+            }
+        }
+    }
+
+    private static <T> void replaceAll(List<T> target, List<? extends T> source) {
+        if (target instanceof ObservableList) {
+            ((ObservableList<T>) target).setAll(source);
+        } else {
+            target.clear();
+            target.addAll(source);
+        }
+    }
+
+    /**
+     * Marca a maior subsequência crescente das posições, ignorando os -1;
+     * esses itens ficam onde estão.
+     */
+    private static boolean[] longestIncreasingRun(int[] positions) {
+        int[] tailIndex = new int[positions.length];   // Índice do fim de cada comprimento
+        int[] previous = new int[positions.length];
+        int length = 0;
+        for (int j = 0; j < positions.length; j++) {
+            if (positions[j] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (positions[tailIndex[middle]] < positions[j]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[j] = low > 0 ? tailIndex[low - 1] : -1;
+            tailIndex[low] = j;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[positions.length];
+        if (length > 0) {
+            for (int j = tailIndex[length - 1]; j >= 0; j = previous[j]) {
+                kept[j] = true;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Estima quantos elementos serão deslocados: cada remoção desloca os
+     * itens mantidos depois dela e cada bloco inserido desloca os itens
+     * que vêm depois dele.
+     */
+    private static long shiftCost(boolean[] kept, boolean[] keptInSource) {
+        long cost = 0;
+        int keptAfter = 0;
+        for (int j = kept.length - 1; j >= 0; j--) {
+            if (kept[j]) {
+                keptAfter++;
+            } else {
+                cost += keptAfter;
+            }
+        }
+
+        int[] keptFrom = new int[keptInSource.length + 1];
+        for (int i = keptInSource.length - 1; i >= 0; i--) {
+            keptFrom[i] = keptFrom[i + 1] + (keptInSource[i] ? 1 : 0);
+        }
+        for (int i = 0; i < keptInSource.length; i++) {
+            if (!keptInSource[i] && (i == 0 || keptInSource[i - 1])) {
+                cost += keptFrom[i];
+            }
+        }
+        return cost;
+    }
+}
@@ -1,9 +1,13 @@
 package br.edu.ifba.inf008.plugins;
 
-import br.edu.ifba.inf008.interfaces.IPlugin;
 import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IPlugin;
 import br.edu.ifba.inf008.interfaces.IUIController;
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
 import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.util.ImportProgressDialog;
+import br.edu.ifba.inf008.interfaces.util.ListReconciler;
 
 import javafx.scene.control.MenuItem;
 import javafx.event.EventHandler;
@@ -16,10 +20,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.File;
+import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
 
 /**
  * BookManagement Plugin - Book Catalog Management
@@ -34,6 +39,7 @@ import java.util.List;
  * - Remove books from catalog
  * - Track available copies
  * - Basic ISBN validation
+ * - Bulk import from CSV or MARC text files
  * 
  * @author Jorge Dário Costa de Santana (20241160003)
  * @course INF008 - Programação Orientada a Objetos
@@ -52,6 +58,10 @@ public class BookManagement implements IPlugin {
     private TextField isbnField;                    // Input field for ISBN
     private TextField yearField;                    // Input field for publication year
     private TextField copiesField;                  // Input field for available copies
+    private TextField searchField;                  // Search-as-you-type catalog filter
+    private CatalogSearchIndex searchIndex = new CatalogSearchIndex(); // In-memory catalog index
+    private Label searchStatusLabel; // Tells when a broad search shows only part of the matches
+    private IEventBus.Subscription bookEvents;      // Book changes made by any plugin
     
     /**
      * Initializes the plugin and sets up the menu item.
@@ -75,6 +85,9 @@ public class BookManagement implements IPlugin {
                 }
             });
             
+            // Keep the catalog in step with changes made from any tab
+            bookEvents = ICore.getInstance().getEventBus().subscribe(Book.class, this::applyBookChange);
+            
             System.out.println("BookManagement plugin loaded successfully!");
             return true;
             
@@ -85,6 +98,16 @@ public class BookManagement implements IPlugin {
         }
     }
     
+    /**
+     * Stops listening for book changes.
+     */
+    @Override
+    public void shutdown() {
+        if (bookEvents != null) {
+            bookEvents.cancel();
+        }
+    }
+    
     /**
      * Creates and displays the book management interface.
      */
@@ -208,7 +231,7 @@ public class BookManagement implements IPlugin {
         // Management buttons
         Button refreshButton = new Button("Refresh Catalog");
         refreshButton.setStyle("-fx-background-color: #2980b9; -fx-text-fill: white; -fx-font-weight: bold;");
-        refreshButton.setOnAction(e -> refreshCatalogDisplay());
+        refreshButton.setOnAction(e -> reloadCatalogDisplay());
         
         Button editButton = new Button("Edit Selected");
         editButton.setStyle("-fx-background-color: #f39c12; -fx-text-fill: white; -fx-font-weight: bold;");
@@ -218,13 +241,21 @@ public class BookManagement implements IPlugin {
         removeButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-weight: bold;");
         removeButton.setOnAction(e -> removeSelectedBook());
         
+        Button importButton = new Button("Import Catalog...");
+        importButton.setStyle("-fx-background-color: #16a085; -fx-text-fill: white; -fx-font-weight: bold;");
+        importButton.setOnAction(e -> importCatalogFile());
+        
         // Search field
-        TextField searchField = new TextField();
+        searchField = new TextField();
         searchField.setPromptText("Search catalog...");
         searchField.setPrefWidth(250);
         searchField.setOnKeyReleased(e -> performCatalogSearch(searchField.getText()));
         
-        displayHeader.getChildren().addAll(displayTitle, refreshButton, editButton, removeButton, searchField);
+        searchStatusLabel = new Label();
+        searchStatusLabel.setStyle("-fx-text-fill: #f1c40f;");
+        
+        displayHeader.getChildren().addAll(displayTitle, refreshButton, editButton, removeButton, importButton,
+                                           searchField, searchStatusLabel);
         
         // Create the catalog table
         bookTable = createCatalogTable();
@@ -357,14 +388,25 @@ public class BookManagement implements IPlugin {
             // Create new book
             Book newBook = new Book(title, author, isbn, publicationYear, availableCopies);
             
-            // Save to database
-            if (persistBookToDatabase(newBook)) {
-                displayAlert(Alert.AlertType.INFORMATION, "Success", "Book added to catalog successfully!");
-                resetEntryForm();
-                refreshCatalogDisplay();
-            } else {
-                displayAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add book to catalog!");
-            }
+            // Save to database in the background
+            ICore.getInstance().getIOController()
+                .executeAsync(() -> {
+                    boolean saved = persistBookToDatabase(newBook);
+                    if (saved) {
+                        ICore.getInstance().getCacheController().getBookCache().put(newBook);
+                        ICore.getInstance().getEventBus().publish(
+                            EntityChangeEvent.created(Book.class, newBook.getBookId(), newBook));
+                    }
+                    return saved;
+                })
+                .thenAccept(saved -> {
+                    if (saved) {
+                        displayAlert(Alert.AlertType.INFORMATION, "Success", "Book added to catalog successfully!");
+                        resetEntryForm();
+                    } else {
+                        displayAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add book to catalog!");
+                    }
+                });
             
         } catch (IllegalArgumentException e) {
             displayAlert(Alert.AlertType.WARNING, "Validation Error", e.getMessage());
@@ -434,38 +476,155 @@ public class BookManagement implements IPlugin {
         confirmation.setContentText("Remove '" + selectedBook.getTitle() + "' by " + selectedBook.getAuthor() + "?");
         
         if (confirmation.showAndWait().get() == ButtonType.OK) {
-            if (removeBookFromDatabase(selectedBook.getBookId())) {
-                displayAlert(Alert.AlertType.INFORMATION, "Success", "Book removed successfully!");
-                refreshCatalogDisplay();
-            } else {
-                displayAlert(Alert.AlertType.ERROR, "Error", "Failed to remove book!");
-            }
+            ICore.getInstance().getIOController()
+                .executeAsync(() -> {
+                    boolean removed = removeBookFromDatabase(selectedBook.getBookId());
+                    if (removed) {
+                        // Deleting a book cascades to its loans
+                        ICore.getInstance().getCacheController().getBookCache().remove(selectedBook.getBookId());
+                        ICore.getInstance().getCacheController().getLoanCache().invalidateAll();
+                        ICore.getInstance().getEventBus().publish(
+                            EntityChangeEvent.deleted(Book.class, selectedBook.getBookId()));
+                    }
+                    return removed;
+                })
+                .thenAccept(removed -> {
+                    if (removed) {
+                        displayAlert(Alert.AlertType.INFORMATION, "Success", "Book removed successfully!");
+                    } else {
+                        displayAlert(Alert.AlertType.ERROR, "Error", "Failed to remove book!");
+                    }
+                });
+        }
+    }
+    
+    /**
+     * Applies a book change published on the kernel event bus to the
+     * search index and the visible results, without reloading the catalog.
+     * 
+     * @param event change to apply
+     */
+    private void applyBookChange(EntityChangeEvent<Book> event) {
+        if (bookList == null) {
+            return; // Workspace not opened yet; the first refresh loads everything
+        }
+        if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETED) {
+            searchIndex.remove(event.getId());
+        } else {
+            searchIndex.add(event.getEntity());
         }
+        performCatalogSearch(searchField.getText());
     }
     
     /**
-     * Performs search in the catalog.
+     * Performs search in the catalog using the in-memory index.
+     * An empty term shows the whole catalog; a broad one shows the first
+     * matches by title and says how many were left out. Only the rows that
+     * differ from the current results are touched, so the selection and
+     * scroll position survive a refresh.
      * 
      * @param searchTerm Search term entered by user
      */
     private void performCatalogSearch(String searchTerm) {
-        System.out.println("Searching catalog for: " + searchTerm);
-        // Search implementation would go here
+        CatalogSearchIndex.SearchResult result = searchIndex.search(searchTerm);
+        ListReconciler.reconcile(bookList, result.getBooks(), Book::getBookId);
+        searchStatusLabel.setText(result.isTruncated()
+            ? String.format("Showing first %,d of %,d matches", result.getBooks().size(), result.getTotalMatches())
+            : "");
+    }
+    
+    /**
+     * Refresh button: drops the cached catalog first, so books added,
+     * edited or deleted from another terminal or directly in the database
+     * show up.
+     */
+    private void reloadCatalogDisplay() {
+        ICore.getInstance().getCacheController().getBookCache().invalidateAll();
+        refreshCatalogDisplay();
     }
     
     /**
-     * Refreshes the catalog display with current database data.
+     * Refreshes the catalog display from the kernel's book cache, which
+     * only queries the database when it does not hold the whole catalog.
+     * The search index build runs on a kernel worker thread; the table is
+     * updated back on the JavaFX thread.
      */
     private void refreshCatalogDisplay() {
-        try {
-            List<Book> books = retrieveBooksFromDatabase();
-            bookList.clear();
-            bookList.addAll(books);
-            System.out.println("Book list updated. Total: " + books.size());
-        } catch (Exception e) {
-            displayAlert(Alert.AlertType.ERROR, "Data Loading Error", "Failed to refresh catalog: " + e.getMessage());
-            e.printStackTrace();
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> CatalogSearchIndex.build(ICore.getInstance().getCacheController().getBookCache().getAll()))
+            .thenAccept(index -> {
+                searchIndex = index;
+                performCatalogSearch(searchField.getText());
+                System.out.println("Book list updated. Total: " + index.size());
+            })
+            .exceptionally(e -> {
+                displayAlert(Alert.AlertType.ERROR, "Data Loading Error", "Failed to refresh catalog: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
+    }
+    
+    /**
+     * Asks for a CSV or MARC file and imports it on a kernel worker thread,
+     * showing progress in a dialog whose Cancel button stops the import.
+     * 
+     * No change event is published per imported book: a large file would
+     * flood every subscriber. The kernel caches and counters are refreshed
+     * once at the end instead.
+     */
+    private void importCatalogFile() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Catalog");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+            new FileChooser.ExtensionFilter("MARC text files", "*.mrk"));
+        File file = chooser.showOpenDialog(bookTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        ImportProgressDialog dialog = new ImportProgressDialog("Import Catalog", file.getName());
+        dialog.show();
+        
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> {
+                try {
+                    return new CatalogImporter().importFile(file.toPath(), dialog);
+                } finally {
+                    ICore.getInstance().getCacheController().getBookCache().invalidateAll();
+                    ICore.getInstance().getStatisticsController().reconcile();
+                }
+            })
+            .whenComplete((report, error) -> {
+                dialog.close();
+                refreshCatalogDisplay();
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause == null) {
+                    displayImportReport(file.getName(), report);
+                } else {
+                    displayAlert(Alert.AlertType.ERROR, "Import Error", "Failed to import catalog: " + cause.getMessage());
+                    cause.printStackTrace();
+                }
+            });
+    }
+    
+    /**
+     * Shows the import counts, with the rejected and duplicate records
+     * listed in an expandable area.
+     */
+    private void displayImportReport(String fileName, CatalogImporter.Report report) {
+        Alert alert = new Alert(report.getRejected() > 0 ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION);
+        alert.setTitle("Import Catalog");
+        alert.setHeaderText(fileName);
+        alert.setContentText(report.summary());
+        
+        if (!report.getIssues().isEmpty()) {
+            TextArea issues = new TextArea(String.join("\n", report.getIssues()));
+            issues.setEditable(false);
+            issues.setPrefRowCount(15);
+            alert.getDialogPane().setExpandableContent(issues);
         }
+        alert.showAndWait();
     }
     
     // DATABASE OPERATIONS
@@ -477,57 +636,16 @@ public class BookManagement implements IPlugin {
      * @return true if successful, false otherwise
      */
     private boolean persistBookToDatabase(Book book) {
-        String sql = "INSERT INTO books (title, author, isbn, published_year, copies_available) VALUES (?, ?, ?, ?, ?)";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, book.getTitle());
-            stmt.setString(2, book.getAuthor());
-            stmt.setString(3, book.getIsbn());
-            stmt.setInt(4, book.getPublishedYear());
-            stmt.setInt(5, book.getCopiesAvailable());
-            
-            return stmt.executeUpdate() > 0;
-            
+        try {
+            // Fills in the generated ID so the book can be indexed and removed later
+            ICore.getInstance().getRepositoryController().getBookRepository().insert(book);
+            return true;
         } catch (SQLException e) {
             System.err.println("Error saving book: " + e.getMessage());
             return false;
         }
     }
     
-    /**
-     * Retrieves all books from the database.
-     * 
-     * @return List of books
-     */
-    private List<Book> retrieveBooksFromDatabase() {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT book_id, title, author, isbn, published_year, copies_available FROM books ORDER BY title";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Book book = new Book(
-                    rs.getInt("book_id"),
-                    rs.getString("title"),
-                    rs.getString("author"),
-                    rs.getString("isbn"),
-                    rs.getInt("published_year"),
-                    rs.getInt("copies_available")
-                );
-                books.add(book);
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading books: " + e.getMessage());
-        }
-        
-        return books;
-    }
-    
     /**
      * Removes a book from the database.
      * 
@@ -535,14 +653,8 @@ public class BookManagement implements IPlugin {
      * @return true if successful, false otherwise
      */
     private boolean removeBookFromDatabase(int bookId) {
-        String sql = "DELETE FROM books WHERE book_id = ?";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, bookId);
-            return stmt.executeUpdate() > 0;
-            
+        try {
+            return ICore.getInstance().getRepositoryController().getBookRepository().delete(bookId);
         } catch (SQLException e) {
             System.err.println("Error removing book: " + e.getMessage());
             return false;
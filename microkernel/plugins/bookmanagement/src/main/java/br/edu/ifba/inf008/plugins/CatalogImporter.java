@@ -0,0 +1,566 @@
+package br.edu.ifba.inf008.plugins;
+
+import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.util.CountingInputStream;
+import br.edu.ifba.inf008.interfaces.util.CsvReader;
+import br.edu.ifba.inf008.interfaces.util.ImportProgress;
+import br.edu.ifba.inf008.interfaces.util.ImportReport;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * CatalogImporter - Bulk import of books from CSV or MARC text files
+ *
+ * Reads the file as a stream of records, a chunk at a time, so the whole
+ * file is never in memory. Each chunk goes through three steps:
+ *
+ * 1. Validation, in parallel, with the Book constructor's rules plus an
+ *    ISBN check digit and the column length of the books table.
+ * 2. ISBN deduplication, both within the file and against the catalog.
+ *    The catalog's ISBNs are read once at the start, so the check costs
+ *    no query per chunk. ISBNs are compared without hyphens or spaces.
+ * 3. Insertion with multi-row INSERT statements, in one transaction per
+ *    chunk. A failure rolls back only that chunk.
+ *
+ * Two formats are read:
+ * - CSV with a header row naming the columns title, author, isbn,
+ *   published_year (or year) and copies_available (or copies). Quoted
+ *   fields may contain commas, quotes and line breaks.
+ * - MARC mnemonic text (.mrk, as written by MarcEdit). Records are
+ *   separated by blank lines. The importer reads the ISBN from 020$a, the
+ *   author from 100/110/111$a, the title from 245$a and $b, and the year
+ *   from 264$c, 260$c or the 008 field. Every record counts as one copy.
+ *
+ * Cancelling stops after the chunk being written; chunks already committed
+ * stay in the catalog and are counted in the report.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class CatalogImporter {
+
+    private static final int CHUNK_SIZE = 1_000;       // Records validated and committed together
+    private static final int ROWS_PER_INSERT = 250;    // Rows per multi-row INSERT statement
+    private static final int TITLE_MAX_LENGTH = 200;   // books.title is VARCHAR(200)
+    private static final int AUTHOR_MAX_LENGTH = 100;  // books.author is VARCHAR(100)
+    private static final int ISBN_MAX_LENGTH = 20;     // books.isbn is VARCHAR(20)
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO books (title, author, isbn, published_year, copies_available) VALUES ";
+
+    /**
+     * Outcome of an import: counts plus the first problems found.
+     */
+    public static class Report extends ImportReport {
+        private long imported;
+        private long duplicatesInCatalog;
+
+        public long getImported() { return imported; }
+        public long getDuplicatesInCatalog() { return duplicatesInCatalog; }
+
+        @Override
+        public String summary() {
+            return String.format("%,d records read: %,d imported, %,d rejected, "
+                               + "%,d already in the catalog, %,d repeated in the file%s",
+                                 getRead(), imported, getRejected(), duplicatesInCatalog, getDuplicatesInFile(),
+                                 isCancelled() ? " (cancelled)" : "");
+        }
+
+        @Override
+        public String getStatus() {
+            return String.format("%,d records read, %,d imported, %,d skipped",
+                                 getRead(), imported, getRead() - imported);
+        }
+
+        private void inCatalog(int line, String isbn) {
+            duplicatesInCatalog++;
+            addIssue(line, "ISBN " + isbn + " is already in the catalog");
+        }
+    }
+
+    /**
+     * One record as read from the file, before validation.
+     */
+    private static class RawRecord {
+        int line;
+        String title;
+        String author;
+        String isbn;
+        String year;
+        String copies;
+    }
+
+    /**
+     * A record after validation: the book, or why it was rejected.
+     */
+    private static class Checked {
+        final RawRecord raw;
+        final Book book;
+        final String isbnKey;
+        final String error;
+
+        Checked(RawRecord raw, Book book, String isbnKey, String error) {
+            this.raw = raw;
+            this.book = book;
+            this.isbnKey = isbnKey;
+            this.error = error;
+        }
+    }
+
+    private interface RecordSource extends Closeable {
+        /**
+         * @return the next record, or null at the end of the file
+         */
+        RawRecord next() throws IOException;
+    }
+
+    /**
+     * Imports every record of a file into the books table.
+     * Must run off the JavaFX thread.
+     *
+     * @param file CSV file, or MARC mnemonic file if its name ends in .mrk
+     * @param progress receives progress and is checked for cancellation
+     * @return counts and problems found
+     * @throws IOException if the file cannot be read or is not in a known layout
+     * @throws SQLException if the database cannot be read or written
+     */
+    public Report importFile(Path file, ImportProgress progress) throws IOException, SQLException {
+        long totalBytes = Files.size(file);
+        Report report = new Report();
+
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file));
+             RecordSource source = openSource(file, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+             Connection conn = ICore.getInstance().getIOController().getDatabaseConnection()) {
+
+            Set<String> knownIsbns = loadCatalogIsbns(conn);
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                List<RawRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+                RawRecord record;
+                while ((record = source.next()) != null) {
+                    chunk.add(record);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        importChunk(conn, chunk, knownIsbns, report);
+                        chunk.clear();
+                        progress.update(in.getCount(), totalBytes, report);
+                        if (progress.isCancelled()) {
+                            report.markCancelled();
+                            return report;
+                        }
+                    }
+                }
+                importChunk(conn, chunk, knownIsbns, report);
+                progress.update(totalBytes, totalBytes, report);
+                return report;
+
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private RecordSource openSource(Path file, BufferedReader reader) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".mrk") ? new MarcSource(reader) : new CsvSource(new CsvReader(reader));
+    }
+
+    /**
+     * @return normalized ISBNs of every book in the catalog
+     */
+    private Set<String> loadCatalogIsbns(Connection conn) throws SQLException {
+        Set<String> isbns = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT isbn FROM books",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(CHUNK_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    isbns.add(isbnKey(rs.getString("isbn")));
+                }
+            }
+        }
+        return isbns;
+    }
+
+    /**
+     * Validates, deduplicates and inserts one chunk in one transaction.
+     */
+    private void importChunk(Connection conn, List<RawRecord> chunk, Set<String> knownIsbns, Report report)
+            throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        report.addRead(chunk.size());
+
+        // Validation is pure computation, so the chunk is split across cores
+        List<Checked> checked = chunk.parallelStream().map(CatalogImporter::validate).collect(Collectors.toList());
+
+        Map<String, Checked> fresh = new HashMap<>();
+        List<Checked> toInsert = new ArrayList<>();
+        for (Checked record : checked) {
+            if (record.error != null) {
+                report.reject(record.raw.line, record.error);
+            } else if (knownIsbns.contains(record.isbnKey)) {
+                report.inCatalog(record.raw.line, record.book.getIsbn());
+            } else if (fresh.putIfAbsent(record.isbnKey, record) != null) {
+                report.repeatedInFile(record.raw.line, "ISBN " + record.book.getIsbn() + " appears earlier in the file");
+            } else {
+                toInsert.add(record);
+            }
+        }
+
+        try {
+            insert(conn, toInsert);
+            conn.commit();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Someone added one of these ISBNs since the import started
+            conn.rollback();
+            try {
+                List<Checked> remaining = dropCatalogDuplicates(conn, toInsert, report);
+                insert(conn, remaining);
+                conn.commit();
+                toInsert = remaining;
+            } catch (SQLException retryError) {
+                conn.rollback();
+                throw retryError;
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+
+        report.imported += toInsert.size();
+        for (Checked record : toInsert) {
+            knownIsbns.add(record.isbnKey);
+        }
+    }
+
+    private void insert(Connection conn, List<Checked> records) throws SQLException {
+        int done = 0;
+        while (done < records.size()) {
+            int rows = Math.min(ROWS_PER_INSERT, records.size() - done);
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * 18).append(INSERT_PREFIX);
+            for (int i = 0; i < rows; i++) {
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (int i = 0; i < rows; i++) {
+                    Book book = records.get(done + i).book;
+                    stmt.setString(index++, book.getTitle());
+                    stmt.setString(index++, book.getAuthor());
+                    stmt.setString(index++, book.getIsbn());
+                    stmt.setInt(index++, book.getPublishedYear());
+                    stmt.setInt(index++, book.getCopiesAvailable());
+                }
+                stmt.executeUpdate();
+            }
+            done += rows;
+        }
+    }
+
+    /**
+     * Re-reads which of the chunk's ISBNs are now in the catalog and
+     * drops those records.
+     */
+    private List<Checked> dropCatalogDuplicates(Connection conn, List<Checked> records, Report report)
+            throws SQLException {
+        Set<String> existing = new HashSet<>();
+        String placeholders = records.stream().map(r -> "?").collect(Collectors.joining(", "));
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT isbn FROM books WHERE isbn IN (" + placeholders + ")")) {
+            for (int i = 0; i < records.size(); i++) {
+                stmt.setString(i + 1, records.get(i).book.getIsbn());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(isbnKey(rs.getString("isbn")));
+                }
+            }
+        }
+
+        List<Checked> remaining = new ArrayList<>();
+        for (Checked record : records) {
+            if (existing.contains(record.isbnKey)) {
+                report.inCatalog(record.raw.line, record.book.getIsbn());
+            } else {
+                remaining.add(record);
+            }
+        }
+        return remaining;
+    }
+
+    // VALIDATION
+
+    private static Checked validate(RawRecord raw) {
+        try {
+            String isbn = raw.isbn == null ? "" : raw.isbn.trim();
+            if (isbn.length() > ISBN_MAX_LENGTH) {
+                return new Checked(raw, null, null, "ISBN cannot exceed " + ISBN_MAX_LENGTH + " characters");
+            }
+            String key = isbnKey(isbn);
+            if (!isbn.isEmpty() && !hasValidCheckDigit(key)) {
+                return new Checked(raw, null, null, "ISBN " + isbn + " is not a valid ISBN-10 or ISBN-13");
+            }
+
+            if (raw.year == null || raw.year.isBlank()) {
+                return new Checked(raw, null, null, "Publication year is missing");
+            }
+            int year = parseNumber(raw.year, "Publication year");
+            int copies = raw.copies == null || raw.copies.isBlank() ? 1 : parseNumber(raw.copies, "Copies");
+
+            // The constructor applies the same rules as the entry form,
+            // which allows longer text than the table columns
+            Book book = new Book(raw.title, raw.author, isbn, year, copies);
+            if (book.getTitle().length() > TITLE_MAX_LENGTH) {
+                return new Checked(raw, null, null, "Title cannot exceed " + TITLE_MAX_LENGTH + " characters");
+            }
+            if (book.getAuthor().length() > AUTHOR_MAX_LENGTH) {
+                return new Checked(raw, null, null, "Author cannot exceed " + AUTHOR_MAX_LENGTH + " characters");
+            }
+            return new Checked(raw, book, key, null);
+
+        } catch (IllegalArgumentException e) {
+            return new Checked(raw, null, null, e.getMessage());
+        }
+    }
+
+    private static int parseNumber(String text, String field) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a whole number: " + text.trim());
+        }
+    }
+
+    /**
+     * @return the ISBN without hyphens and spaces, upper case
+     */
+    static String isbnKey(String isbn) {
+        StringBuilder key = new StringBuilder(13);
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && c != ' ') {
+                key.append(Character.toUpperCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Checks the ISBN-10 (weights 10..1, mod 11, X for 10) or ISBN-13
+     * (weights 1 and 3, mod 10) check digit.
+     */
+    private static boolean hasValidCheckDigit(String key) {
+        if (key.length() == 10) {
+            int sum = 0;
+            for (int i = 0; i < 10; i++) {
+                char c = key.charAt(i);
+                int digit = c == 'X' && i == 9 ? 10 : Character.digit(c, 10);
+                if (digit < 0) {
+                    return false;
+                }
+                sum += digit * (10 - i);
+            }
+            return sum % 11 == 0;
+        }
+        if (key.length() == 13) {
+            int sum = 0;
+            for (int i = 0; i < 13; i++) {
+                int digit = Character.digit(key.charAt(i), 10);
+                if (digit < 0) {
+                    return false;
+                }
+                sum += digit * (i % 2 == 0 ? 1 : 3);
+            }
+            return sum % 10 == 0;
+        }
+        return false;
+    }
+
+    // PARSERS
+
+    /**
+     * CSV records, mapped by the header row.
+     */
+    private static class CsvSource implements RecordSource {
+        private final CsvReader csv;
+        private final int titleColumn;
+        private final int authorColumn;
+        private final int isbnColumn;
+        private final int yearColumn;
+        private final int copiesColumn;
+
+        CsvSource(CsvReader csv) throws IOException {
+            this.csv = csv;
+            titleColumn = csv.column("title");
+            authorColumn = csv.column("author");
+            isbnColumn = csv.column("isbn");
+            yearColumn = csv.column("published_year", "year");
+            copiesColumn = csv.column("copies_available", "copies");
+            if (titleColumn < 0 || authorColumn < 0 || isbnColumn < 0) {
+                throw new IOException("The header row must name the title, author and isbn columns");
+            }
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            if (!csv.next()) {
+                return null;
+            }
+            RawRecord record = new RawRecord();
+            record.line = csv.getLine();
+            record.title = csv.get(titleColumn);
+            record.author = csv.get(authorColumn);
+            record.isbn = csv.get(isbnColumn);
+            record.year = csv.get(yearColumn);
+            record.copies = csv.get(copiesColumn);
+            return record;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csv.close();
+        }
+    }
+
+    /**
+     * MARC mnemonic records ("=TAG  indicators$asubfield..." lines),
+     * separated by blank lines.
+     */
+    private static class MarcSource implements RecordSource {
+        private static final Pattern YEAR = Pattern.compile("(1\\d|20)\\d\\d");
+
+        private final BufferedReader reader;
+        private int line;
+
+        MarcSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            RawRecord record = null;
+            String controlYear = null;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    if (record != null) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!text.startsWith("=") || text.length() < 4) {
+                    continue;
+                }
+                if (record == null) {
+                    record = new RawRecord();
+                    record.line = line;
+                }
+
+                String tag = text.substring(1, 4);
+                String data = text.length() > 6 ? text.substring(6) : "";
+                switch (tag) {
+                    case "008":
+                        if (data.length() >= 11) {
+                            controlYear = data.substring(7, 11);
+                        }
+                        break;
+                    case "020":
+                        if (record.isbn == null) {
+                            String isbn = subfield(data, 'a');
+                            // "$a0306406152 (pbk.)": the ISBN is the first word
+                            record.isbn = isbn == null ? null : isbn.trim().split("\\s+")[0];
+                        }
+                        break;
+                    case "100": case "110": case "111":
+                        if (record.author == null) {
+                            record.author = clean(subfield(data, 'a'));
+                        }
+                        break;
+                    case "245": {
+                        String title = clean(subfield(data, 'a'));
+                        String subtitle = clean(subfield(data, 'b'));
+                        record.title = subtitle == null || title == null ? title : title + ": " + subtitle;
+                        break;
+                    }
+                    case "260": case "264":
+                        if (record.year == null) {
+                            record.year = firstYear(subfield(data, 'c'));
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (record != null && record.year == null) {
+                record.year = firstYear(controlYear);
+            }
+            return record;
+        }
+
+        /**
+         * @return the first occurrence of a subfield, or null
+         */
+        private static String subfield(String data, char code) {
+            int start = data.indexOf("$" + code);
+            if (start < 0) {
+                return null;
+            }
+            int end = data.indexOf('$', start + 2);
+            String value = data.substring(start + 2, end < 0 ? data.length() : end);
+            return value.replace("{dollar}", "$");
+        }
+
+        /**
+         * Strips the ISBD punctuation that ends MARC subfields (" /", " :", ",", ".").
+         */
+        private static String clean(String value) {
+            if (value == null) {
+                return null;
+            }
+            String cleaned = value.trim();
+            while (!cleaned.isEmpty() && "/:;,.".indexOf(cleaned.charAt(cleaned.length() - 1)) >= 0) {
+                cleaned = cleaned.substring(0, cleaned.length() - 1).trim();
+            }
+            return cleaned;
+        }
+
+        private static String firstYear(String value) {
+            if (value == null) {
+                return null;
+            }
+            Matcher matcher = YEAR.matcher(value);
+            return matcher.find() ? matcher.group() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package br.edu.ifba.inf008.plugins;
+
+import br.edu.ifba.inf008.interfaces.model.Book;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * CatalogSearchIndex - In-memory inverted index over the book catalog
+ *
+ * Every word of a book's title, author and ISBN is normalized (lower case,
+ * no accents, hyphens inside ISBNs removed) and indexed. A query is split
+ * the same way and every query word must prefix-match some word of the
+ * book, so results narrow as the user types without touching the database.
+ *
+ * Words live in a sorted dictionary, so a prefix lookup is a range scan
+ * over the few words sharing it. One- and two-character prefixes match too
+ * many words for that, so they get their own edge n-gram postings.
+ * Posting lists are sorted primitive int arrays of book IDs, intersected
+ * smallest first. When more than MAX_RESULTS books match, the first
+ * MAX_RESULTS by title are returned, taken from the title-sorted catalog.
+ *
+ * The index is not thread-safe: build it on a worker thread, then only use
+ * it from the JavaFX thread.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class CatalogSearchIndex {
+
+    // Prefixes up to this length are indexed directly as edge n-grams
+    private static final int SHORT_PREFIX_LENGTH = 2;
+
+    // Upper bound on rows returned for very broad queries (e.g. one letter)
+    public static final int MAX_RESULTS = 1000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final String[] NO_WORDS = new String[0];
+
+    private final NavigableMap<String, PostingList> wordPostings = new TreeMap<>();
+    private final Map<String, PostingList> shortPrefixPostings = new HashMap<>();
+    private final Map<Integer, Book> booksById = new HashMap<>();
+    private final Map<Integer, String[]> wordsById = new HashMap<>();
+    private List<Book> sortedBooks;                // Cached catalog order, rebuilt after changes
+
+    /**
+     * Books matching a query, with the number of matches before the cut.
+     */
+    public static class SearchResult {
+        private final List<Book> books;
+        private final int totalMatches;
+
+        SearchResult(List<Book> books, int totalMatches) {
+            this.books = books;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<Book> getBooks() { return books; }
+        public int getTotalMatches() { return totalMatches; }
+
+        /**
+         * @return true if more books matched than were returned
+         */
+        public boolean isTruncated() { return totalMatches > books.size(); }
+    }
+
+    /**
+     * Builds an index over the given books.
+     *
+     * @param books catalog to index
+     * @return populated index
+     */
+    public static CatalogSearchIndex build(List<Book> books) {
+        CatalogSearchIndex index = new CatalogSearchIndex();
+        for (Book book : books) {
+            index.add(book);
+        }
+        index.allBooks(); // Sort once here, off the JavaFX thread
+        return index;
+    }
+
+    /**
+     * Adds a book, replacing any previous entry with the same ID.
+     *
+     * @param book book to index
+     */
+    public void add(Book book) {
+        int bookId = book.getBookId();
+        remove(bookId);
+
+        String[] words = wordsOf(book);
+        booksById.put(bookId, book);
+        wordsById.put(bookId, words);
+        for (String word : words) {
+            wordPostings.computeIfAbsent(word, key -> new PostingList()).add(bookId);
+        }
+        for (String prefix : shortPrefixes(words)) {
+            shortPrefixPostings.computeIfAbsent(prefix, key -> new PostingList()).add(bookId);
+        }
+        sortedBooks = null;
+    }
+
+    /**
+     * Removes a book from the index.
+     *
+     * @param bookId ID of the book to remove
+     * @return true if the book was indexed
+     */
+    public boolean remove(int bookId) {
+        String[] words = wordsById.remove(bookId);
+        if (words == null) {
+            return false;
+        }
+        booksById.remove(bookId);
+        for (String word : words) {
+            removePosting(wordPostings, word, bookId);
+        }
+        for (String prefix : shortPrefixes(words)) {
+            removePosting(shortPrefixPostings, prefix, bookId);
+        }
+        sortedBooks = null;
+        return true;
+    }
+
+    /**
+     * Finds books whose title, author or ISBN words start with every word
+     * of the query. A blank query returns the whole catalog.
+     *
+     * @param query text typed by the user
+     * @return the first MAX_RESULTS matching books by title (all of them if
+     *         the query is blank), with the total number of matches
+     */
+    public SearchResult search(String query) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            List<Book> all = allBooks();
+            return new SearchResult(all, all.size());
+        }
+
+        // Look up every term, failing fast if one has no match at all
+        PostingList[] lists = new PostingList[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            lists[i] = postingsForPrefix(terms[i]);
+            if (lists[i].size == 0) {
+                return new SearchResult(new ArrayList<>(), 0);
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        PostingList matches = new PostingList();
+        PostingList smallest = lists[0];
+        for (int i = 0; i < smallest.size; i++) {
+            int bookId = smallest.ids[i];
+            if (containsInAll(lists, bookId)) {
+                matches.add(bookId);
+            }
+        }
+
+        if (matches.size <= MAX_RESULTS) {
+            List<Book> results = new ArrayList<>(matches.size);
+            for (int i = 0; i < matches.size; i++) {
+                results.add(booksById.get(matches.ids[i]));
+            }
+            return new SearchResult(sortByTitle(results), matches.size);
+        }
+
+        // A broad query: walk the catalog in title order and keep the first
+        // matches, rather than sorting every match
+        List<Book> results = new ArrayList<>(MAX_RESULTS);
+        for (Book book : allBooks()) {
+            if (matches.contains(book.getBookId())) {
+                results.add(book);
+                if (results.size() == MAX_RESULTS) {
+                    break;
+                }
+            }
+        }
+        return new SearchResult(results, matches.size);
+    }
+
+    /**
+     * Returns the whole catalog ordered by title.
+     *
+     * @return all indexed books
+     */
+    public List<Book> allBooks() {
+        if (sortedBooks == null) {
+            sortedBooks = sortByTitle(booksById.values());
+        }
+        return sortedBooks;
+    }
+
+    /**
+     * @return number of indexed books
+     */
+    public int size() {
+        return booksById.size();
+    }
+
+    /**
+     * Collects the books having a word that starts with the given term.
+     */
+    private PostingList postingsForPrefix(String term) {
+        if (term.length() <= SHORT_PREFIX_LENGTH) {
+            PostingList list = shortPrefixPostings.get(term);
+            return list != null ? list : new PostingList();
+        }
+
+        Collection<PostingList> matches = wordPostings.subMap(term, true, term + Character.MAX_VALUE, false).values();
+        if (matches.size() == 1) {
+            return matches.iterator().next();
+        }
+        PostingList union = new PostingList();
+        for (PostingList match : matches) {
+            union.addAll(match);
+        }
+        union.sortAndDeduplicate();
+        return union;
+    }
+
+    private static void removePosting(Map<String, PostingList> postings, String key, int bookId) {
+        PostingList list = postings.get(key);
+        if (list != null && list.remove(bookId) && list.size == 0) {
+            postings.remove(key);
+        }
+    }
+
+    /**
+     * Sorts by lower-cased title computed once per book, which is much
+     * cheaper than a case-insensitive comparator on large catalogs.
+     */
+    private static List<Book> sortByTitle(Collection<Book> books) {
+        TitleKey[] keys = new TitleKey[books.size()];
+        int i = 0;
+        for (Book book : books) {
+            keys[i++] = new TitleKey(book.getTitle().toLowerCase(), book);
+        }
+        Arrays.sort(keys);
+        List<Book> sorted = new ArrayList<>(keys.length);
+        for (TitleKey key : keys) {
+            sorted.add(key.book);
+        }
+        return sorted;
+    }
+
+    private boolean containsInAll(PostingList[] lists, int bookId) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(bookId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] wordsOf(Book book) {
+        Set<String> words = new LinkedHashSet<>();
+        words.addAll(Arrays.asList(tokenize(book.getTitle())));
+        words.addAll(Arrays.asList(tokenize(book.getAuthor())));
+        words.addAll(Arrays.asList(tokenize(book.getIsbn())));
+        return words.toArray(new String[0]);
+    }
+
+    private static Set<String> shortPrefixes(String[] words) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String word : words) {
+            int longest = Math.min(word.length(), SHORT_PREFIX_LENGTH);
+            for (int length = 1; length <= longest; length++) {
+                prefixes.add(word.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Splits text into normalized words: lower case, accents removed and
+     * hyphens between digits dropped so "978-0-7432" matches "97807432".
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return NO_WORDS;
+        }
+        // Only non-ASCII text pays for Unicode decomposition
+        String source = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) {
+                source = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+
+        List<String> words = new ArrayList<>(4);
+        StringBuilder word = new StringBuilder();
+        int length = source.length();
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (c == '-' && i > 0 && i + 1 < length
+                       && Character.isDigit(source.charAt(i - 1)) && Character.isDigit(source.charAt(i + 1))) {
+                continue;
+            } else {
+                addWord(words, word);
+            }
+        }
+        addWord(words, word);
+        return words.isEmpty() ? NO_WORDS : words.toArray(NO_WORDS);
+    }
+
+    private static void addWord(List<String> words, StringBuilder word) {
+        if (word.length() > 0) {
+            String finished = word.toString();
+            if (!words.contains(finished)) {
+                words.add(finished);
+            }
+            word.setLength(0);
+        }
+    }
+
+    /**
+     * Sort key pairing a book with its lower-cased title.
+     */
+    private static final class TitleKey implements Comparable<TitleKey> {
+        private final String title;
+        private final Book book;
+
+        TitleKey(String title, Book book) {
+            this.title = title;
+            this.book = book;
+        }
+
+        @Override
+        public int compareTo(TitleKey other) {
+            int byTitle = title.compareTo(other.title);
+            return byTitle != 0 ? byTitle : Integer.compare(book.getBookId(), other.book.getBookId());
+        }
+    }
+
+    /**
+     * Sorted set of book IDs backed by a growable int array.
+     */
+    private static final class PostingList {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            // Catalog loads arrive in ascending ID order: append without searching
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity(size + 1);
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        /**
+         * Appends another list unsorted; call sortAndDeduplicate() afterwards.
+         */
+        void addAll(PostingList other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+        }
+
+        void sortAndDeduplicate() {
+            Arrays.sort(ids, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || ids[unique - 1] != ids[i]) {
+                    ids[unique++] = ids[i];
+                }
+            }
+            size = unique;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(capacity, ids.length * 2));
+            }
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package br.edu.ifba.inf008.plugins;
 
 import br.edu.ifba.inf008.interfaces.IPlugin;
+import br.edu.ifba.inf008.interfaces.ICacheController;
 import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IIOController;
+import br.edu.ifba.inf008.interfaces.IMetricsController;
 import br.edu.ifba.inf008.interfaces.IUIController;
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
 import br.edu.ifba.inf008.interfaces.model.Loan;
 import br.edu.ifba.inf008.interfaces.model.User;
 import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.util.ListReconciler;
 
 import javafx.scene.control.MenuItem;
 import javafx.event.EventHandler;
@@ -19,10 +25,17 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
-import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 /**
  * LoanManagement Plugin - Library Loan and Return System
@@ -47,6 +60,17 @@ import java.util.List;
  */
 public class LoanManagement implements IPlugin {
     
+    // Loan table paging: rows per query and how close to the end of the
+    // loaded rows the table may scroll before the next page is requested
+    private static final int LOAN_PAGE_SIZE = 50;
+    private static final int LOAN_PREFETCH_MARGIN = 20;
+    
+    // Dropdown order, the same as the kernel caches
+    private static final Comparator<User> USER_ORDER =
+        Comparator.comparing(User::getName, String.CASE_INSENSITIVE_ORDER).thenComparingInt(User::getUserId);
+    private static final Comparator<Book> BOOK_ORDER =
+        Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Book::getBookId);
+    
     // UI components for loan management
     private TableView<Loan> loanTable;           // Table to display loans
     private ObservableList<Loan> loanList;       // List of loans for table binding
@@ -54,6 +78,19 @@ public class LoanManagement implements IPlugin {
     private ComboBox<Book> bookComboBox;          // Dropdown for selecting books
     private CheckBox activeOnlyCheckBox;          // Filter for active loans only
     
+    // Loan table paging state (only touched on the JavaFX thread)
+    private int loanPageGeneration;               // Bumped whenever the listing restarts
+    private boolean loanPageLoading;              // A page query is in flight
+    private boolean moreLoanPages;                // Last page came back full
+    
+    // User, book and loan changes made by any plugin
+    private final List<IEventBus.Subscription> subscriptions = new ArrayList<>();
+    
+    // Desk activity, exported by the kernel metrics registry per terminal
+    private IMetricsController.Counter checkoutCounter;
+    private IMetricsController.Counter returnCounter;
+    private IMetricsController.Timer loanPageTimer;
+    
     /**
      * Initializes the plugin and sets up the menu integration.
      * 
@@ -76,6 +113,18 @@ public class LoanManagement implements IPlugin {
                 }
             });
             
+            // Keep the dropdowns and the loan table in step with changes made from any tab
+            IEventBus eventBus = ICore.getInstance().getEventBus();
+            subscriptions.add(eventBus.subscribe(User.class, this::applyUserChange));
+            subscriptions.add(eventBus.subscribe(Book.class, this::applyBookChange));
+            subscriptions.add(eventBus.subscribe(Loan.class, this::applyLoanChange));
+            
+            IMetricsController metrics = ICore.getInstance().getMetricsController();
+            checkoutCounter = metrics.counter("library_loans_checkouts_total", "Books checked out");
+            returnCounter = metrics.counter("library_loans_returns_total", "Loans returned");
+            loanPageTimer = metrics.timer("library_loans_page_load_seconds",
+                                          "Time from requesting a page of loans to showing it in the table");
+            
             System.out.println("LoanManagement plugin loaded successfully!");
             return true;
             
@@ -86,6 +135,17 @@ public class LoanManagement implements IPlugin {
         }
     }
     
+    /**
+     * Stops listening for entity changes.
+     */
+    @Override
+    public void shutdown() {
+        for (IEventBus.Subscription subscription : subscriptions) {
+            subscription.cancel();
+        }
+        subscriptions.clear();
+    }
+    
     /**
      * Creates and displays the loan management interface.
      */
@@ -159,7 +219,7 @@ public class LoanManagement implements IPlugin {
         
         Button refreshButton = new Button("Refresh Data");
         refreshButton.setStyle("-fx-background-color: #007bff; -fx-text-fill: white;");
-        refreshButton.setOnAction(e -> loadDataFromDatabase());
+        refreshButton.setOnAction(e -> reloadDataFromDatabase());
         
         // Organize form elements
         formGrid.add(new Label("User:"), 0, 0);
@@ -261,6 +321,19 @@ public class LoanManagement implements IPlugin {
         // Initialize data list
         loanList = FXCollections.observableArrayList();
         table.setItems(loanList);
+        table.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        
+        // Rows are only created for the visible window, so a row being bound
+        // near the end of the loaded data means the next page is needed
+        table.setRowFactory(tableView -> new TableRow<Loan>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index >= loanList.size() - LOAN_PREFETCH_MARGIN) {
+                    loadNextLoanPage();
+                }
+            }
+        });
         
         return table;
     }
@@ -284,301 +357,318 @@ public class LoanManagement implements IPlugin {
             return;
         }
         
-        try {
-            // Create loan in database
-            if (createLoanInDatabase(selectedUser.getUserId(), selectedBook.getBookId())) {
-                // Update book availability
-                selectedBook.borrowCopy();
-                updateBookAvailability(selectedBook);
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> {
+                List<Integer> loanIds = ICore.getInstance().getRepositoryController().getLoanRepository()
+                    .checkout(selectedUser.getUserId(), List.of(selectedBook.getBookId()));
+                checkoutCounter.add(loanIds.size());
+                ICacheController caches = ICore.getInstance().getCacheController();
+                IEventBus eventBus = ICore.getInstance().getEventBus();
                 
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Loan created successfully!");
-                loadDataFromDatabase();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create loan!");
-            }
-            
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Unexpected error: " + e.getMessage());
-            e.printStackTrace();
-        }
+                // Published even when the loan failed: the dropdown was
+                // offering a book whose last copy had already gone
+                Book book = caches.getBookCache().refresh(selectedBook.getBookId());
+                if (book != null) {
+                    eventBus.publish(EntityChangeEvent.updated(Book.class, book.getBookId(), book));
+                }
+                for (int loanId : loanIds) {
+                    Loan loan = caches.getLoanCache().get(loanId);
+                    if (loan != null) {
+                        eventBus.publish(EntityChangeEvent.created(Loan.class, loanId, loan));
+                    }
+                }
+                return !loanIds.isEmpty();
+            })
+            .thenAccept(created -> {
+                if (created) {
+                    showAlert(Alert.AlertType.INFORMATION, "Success", "Loan created successfully!");
+                } else {
+                    showAlert(Alert.AlertType.WARNING, "Book Unavailable", "This book has no available copies!");
+                }
+            })
+            .exceptionally(e -> {
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create loan: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
     }
     
     /**
-     * Handles returning a book.
+     * Handles returning the selected loans.
+     * Several rows can be selected to process a stack of returns at once.
      */
     private void handleReturnBook() {
-        Loan selectedLoan = loanTable.getSelectionModel().getSelectedItem();
+        List<Loan> selectedLoans = new ArrayList<>(loanTable.getSelectionModel().getSelectedItems());
         
-        if (selectedLoan == null) {
+        if (selectedLoans.isEmpty()) {
             showAlert(Alert.AlertType.WARNING, "Selection", "Please select a loan to return!");
             return;
         }
         
-        if (!selectedLoan.isActive()) {
-            showAlert(Alert.AlertType.WARNING, "Already Returned", "This book has already been returned!");
-            return;
+        List<Integer> loanIds = new ArrayList<>();
+        Map<Integer, Integer> bookIdByLoan = new HashMap<>();
+        for (Loan loan : selectedLoans) {
+            if (loan.isActive()) {
+                loanIds.add(loan.getLoanId());
+                bookIdByLoan.put(loan.getLoanId(), loan.getBookId());
+            }
         }
         
-        try {
-            if (returnBookInDatabase(selectedLoan.getLoanId())) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Book returned successfully!");
-                loadDataFromDatabase();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to return book!");
-            }
-            
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Unexpected error: " + e.getMessage());
-            e.printStackTrace();
+        if (loanIds.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Already Returned", "The selected books have already been returned!");
+            return;
         }
+        
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> {
+                List<Integer> returnedIds = ICore.getInstance().getRepositoryController().getLoanRepository().returnLoans(loanIds);
+                returnCounter.add(returnedIds.size());
+                ICacheController caches = ICore.getInstance().getCacheController();
+                IEventBus eventBus = ICore.getInstance().getEventBus();
+                
+                // Loans another desk had already returned did not change
+                Set<Integer> bookIds = new LinkedHashSet<>();
+                for (int loanId : returnedIds) {
+                    bookIds.add(bookIdByLoan.get(loanId));
+                    Loan loan = caches.getLoanCache().refresh(loanId);
+                    if (loan != null) {
+                        eventBus.publish(EntityChangeEvent.updated(Loan.class, loanId, loan));
+                    }
+                }
+                for (int bookId : bookIds) {
+                    Book book = caches.getBookCache().refresh(bookId);
+                    if (book != null) {
+                        eventBus.publish(EntityChangeEvent.updated(Book.class, bookId, book));
+                    }
+                }
+                return returnedIds.size();
+            })
+            .thenAccept(returned -> {
+                if (returned == loanIds.size()) {
+                    showAlert(Alert.AlertType.INFORMATION, "Success",
+                             returned == 1 ? "Book returned successfully!" : returned + " books returned successfully!");
+                } else {
+                    showAlert(Alert.AlertType.WARNING, "Return",
+                             returned + " of " + loanIds.size() + " books returned; the others were already returned.");
+                }
+            })
+            .exceptionally(e -> {
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to return books: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
     }
     
     /**
-     * Filters loans based on active status.
+     * Applies a user change to the user dropdown; loans of a deleted user
+     * were deleted with them and leave the table too.
+     * 
+     * @param event change published on the kernel event bus
      */
-    private void filterLoans() {
-        List<Loan> allLoans = getLoansFromDatabase();
-        
-        if (activeOnlyCheckBox.isSelected()) {
-            // Show only active loans
-            loanList.clear();
-            loanList.addAll(allLoans.stream().filter(Loan::isActive).toList());
-        } else {
-            // Show all loans
-            loanList.clear();
-            loanList.addAll(allLoans);
+    private void applyUserChange(EntityChangeEvent<User> event) {
+        if (userComboBox == null) {
+            return; // Tab not opened yet
+        }
+        replaceById(userComboBox.getItems(), event.getId(), event.getEntity(), User::getUserId, USER_ORDER);
+        if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETED) {
+            loanList.removeIf(loan -> loan.getUserId() == event.getId());
         }
     }
     
     /**
-     * Loads all data from database and updates the interface.
+     * Applies a book change to the available-book dropdown; a book with no
+     * copies left is taken out of it. Loans of a deleted book leave the
+     * table too.
+     * 
+     * @param event change published on the kernel event bus
      */
-    private void loadDataFromDatabase() {
-        try {
-            // Load users for dropdown
-            List<User> users = getUsersFromDatabase();
-            userComboBox.getItems().clear();
-            userComboBox.getItems().addAll(users);
-            
-            // Load available books for dropdown
-            List<Book> books = getAvailableBooksFromDatabase();
-            bookComboBox.getItems().clear();
-            bookComboBox.getItems().addAll(books);
-            
-            // Load and filter loans for table
-            filterLoans();
-            
-            System.out.println("Loan data loaded. Users: " + users.size() + ", Books: " + books.size());
-            
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load data: " + e.getMessage());
-            e.printStackTrace();
+    private void applyBookChange(EntityChangeEvent<Book> event) {
+        if (bookComboBox == null) {
+            return; // Tab not opened yet
+        }
+        Book book = event.getEntity();
+        replaceById(bookComboBox.getItems(), event.getId(),
+                    book != null && book.isAvailable() ? book : null, Book::getBookId, BOOK_ORDER);
+        if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETED) {
+            loanList.removeIf(loan -> loan.getBookId() == event.getId());
         }
     }
     
-    // DATABASE OPERATIONS
-    
     /**
-     * Creates a new loan in the database.
+     * Applies a loan change to the loaded rows of the loan table. New loans
+     * are the newest ones, so they go on top; a returned loan leaves the
+     * table when only active loans are shown.
      * 
-     * @param userId ID of the user
-     * @param bookId ID of the book
-     * @return true if successful, false otherwise
+     * @param event change published on the kernel event bus
      */
-    private boolean createLoanInDatabase(int userId, int bookId) {
-        String sql = "INSERT INTO loans (user_id, book_id, loan_date) VALUES (?, ?, ?)";
-
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            stmt.setInt(2, bookId);
-            stmt.setDate(3, Date.valueOf(LocalDate.now()));
-
-            return stmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating loan: " + e.getMessage());
-            return false;
+    private void applyLoanChange(EntityChangeEvent<Loan> event) {
+        if (loanList == null) {
+            return; // Tab not opened yet
+        }
+        Loan loan = event.getEntity();
+        boolean shown = loan != null && (loan.isActive() || !activeOnlyCheckBox.isSelected());
+        for (int i = 0; i < loanList.size(); i++) {
+            if (loanList.get(i).getLoanId() == event.getId()) {
+                if (shown) {
+                    loanList.set(i, loan);
+                } else {
+                    loanList.remove(i);
+                }
+                return;
+            }
+        }
+        if (shown && event.getChangeType() == EntityChangeEvent.ChangeType.CREATED) {
+            loanList.add(0, loan);
         }
     }
     
     /**
-     * Processes a book return in the database.
+     * Replaces, inserts or removes the entry with the given ID in a list
+     * kept in display order.
      * 
-     * @param loanId ID of the loan to return
-     * @return true if successful, false otherwise
+     * @param items list to update
+     * @param id ID of the changed entity
+     * @param entity new state, or null to remove the entry
+     * @param idOf extracts the ID of an entry
+     * @param order display order of the list
      */
-    private boolean returnBookInDatabase(int loanId) {
-        String sql = "UPDATE loans SET return_date = ? WHERE loan_id = ? AND return_date IS NULL";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setDate(1, Date.valueOf(LocalDate.now()));
-            stmt.setInt(2, loanId);
-            
-            boolean success = stmt.executeUpdate() > 0;
-            
-            if (success) {
-                updateBookAvailabilityOnReturn(loanId);
+    private static <T> void replaceById(List<T> items, int id, T entity, ToIntFunction<T> idOf, Comparator<T> order) {
+        for (int i = 0; i < items.size(); i++) {
+            if (idOf.applyAsInt(items.get(i)) == id) {
+                items.remove(i);
+                break;
             }
-            
-            return success;
-            
-        } catch (SQLException e) {
-            System.err.println("Error returning book: " + e.getMessage());
-            return false;
+        }
+        if (entity != null) {
+            int index = 0;
+            while (index < items.size() && order.compare(items.get(index), entity) < 0) {
+                index++;
+            }
+            items.add(index, entity);
         }
     }
     
     /**
-     * Updates book availability after a loan.
-     * 
-     * @param book Book to update
+     * Filters loans based on active status.
+     * Restarts the listing from the newest loan; further pages are loaded
+     * as the table scrolls. The rows on screen stay until the first page
+     * arrives and are then reconciled with it.
      */
-    private void updateBookAvailability(Book book) {
-        String sql = "UPDATE books SET copies_available = ? WHERE book_id = ?";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, book.getCopiesAvailable());
-            stmt.setInt(2, book.getBookId());
-            stmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            System.err.println("Error updating book availability: " + e.getMessage());
-        }
+    private void filterLoans() {
+        loanPageGeneration++;
+        loanPageLoading = false;
+        moreLoanPages = true;
+        loadLoanPage(true);
     }
     
     /**
-     * Updates book availability when a book is returned.
-     * 
-     * @param loanId ID of the returned loan
+     * Loads the page of loans following the last loaded row, if any.
      */
-    private void updateBookAvailabilityOnReturn(int loanId) {
-        String sql = """
-            UPDATE books 
-            SET copies_available = copies_available + 1 
-            WHERE book_id = (SELECT book_id FROM loans WHERE loan_id = ?)
-            """;
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, loanId);
-            stmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            System.err.println("Error updating book availability on return: " + e.getMessage());
-        }
+    private void loadNextLoanPage() {
+        loadLoanPage(false);
     }
     
     /**
-     * Retrieves all loans from the database.
+     * Loads one page of loans.
      * 
-     * @return List of loans
+     * @param restart load the first page and reconcile the table with it,
+     *        instead of appending the page after the last loaded row
      */
-    private List<Loan> getLoansFromDatabase() {
-        List<Loan> loans = new ArrayList<>();
-        String sql = """
-            SELECT l.loan_id, l.user_id, l.book_id, l.loan_date, l.return_date,
-                   u.name as user_name, b.title as book_title
-            FROM loans l
-            JOIN users u ON l.user_id = u.user_id
-            JOIN books b ON l.book_id = b.book_id
-            ORDER BY l.loan_date DESC
-            """;
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Date returnDateSql = rs.getDate("return_date");
-                LocalDate returnDate = returnDateSql != null ? returnDateSql.toLocalDate() : null;
-                
-                Loan loan = new Loan(
-                    rs.getInt("loan_id"),
-                    rs.getInt("user_id"),
-                    rs.getInt("book_id"),
-                    rs.getDate("loan_date").toLocalDate(),
-                    returnDate,
-                    rs.getString("user_name"),
-                    rs.getString("book_title"),
-                    "", // userEmail
-                    ""  // bookAuthor
-                );
-                loans.add(loan);
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading loans: " + e.getMessage());
+    private void loadLoanPage(boolean restart) {
+        if (loanPageLoading || !moreLoanPages) {
+            return;
         }
-        
-        return loans;
+        loanPageLoading = true;
+        
+        int generation = loanPageGeneration;
+        boolean activeOnly = activeOnlyCheckBox.isSelected();
+        Loan lastLoaded = restart || loanList.isEmpty() ? null : loanList.get(loanList.size() - 1);
+        long requestedAt = System.nanoTime();
+        
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> ICore.getInstance().getRepositoryController().getLoanRepository()
+                .findPage(activeOnly, lastLoaded, LOAN_PAGE_SIZE))
+            .thenAccept(page -> {
+                if (generation != loanPageGeneration) {
+                    return; // Filter changed while the page was loading
+                }
+                loanPageLoading = false;
+                moreLoanPages = page.size() == LOAN_PAGE_SIZE;
+                if (restart) {
+                    ListReconciler.reconcile(loanList, page, Loan::getLoanId);
+                } else {
+                    loanList.addAll(page);
+                }
+                loanPageTimer.record(System.nanoTime() - requestedAt, TimeUnit.NANOSECONDS);
+            })
+            .exceptionally(e -> {
+                if (generation == loanPageGeneration) {
+                    loanPageLoading = false;
+                }
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load loans: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
     }
     
     /**
-     * Retrieves all users from the database.
-     * 
-     * @return List of users
+     * Refresh button: drops the cached users and books first, so changes
+     * made from another terminal show up in the dropdowns. Loan pages are
+     * always read from the database.
      */
-    private List<User> getUsersFromDatabase() {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT user_id, name, email FROM users ORDER BY name";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                User user = new User(
-                    rs.getString("name"),
-                    rs.getString("email")
-                );
-                user.setUserId(rs.getInt("user_id"));
-                users.add(user);
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading users: " + e.getMessage());
-        }
+    private void reloadDataFromDatabase() {
+        ICacheController caches = ICore.getInstance().getCacheController();
+        caches.getUserCache().invalidateAll();
+        caches.getBookCache().invalidateAll();
+        loadDataFromDatabase();
+    }
+    
+    /**
+     * Loads all data from database and updates the interface.
+     * Users and books come from the kernel caches, which only query the
+     * database when they do not hold the whole table. Both are read in
+     * parallel on kernel worker threads; the dropdowns are filled back on
+     * the JavaFX thread.
+     */
+    private void loadDataFromDatabase() {
+        IIOController ioController = ICore.getInstance().getIOController();
+        ICacheController caches = ICore.getInstance().getCacheController();
+        CompletableFuture<List<User>> usersFuture = ioController.executeAsync(() -> caches.getUserCache().getAll());
+        CompletableFuture<List<Book>> booksFuture = ioController.executeAsync(() -> availableBooks(caches.getBookCache().getAll()));
+        
+        usersFuture.thenAcceptBoth(booksFuture, (users, books) -> {
+                // Load users for dropdown
+                ListReconciler.reconcile(userComboBox.getItems(), users, User::getUserId);
+                
+                // Load available books for dropdown
+                ListReconciler.reconcile(bookComboBox.getItems(), books, Book::getBookId);
+                
+                System.out.println("Loan data loaded. Users: " + users.size() + ", Books: " + books.size());
+            })
+            .exceptionally(e -> {
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load data: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
         
-        return users;
+        // Load and filter loans for table
+        filterLoans();
     }
     
     /**
-     * Retrieves available books from the database.
+     * Filters the catalog down to books with copies on the shelf.
      * 
+     * @param books whole catalog, in display order
      * @return List of available books
      */
-    private List<Book> getAvailableBooksFromDatabase() {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT book_id, title, author, isbn, published_year, copies_available FROM books WHERE copies_available > 0 ORDER BY title";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Book book = new Book(
-                    rs.getString("title"),
-                    rs.getString("author"),
-                    rs.getString("isbn"),
-                    rs.getInt("published_year"),
-                    rs.getInt("copies_available")
-                );
-                book.setBookId(rs.getInt("book_id"));
-                books.add(book);
+    private List<Book> availableBooks(List<Book> books) {
+        List<Book> available = new ArrayList<>();
+        for (Book book : books) {
+            if (book.isAvailable()) {
+                available.add(book);
             }
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading books: " + e.getMessage());
         }
-        
-        return books;
+        return available;
     }
     
     /**
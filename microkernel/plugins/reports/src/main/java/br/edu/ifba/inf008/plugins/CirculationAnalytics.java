@@ -0,0 +1,371 @@
+package br.edu.ifba.inf008.plugins;
+
+import br.edu.ifba.inf008.interfaces.ICore;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CirculationAnalytics - Loan counts over arbitrary date ranges
+ *
+ * Answers "how many loans per day, week or month" and "which titles and
+ * users borrowed the most" for any date range without aggregating in the
+ * database each time.
+ *
+ * Every day before today is a closed bucket: its loans never change, so
+ * they are read once, ordered by day, into parallel primitive arrays (one
+ * entry per loan) plus a per-day offset table. A range then maps to one
+ * contiguous slice of those arrays, per-day totals are a subtraction, and
+ * per-title or per-user counts are a scan of the slice into a counting
+ * array. Today is the open bucket and is always read from the database.
+ * When the date rolls over, only the newly closed days are appended.
+ *
+ * Deleting a book or user deletes their loans too, so callers invalidate
+ * the history after such a change and the next query reloads it.
+ *
+ * All methods except invalidate() query the database and must run off the
+ * JavaFX thread. invalidate() only marks the history stale, without
+ * waiting for a query that is reading it.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class CirculationAnalytics {
+
+    // Rows per round trip while streaming the loan history
+    private static final int FETCH_SIZE = 5_000;
+
+    /**
+     * Size of the buckets in a loans-over-time series.
+     */
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        /**
+         * Picks a granularity that keeps a chart of the range readable.
+         *
+         * @param from first day of the range
+         * @param to last day of the range
+         * @return DAY up to a month, WEEK up to about six months, MONTH beyond
+         */
+        public static Granularity forRange(LocalDate from, LocalDate to) {
+            long days = to.toEpochDay() - from.toEpochDay() + 1;
+            if (days <= 31) {
+                return DAY;
+            }
+            return days <= 190 ? WEEK : MONTH;
+        }
+
+        LocalDate bucketStart(LocalDate day) {
+            switch (this) {
+                case WEEK:
+                    return day.with(DayOfWeek.MONDAY);
+                case MONTH:
+                    return day.withDayOfMonth(1);
+                default:
+                    return day;
+            }
+        }
+    }
+
+    /**
+     * Loans in one bucket of a time series.
+     */
+    public static class TimeBucket {
+        private final LocalDate start;
+        private final int loans;
+
+        public TimeBucket(LocalDate start, int loans) {
+            this.start = start;
+            this.loans = loans;
+        }
+
+        public LocalDate getStart() { return start; }
+        public int getLoans() { return loans; }
+    }
+
+    /**
+     * Loans of one book or user in a range.
+     */
+    public static class RankedCount {
+        private final int id;
+        private final int loans;
+
+        public RankedCount(int id, int loans) {
+            this.id = id;
+            this.loans = loans;
+        }
+
+        public int getId() { return id; }
+        public int getLoans() { return loans; }
+    }
+
+    // Bumped by invalidate(); a history read under an older value is stale
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Closed history, one entry per loan, ordered by loan day
+    private long loadedGeneration = -1;          // invalidations when the history was read, -1 if never
+    private int loanCount;
+    private int[] loanBookIds = new int[0];
+    private int[] loanUserIds = new int[0];
+    private int[] loanDays = new int[0];         // Epoch day of each loan
+    private int maxBookId;
+    private int maxUserId;
+
+    // Per-day rollup: loans of day (firstDay + i) are [dayOffsets[i], dayOffsets[i + 1])
+    private long firstDay;
+    private long closedUntil;                    // First day not in the history (today once loaded)
+    private int[] dayOffsets = new int[1];
+
+    /**
+     * Marks the loaded history stale; the next query reads it again.
+     * Does not lock, so it is safe on the JavaFX thread while a query runs.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Counts loans per bucket between two days, both included. Buckets
+     * with no loans are included with a zero count; the first and last
+     * buckets are cut to the range.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param granularity size of the buckets
+     * @return buckets in date order
+     * @throws SQLException if the database cannot be read
+     */
+    public synchronized List<TimeBucket> loansOverTime(LocalDate from, LocalDate to, Granularity granularity)
+            throws SQLException {
+        LocalDate today = LocalDate.now();
+        refreshHistory(today);
+
+        List<TimeBucket> buckets = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return buckets;
+        }
+
+        int todayLoans = !to.isBefore(today) && !from.isAfter(today) ? countOpenBucket(today) : 0;
+        LocalDate bucketStart = from;
+        int bucketLoans = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate start = granularity.bucketStart(day);
+            if (start.isAfter(bucketStart)) {
+                buckets.add(new TimeBucket(bucketStart, bucketLoans));
+                bucketStart = start;
+                bucketLoans = 0;
+            }
+            bucketLoans += day.equals(today) ? todayLoans : closedLoansOn(day.toEpochDay());
+        }
+        buckets.add(new TimeBucket(bucketStart, bucketLoans));
+        return buckets;
+    }
+
+    /**
+     * Ranks books by number of loans between two days, both included.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param limit maximum number of books to return
+     * @return most borrowed books first
+     * @throws SQLException if the database cannot be read
+     */
+    public synchronized List<RankedCount> loansPerBook(LocalDate from, LocalDate to, int limit) throws SQLException {
+        return rank(from, to, limit, true);
+    }
+
+    /**
+     * Ranks users by number of loans between two days, both included.
+     *
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param limit maximum number of users to return
+     * @return most active borrowers first
+     * @throws SQLException if the database cannot be read
+     */
+    public synchronized List<RankedCount> loansPerUser(LocalDate from, LocalDate to, int limit) throws SQLException {
+        return rank(from, to, limit, false);
+    }
+
+    private List<RankedCount> rank(LocalDate from, LocalDate to, int limit, boolean byBook) throws SQLException {
+        LocalDate today = LocalDate.now();
+        refreshHistory(today);
+        if (from.isAfter(to) || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Today's loans may use IDs newer than the history
+        int[] todayIds = !to.isBefore(today) && !from.isAfter(today) ? readOpenBucket(today, byBook) : new int[0];
+        int maxId = byBook ? maxBookId : maxUserId;
+        for (int id : todayIds) {
+            maxId = Math.max(maxId, id);
+        }
+
+        int[] counts = new int[maxId + 1];
+        int[] ids = byBook ? loanBookIds : loanUserIds;
+        for (int i = sliceStart(from.toEpochDay()), end = sliceStart(to.toEpochDay() + 1); i < end; i++) {
+            counts[ids[i]]++;
+        }
+        for (int id : todayIds) {
+            counts[id]++;
+        }
+        return top(counts, limit);
+    }
+
+    /**
+     * Picks the IDs with the highest counts, ties broken by lower ID.
+     */
+    private static List<RankedCount> top(int[] counts, int limit) {
+        // Pack count and ID in one long so a primitive sort orders both
+        long[] packed = new long[counts.length];
+        int used = 0;
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                packed[used++] = ((long) counts[id] << 32) | (Integer.MAX_VALUE - id);
+            }
+        }
+        Arrays.sort(packed, 0, used);
+
+        List<RankedCount> ranked = new ArrayList<>();
+        for (int i = used - 1; i >= 0 && ranked.size() < limit; i--) {
+            ranked.add(new RankedCount(Integer.MAX_VALUE - (int) packed[i], (int) (packed[i] >>> 32)));
+        }
+        return ranked;
+    }
+
+    private int closedLoansOn(long epochDay) {
+        return sliceStart(epochDay + 1) - sliceStart(epochDay);
+    }
+
+    /**
+     * @return index of the first loan on or after the given day
+     */
+    private int sliceStart(long epochDay) {
+        if (epochDay <= firstDay) {
+            return 0;
+        }
+        if (epochDay >= closedUntil) {
+            return loanCount;
+        }
+        return dayOffsets[(int) (epochDay - firstDay)];
+    }
+
+    /**
+     * Loads the history on first use and appends the days closed since.
+     */
+    private void refreshHistory(LocalDate today) throws SQLException {
+        long todayEpoch = today.toEpochDay();
+        long generation = invalidations.get();
+        if (loadedGeneration != generation) {
+            // An invalidate() during the read leaves the generation behind,
+            // so the next query reads the history again
+            loadedGeneration = -1;
+            loanCount = 0;
+            maxBookId = 0;
+            maxUserId = 0;
+            readClosedDays(null, today);
+            firstDay = loanCount > 0 ? loanDays[0] : todayEpoch;
+            closedUntil = todayEpoch;
+            loadedGeneration = generation;
+            rebuildDayOffsets();
+        } else if (closedUntil < todayEpoch) {
+            readClosedDays(LocalDate.ofEpochDay(closedUntil), today);
+            closedUntil = todayEpoch;
+            rebuildDayOffsets();
+        }
+    }
+
+    /**
+     * Streams the loans of [from, until) onto the end of the history.
+     *
+     * @param from first day to read, or null for the whole history
+     * @param until first day not to read
+     */
+    private void readClosedDays(LocalDate from, LocalDate until) throws SQLException {
+        String sql = "SELECT loan_date, book_id, user_id FROM loans WHERE "
+                   + (from != null ? "loan_date >= ? AND " : "")
+                   + "loan_date < ? ORDER BY loan_date";
+
+        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(FETCH_SIZE);
+            int index = 1;
+            if (from != null) {
+                stmt.setDate(index++, Date.valueOf(from));
+            }
+            stmt.setDate(index, Date.valueOf(until));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (loanCount == loanDays.length) {
+                        int capacity = Math.max(1_024, loanCount * 2);
+                        loanDays = Arrays.copyOf(loanDays, capacity);
+                        loanBookIds = Arrays.copyOf(loanBookIds, capacity);
+                        loanUserIds = Arrays.copyOf(loanUserIds, capacity);
+                    }
+                    int bookId = rs.getInt("book_id");
+                    int userId = rs.getInt("user_id");
+                    loanDays[loanCount] = (int) rs.getDate("loan_date").toLocalDate().toEpochDay();
+                    loanBookIds[loanCount] = bookId;
+                    loanUserIds[loanCount] = userId;
+                    maxBookId = Math.max(maxBookId, bookId);
+                    maxUserId = Math.max(maxUserId, userId);
+                    loanCount++;
+                }
+            }
+        }
+    }
+
+    private void rebuildDayOffsets() {
+        int days = (int) (closedUntil - firstDay);
+        dayOffsets = new int[days + 1];
+        int loan = 0;
+        for (int day = 0; day <= days; day++) {
+            while (loan < loanCount && loanDays[loan] < firstDay + day) {
+                loan++;
+            }
+            dayOffsets[day] = loan;
+        }
+    }
+
+    private int countOpenBucket(LocalDate today) throws SQLException {
+        return readOpenBucket(today, true).length;
+    }
+
+    /**
+     * Reads the book or user IDs of the loans made today.
+     */
+    private int[] readOpenBucket(LocalDate today, boolean byBook) throws SQLException {
+        String column = byBook ? "book_id" : "user_id";
+        String sql = "SELECT " + column + " FROM loans WHERE loan_date >= ?";
+
+        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(today));
+            int[] ids = new int[16];
+            int count = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = rs.getInt(column);
+                }
+            }
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
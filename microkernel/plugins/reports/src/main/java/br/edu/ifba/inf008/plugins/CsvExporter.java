@@ -0,0 +1,173 @@
+package br.edu.ifba.inf008.plugins;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * CsvExporter - Streams a query result into a CSV file
+ *
+ * Rows are read one at a time from the cursor and encoded straight into
+ * a fixed direct buffer that is written to a FileChannel whenever it
+ * fills, so memory use does not depend on the number of rows. Pair it
+ * with a forward-only statement and a fetch size so the driver does not
+ * buffer the whole result either.
+ *
+ * The output follows RFC 4180 (comma separated, CRLF line ends, fields
+ * quoted when needed) in UTF-8 with a byte order mark, which spreadsheet
+ * programs need to detect the encoding. The column labels of the query
+ * become the header line.
+ *
+ * The file is written next to the target under a ".part" name and only
+ * renamed when complete; a failed or cancelled export leaves no file.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class CsvExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 500;  // Rows between progress reports
+    private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder line = new StringBuilder(256);
+    private FileChannel channel;
+
+    /**
+     * Writes every remaining row of the cursor to the target file.
+     *
+     * @param rows open cursor, positioned before the first row
+     * @param totalRows rows expected, for progress only, or -1 if unknown
+     * @param target file to create or replace
+     * @param progress receives progress and is checked for cancellation
+     * @return number of data rows written
+     * @throws CancellationException if the export was cancelled
+     * @throws IOException if the file cannot be written
+     * @throws SQLException if the cursor cannot be read
+     */
+    public long export(ResultSet rows, long totalRows, Path target, ExportProgress progress)
+            throws IOException, SQLException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        boolean completed = false;
+
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel = out;
+            buffer.clear();
+            buffer.put(UTF8_BOM);
+
+            ResultSetMetaData meta = rows.getMetaData();
+            int columns = meta.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                appendField(meta.getColumnLabel(i), i == 1);
+            }
+            writeLine();
+
+            long written = 0;
+            while (rows.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    appendField(rows.getString(i), i == 1);
+                }
+                writeLine();
+
+                if (++written % PROGRESS_INTERVAL == 0) {
+                    if (progress.isCancelled()) {
+                        throw new CancellationException("CSV export cancelled");
+                    }
+                    progress.rowsWritten(written, totalRows);
+                }
+            }
+
+            flush();
+            out.force(false);
+            progress.rowsWritten(written, totalRows);
+            completed = true;
+            return written;
+
+        } finally {
+            channel = null;
+            if (completed) {
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    /**
+     * Adds one field to the current line, quoting it if it contains a
+     * separator, a quote, a line break or surrounding spaces.
+     */
+    private void appendField(String value, boolean first) {
+        if (!first) {
+            line.append(',');
+        }
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        boolean quote = value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ';
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Encodes the current line into the buffer, writing the buffer out
+     * each time it fills.
+     */
+    private void writeLine() throws IOException {
+        line.append("\r\n");
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (!result.isOverflow()) {
+                break;
+            }
+            flush();
+        }
+        line.setLength(0);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
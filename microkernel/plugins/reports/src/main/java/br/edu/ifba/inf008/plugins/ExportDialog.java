@@ -0,0 +1,101 @@
+package br.edu.ifba.inf008.plugins;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ExportDialog - Non-blocking progress window for report exports
+ *
+ * Shows a progress bar with the number of rows written and a Cancel
+ * button. Progress arrives from the export worker thread; at most one
+ * update is queued on the JavaFX thread at a time, so a fast exporter
+ * cannot flood it.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class ExportDialog implements ExportProgress {
+
+    private final Dialog<Void> dialog = new Dialog<>();
+    private final ProgressBar progressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+    private final Label statusLabel = new Label("Starting export...");
+
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+    private volatile long rows;
+    private volatile long totalRows = -1;
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
+    /**
+     * @param title window title
+     * @param fileName name of the file being written
+     */
+    public ExportDialog(String title, String fileName) {
+        dialog.setTitle(title);
+        dialog.setHeaderText("Writing " + fileName);
+
+        progressBar.setPrefWidth(320);
+        VBox content = new VBox(10, progressBar, statusLabel);
+        content.setPadding(new Insets(10));
+        dialog.getDialogPane().setContent(content);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CANCEL);
+
+        // Closing the window before the export ends cancels it
+        dialog.setOnHidden(e -> {
+            if (!finished) {
+                cancelled = true;
+            }
+        });
+    }
+
+    /**
+     * Shows the dialog without waiting for it to close.
+     */
+    public void show() {
+        dialog.show();
+    }
+
+    /**
+     * Closes the dialog once the export has ended, successfully or not.
+     * Must be called on the JavaFX thread.
+     */
+    public void close() {
+        finished = true;
+        dialog.close();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void rowsWritten(long rows, long totalRows) {
+        this.rows = rows;
+        this.totalRows = totalRows;
+        if (updatePending.compareAndSet(false, true)) {
+            Platform.runLater(this::showProgress);
+        }
+    }
+
+    private void showProgress() {
+        updatePending.set(false);
+        long written = rows;
+        long total = totalRows;
+        if (total > 0) {
+            progressBar.setProgress(Math.min(1.0, (double) written / total));
+            statusLabel.setText(String.format("%,d of %,d rows", written, total));
+        } else {
+            progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+            statusLabel.setText(String.format("%,d rows", written));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.ifba.inf008.plugins;
+
+/**
+ * ExportProgress - Progress and cancellation of a running export
+ *
+ * Exporters call rowsWritten() every few hundred rows from the worker
+ * thread and stop with a CancellationException once isCancelled() turns
+ * true, removing whatever they had written.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public interface ExportProgress {
+
+    /**
+     * @return true once the user has asked to stop the export
+     */
+    boolean isCancelled();
+
+    /**
+     * Reports how far the export is. May be called from any thread.
+     *
+     * @param rows rows written so far
+     * @param totalRows rows expected in total, or -1 if unknown
+     */
+    void rowsWritten(long rows, long totalRows);
+}
@@ -0,0 +1,508 @@
+package br.edu.ifba.inf008.plugins;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.zip.Deflater;
+
+/**
+ * PdfExporter - Paged PDF report written one page at a time
+ *
+ * Lays out a title, an optional bar chart and a table read row by row
+ * from a cursor onto A4 pages. Each page is compressed and written to the
+ * file as soon as it is full, so only the page being laid out is kept in
+ * memory, plus one file offset per PDF object for the cross-reference
+ * table at the end. A report of any length therefore needs the same heap.
+ *
+ * The PDF is written directly (version 1.4, the standard Helvetica fonts
+ * in WinAnsi encoding) rather than through a PDF library, which the
+ * plugin jar does not bundle; characters outside that encoding print as
+ * "?". Table headers come from the query's column labels, numeric
+ * columns are right-aligned, and text too wide for its column is cut
+ * with "...". The table header is repeated on every page.
+ *
+ * As with CsvExporter, the file is written under a ".part" name and
+ * renamed only when complete.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class PdfExporter {
+
+    // A4 portrait, in points
+    private static final float PAGE_WIDTH = 595;
+    private static final float PAGE_HEIGHT = 842;
+    private static final float MARGIN = 40;
+    private static final float CONTENT_WIDTH = PAGE_WIDTH - 2 * MARGIN;
+
+    private static final float TABLE_FONT_SIZE = 9;
+    private static final float ROW_HEIGHT = 14;
+    private static final float CHART_HEIGHT = 170;
+    private static final int PROGRESS_INTERVAL = 200;
+
+    // Object numbers fixed in advance; page objects are numbered after these
+    private static final int CATALOG_OBJECT = 1;
+    private static final int PAGES_OBJECT = 2;
+    private static final int FONT_OBJECT = 3;
+    private static final int BOLD_FONT_OBJECT = 4;
+
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+    private final String title;
+    private final String subtitle;
+    private String chartTitle;
+    private List<String> chartLabels = new ArrayList<>();
+    private long[] chartValues = new long[0];
+
+    // File state
+    private OutputStream out;
+    private long position;
+    private long[] objectOffsets = new long[64];
+    private int objectCount;
+    private int[] pageObjects = new int[16];
+    private int pageCount;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    // Content stream of the page being laid out
+    private byte[] page = new byte[16 * 1024];
+    private int pageSize;
+    private float y;
+
+    // Table layout
+    private String[] headers;
+    private boolean[] numeric;
+    private float[] columnX;
+    private float[] columnWidth;
+
+    /**
+     * @param title report title, printed at the top of the first page
+     * @param subtitle line printed under the title, or null
+     */
+    public PdfExporter(String title, String subtitle) {
+        this.title = title;
+        this.subtitle = subtitle;
+    }
+
+    /**
+     * Adds a bar chart between the title and the table.
+     *
+     * @param chartTitle caption printed above the chart
+     * @param labels one label per bar
+     * @param values one value per bar
+     */
+    public void setChart(String chartTitle, List<String> labels, long[] values) {
+        this.chartTitle = chartTitle;
+        this.chartLabels = new ArrayList<>(labels);
+        this.chartValues = values.clone();
+    }
+
+    /**
+     * Writes the report, with every remaining row of the cursor in the table.
+     *
+     * @param rows open cursor, positioned before the first row
+     * @param totalRows rows expected, for progress only, or -1 if unknown
+     * @param target file to create or replace
+     * @param progress receives progress and is checked for cancellation
+     * @return number of table rows written
+     * @throws CancellationException if the export was cancelled
+     * @throws IOException if the file cannot be written
+     * @throws SQLException if the cursor cannot be read
+     */
+    public long export(ResultSet rows, long totalRows, Path target, ExportProgress progress)
+            throws IOException, SQLException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        boolean completed = false;
+
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+            out = file;
+            position = 0;
+            objectCount = BOLD_FONT_OBJECT;
+
+            write("%PDF-1.4\n%âãÏÓ\n");
+            writeObject(CATALOG_OBJECT, "<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>");
+            writeObject(FONT_OBJECT, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+            writeObject(BOLD_FONT_OBJECT, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+
+            describeColumns(rows.getMetaData());
+            beginPage();
+            drawTitle();
+            if (chartTitle != null && !chartLabels.isEmpty()) {
+                drawChart();
+            }
+            drawTableHeader();
+
+            long written = 0;
+            String[] cells = new String[headers.length];
+            while (rows.next()) {
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = rows.getString(i + 1);
+                }
+                if (y - ROW_HEIGHT < MARGIN + 20) {
+                    endPage();
+                    beginPage();
+                    drawTableHeader();
+                }
+                drawRow(cells, written % 2 == 1);
+
+                if (++written % PROGRESS_INTERVAL == 0) {
+                    if (progress.isCancelled()) {
+                        throw new CancellationException("PDF export cancelled");
+                    }
+                    progress.rowsWritten(written, totalRows);
+                }
+            }
+            if (written == 0) {
+                drawText("No rows to report.", MARGIN + 4, y - 10, TABLE_FONT_SIZE, false);
+            }
+            endPage();
+            finishDocument();
+            progress.rowsWritten(written, totalRows);
+            completed = true;
+            return written;
+
+        } finally {
+            out = null;
+            deflater.end();
+            if (completed) {
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    /**
+     * Splits the page width between the columns: text columns get three
+     * shares, numeric and date columns one.
+     */
+    private void describeColumns(ResultSetMetaData meta) throws SQLException {
+        int columns = meta.getColumnCount();
+        headers = new String[columns];
+        numeric = new boolean[columns];
+        columnX = new float[columns];
+        columnWidth = new float[columns];
+
+        float shares = 0;
+        float[] share = new float[columns];
+        for (int i = 0; i < columns; i++) {
+            headers[i] = humanize(meta.getColumnLabel(i + 1));
+            switch (meta.getColumnType(i + 1)) {
+                case Types.TINYINT: case Types.SMALLINT: case Types.INTEGER: case Types.BIGINT:
+                case Types.DECIMAL: case Types.NUMERIC: case Types.REAL: case Types.FLOAT: case Types.DOUBLE:
+                    numeric[i] = true;
+                    share[i] = 1;
+                    break;
+                case Types.DATE:
+                    share[i] = 1.2f;
+                    break;
+                default:
+                    share[i] = 3;
+            }
+            shares += share[i];
+        }
+
+        float x = MARGIN;
+        for (int i = 0; i < columns; i++) {
+            columnX[i] = x;
+            columnWidth[i] = CONTENT_WIDTH * share[i] / shares;
+            x += columnWidth[i];
+        }
+    }
+
+    /**
+     * @return "times_loaned" as "Times loaned"
+     */
+    private static String humanize(String label) {
+        String words = label.replace('_', ' ').trim();
+        return words.isEmpty() ? words : Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    private void drawTitle() throws IOException {
+        y -= 18;
+        drawText(title, MARGIN, y, 18, true);
+        if (subtitle != null) {
+            y -= 16;
+            drawText(subtitle, MARGIN, y, 10, false);
+        }
+        y -= 20;
+    }
+
+    /**
+     * Draws the bars scaled to the largest value, with labels thinned out
+     * so they do not overlap.
+     */
+    private void drawChart() throws IOException {
+        y -= 12;
+        drawText(chartTitle, MARGIN, y, 11, true);
+        y -= 10;
+
+        float top = y;
+        float bottom = y - CHART_HEIGHT + 24;
+        float left = MARGIN + 30;
+        float width = PAGE_WIDTH - MARGIN - left;
+        int bars = chartValues.length;
+        long max = 1;
+        for (long value : chartValues) {
+            max = Math.max(max, value);
+        }
+
+        // Axes
+        ops(String.format(Locale.ROOT, "0.5 w 0 G %.2f %.2f m %.2f %.2f l %.2f %.2f l S\n",
+                left, top, left, bottom, left + width, bottom));
+        drawText(Long.toString(max), MARGIN, top - 7, 7, false);
+        drawText("0", MARGIN, bottom, 7, false);
+
+        float slot = width / bars;
+        int labelStep = Math.max(1, (int) Math.ceil(bars / 12.0));
+        ops("0.20 0.60 0.86 rg\n");
+        for (int i = 0; i < bars; i++) {
+            float height = (top - bottom) * chartValues[i] / max;
+            float x = left + i * slot + slot * 0.15f;
+            if (height > 0) {
+                ops(String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f re f\n", x, bottom, slot * 0.7f, height));
+            }
+        }
+        ops("0 g\n");
+        for (int i = 0; i < bars; i += labelStep) {
+            float x = left + i * slot + slot * 0.15f;
+            drawText(fit(chartLabels.get(i), slot * labelStep - 2, 7), x, bottom - 10, 7, false);
+            if (bars <= 31) {
+                float height = (top - bottom) * chartValues[i] / max;
+                drawText(Long.toString(chartValues[i]), x, bottom + height + 2, 6, false);
+            }
+        }
+        y = bottom - 30;
+    }
+
+    private void drawTableHeader() throws IOException {
+        ops(String.format(Locale.ROOT, "0.85 g %.2f %.2f %.2f %.2f re f 0 g\n",
+                MARGIN, y - ROW_HEIGHT, CONTENT_WIDTH, ROW_HEIGHT));
+        drawCells(headers, true);
+    }
+
+    private void drawRow(String[] cells, boolean shaded) throws IOException {
+        if (shaded) {
+            ops("0.95 g ");
+            rectangle(MARGIN, y - ROW_HEIGHT, CONTENT_WIDTH, ROW_HEIGHT);
+            ops(" re f 0 g\n");
+        }
+        drawCells(cells, false);
+    }
+
+    private void drawCells(String[] cells, boolean bold) throws IOException {
+        float baseline = y - ROW_HEIGHT + 4;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == null) {
+                continue;
+            }
+            String text = fit(cells[i], columnWidth[i] - 8, TABLE_FONT_SIZE);
+            float x = numeric[i] && !bold
+                ? columnX[i] + columnWidth[i] - 4 - textWidth(text, TABLE_FONT_SIZE)
+                : columnX[i] + 4;
+            drawText(text, x, baseline, TABLE_FONT_SIZE, bold);
+        }
+        y -= ROW_HEIGHT;
+    }
+
+    /**
+     * Cuts text that is wider than the given width, ending it with "...".
+     */
+    private static String fit(String text, float width, float size) {
+        float limit = width * 1000 / size;
+        float ellipsis = 3 * charUnits('.');
+        int units = 0;
+        int cut = -1;   // Last length that still leaves room for the ellipsis
+        for (int i = 0; i < text.length(); i++) {
+            if (units + ellipsis <= limit) {
+                cut = i;
+            }
+            units += charUnits(text.charAt(i));
+            if (units > limit) {
+                return text.substring(0, Math.max(cut, 0)) + "...";
+            }
+        }
+        return text;
+    }
+
+    private static float textWidth(String text, float size) {
+        int units = 0;
+        for (int i = 0; i < text.length(); i++) {
+            units += charUnits(text.charAt(i));
+        }
+        return units * size / 1000;
+    }
+
+    /**
+     * Approximates Helvetica advance widths, in thousandths of the font
+     * size, close enough to align numbers and decide where to cut text.
+     */
+    private static int charUnits(char c) {
+        if (c == ' ' || c == '.' || c == ',' || c == ':' || c == ';' || c == '\'' || c == '!'
+                || c == 'i' || c == 'j' || c == 'l' || c == 'I' || c == 'f' || c == 't' || c == '|') {
+            return 278;
+        }
+        if (c == 'm' || c == 'M' || c == 'W' || c == '@' || c == '%') {
+            return 889;
+        }
+        if (Character.isUpperCase(c) || c == 'w') {
+            return 700;
+        }
+        return 556;
+    }
+
+    private void drawText(String text, float x, float baseline, float size, boolean bold) throws IOException {
+        ops(bold ? "BT /F2 " : "BT /F1 ");
+        number(size);
+        ops(" Tf ");
+        number(x);
+        put(' ');
+        number(baseline);
+        ops(" Td (");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int code = c < 0x80 || c >= 0xA0 && c <= 0xFF ? c : String.valueOf(c).getBytes(WIN_ANSI)[0] & 0xFF;
+            if (code == '(' || code == ')' || code == '\\') {
+                put('\\');
+            }
+            put(code < 0x20 ? ' ' : code);
+        }
+        ops(") Tj ET\n");
+    }
+
+    private void put(int b) {
+        if (pageSize == page.length) {
+            page = Arrays.copyOf(page, pageSize * 2);
+        }
+        page[pageSize++] = (byte) b;
+    }
+
+    private void ops(String operators) {
+        for (int i = 0; i < operators.length(); i++) {
+            put(operators.charAt(i));
+        }
+    }
+
+    private void rectangle(float x, float y, float width, float height) {
+        number(x);
+        put(' ');
+        number(y);
+        put(' ');
+        number(width);
+        put(' ');
+        number(height);
+    }
+
+    /**
+     * Writes a coordinate with two decimals. Rows are drawn thousands of
+     * times, so this avoids String.format on the hot path.
+     */
+    private void number(float value) {
+        long hundredths = Math.round(value * 100.0);
+        if (hundredths < 0) {
+            put('-');
+            hundredths = -hundredths;
+        }
+        ops(Long.toString(hundredths / 100));
+        put('.');
+        put('0' + (int) (hundredths / 10 % 10));
+        put('0' + (int) (hundredths % 10));
+    }
+
+    private void beginPage() {
+        pageSize = 0;
+        y = PAGE_HEIGHT - MARGIN;
+    }
+
+    /**
+     * Adds the page footer, compresses the page and writes it out.
+     */
+    private void endPage() throws IOException {
+        drawText("Page " + (pageCount + 1), PAGE_WIDTH - MARGIN - 40, MARGIN - 15, 8, false);
+
+        deflater.reset();
+        deflater.setInput(page, 0, pageSize);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(pageSize / 3 + 64);
+        byte[] chunk = new byte[8 * 1024];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+
+        int contentObject = ++objectCount;
+        startObject(contentObject);
+        write("<< /Length " + compressed.size() + " /Filter /FlateDecode >>\nstream\n");
+        writeBytes(compressed.toByteArray());
+        write("\nendstream\nendobj\n");
+
+        int pageObject = ++objectCount;
+        writeObject(pageObject, String.format(Locale.ROOT,
+            "<< /Type /Page /Parent %d 0 R /MediaBox [0 0 %.0f %.0f] "
+            + "/Resources << /Font << /F1 %d 0 R /F2 %d 0 R >> >> /Contents %d 0 R >>",
+            PAGES_OBJECT, PAGE_WIDTH, PAGE_HEIGHT, FONT_OBJECT, BOLD_FONT_OBJECT, contentObject));
+
+        if (pageCount == pageObjects.length) {
+            pageObjects = Arrays.copyOf(pageObjects, pageCount * 2);
+        }
+        pageObjects[pageCount++] = pageObject;
+        out.flush();
+    }
+
+    /**
+     * Writes the page tree and the cross-reference table.
+     */
+    private void finishDocument() throws IOException {
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pageCount; i++) {
+            kids.append(pageObjects[i]).append(" 0 R ");
+        }
+        writeObject(PAGES_OBJECT, "<< /Type /Pages /Kids [" + kids + "] /Count " + pageCount + " >>");
+
+        long xref = position;
+        StringBuilder table = new StringBuilder("xref\n0 " + (objectCount + 1) + "\n0000000000 65535 f \n");
+        for (int object = 1; object <= objectCount; object++) {
+            table.append(String.format("%010d 00000 n \n", objectOffsets[object]));
+        }
+        write(table.toString());
+        write("trailer\n<< /Size " + (objectCount + 1) + " /Root " + CATALOG_OBJECT + " 0 R >>\n"
+            + "startxref\n" + xref + "\n%%EOF\n");
+        out.flush();
+    }
+
+    private void writeObject(int object, String dictionary) throws IOException {
+        startObject(object);
+        write(dictionary + "\nendobj\n");
+    }
+
+    private void startObject(int object) throws IOException {
+        if (object >= objectOffsets.length) {
+            objectOffsets = Arrays.copyOf(objectOffsets, Math.max(object + 1, objectOffsets.length * 2));
+        }
+        objectOffsets[object] = position;
+        write(object + " 0 obj\n");
+    }
+
+    private void write(String text) throws IOException {
+        writeBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+}
@@ -2,7 +2,14 @@ package br.edu.ifba.inf008.plugins;
 
 import br.edu.ifba.inf008.interfaces.IPlugin;
 import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IIOController;
 import br.edu.ifba.inf008.interfaces.IUIController;
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
+import br.edu.ifba.inf008.interfaces.model.Book;
+import br.edu.ifba.inf008.interfaces.model.LibraryStatistics;
+import br.edu.ifba.inf008.interfaces.model.Loan;
+import br.edu.ifba.inf008.interfaces.model.User;
 
 import javafx.scene.control.MenuItem;
 import javafx.event.EventHandler;
@@ -21,14 +28,23 @@ import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * ReportManagement Plugin - Basic Library Reports
@@ -41,8 +57,13 @@ import java.util.HashMap;
  * - Show borrowed books report (assignment requirement)
  * - Simple circulation charts
  * - Basic loan statistics
+ * - Loans over time, most borrowed titles and most active users for the
+ *   selected date range (see CirculationAnalytics)
  * - Date filtering for reports
- * - Simple export options (placeholder)
+ * - CSV and Excel export of the loan history for the selected date range,
+ *   streamed to disk in the background
+ * - PDF report with the loans-over-time chart and the collection table,
+ *   written page by page in the background
  * 
  * Technical Components:
  * - JavaFX charts for basic data visualization
@@ -69,6 +90,53 @@ public class ReportManagement implements IPlugin {
     private DatePicker endDatePicker;               // End date for report period
     private ComboBox<String> reportTypeSelector;    // Dropdown to select report type
     private Label metricsOverview;                  // Summary statistics display
+    private Label activeLoansValue;                 // Header card values, filled asynchronously
+    private Label totalBooksValue;
+    private Label totalUsersValue;
+    private Label monthlyLoansValue;
+    private Label overviewBooksValue;               // Overview tab values, filled asynchronously
+    private Label overviewUsersValue;
+    private Label overviewLoansValue;
+    private BarChart<String, Number> trendChart;    // Loans per day, week or month in the selected range
+    private ObservableList<RankingRow> topTitles;   // Most borrowed titles in the selected range
+    private ObservableList<RankingRow> topBorrowers; // Most active users in the selected range
+    
+    // Loan history rollups behind the date-range reports
+    private final CirculationAnalytics analytics = new CirculationAnalytics();
+    
+    // Rows shown in the ranking tables
+    private static final int RANKING_SIZE = 10;
+    
+    // Rows fetched per round trip while exporting, so the driver streams the result
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+    
+    // Every loan in a date range, oldest first, for the file exports
+    private static final String LOAN_HISTORY_QUERY = """
+        SELECT l.loan_id, l.loan_date, l.return_date,
+               u.user_id, u.name AS user_name, u.email,
+               b.book_id, b.title, b.author, b.isbn
+        FROM loans l
+        JOIN users u ON l.user_id = u.user_id
+        JOIN books b ON l.book_id = b.book_id
+        WHERE l.loan_date >= ? AND l.loan_date < ?
+        ORDER BY l.loan_id
+        """;
+    
+    // Each book with its loan counts, for the Books tab and the PDF report
+    private static final String COLLECTION_QUERY = """
+        SELECT
+            b.title as book_title,
+            b.copies_available as total_copies,
+            COUNT(l.loan_id) as times_loaned,
+            SUM(CASE WHEN l.return_date IS NULL THEN 1 ELSE 0 END) as currently_loaned
+        FROM books b
+        LEFT JOIN loans l ON b.book_id = l.book_id
+        GROUP BY b.book_id, b.title, b.copies_available
+        ORDER BY times_loaned DESC
+        """;
+    
+    // Book, user and loan changes made by any plugin
+    private final List<IEventBus.Subscription> subscriptions = new ArrayList<>();
     
     /**
      * Initializes the plugin and adds it to the system menu.
@@ -88,6 +156,22 @@ public class ReportManagement implements IPlugin {
             // Set up the click handler to open the reports interface
             reportsMenuItem.setOnAction(e -> openReportsInterface());
             
+            // The dashboard counters are kept in memory by the kernel, so
+            // they can follow every change without querying the database
+            IEventBus eventBus = ICore.getInstance().getEventBus();
+            subscriptions.add(eventBus.subscribe(Book.class, event -> {
+                invalidateAnalyticsOnDelete(event);
+                refreshDashboardMetrics();
+            }));
+            subscriptions.add(eventBus.subscribe(User.class, event -> {
+                invalidateAnalyticsOnDelete(event);
+                refreshDashboardMetrics();
+            }));
+            subscriptions.add(eventBus.subscribe(Loan.class, event -> {
+                invalidateAnalyticsOnDelete(event);
+                refreshDashboardMetrics();
+            }));
+            
             // Log successful loading
             System.out.println("ReportManagement plugin loaded successfully!");
             return true;
@@ -100,6 +184,17 @@ public class ReportManagement implements IPlugin {
         }
     }
     
+    /**
+     * Stops listening for entity changes.
+     */
+    @Override
+    public void shutdown() {
+        for (IEventBus.Subscription subscription : subscriptions) {
+            subscription.cancel();
+        }
+        subscriptions.clear();
+    }
+    
     /**
      * Creates and displays the main reports interface.
      * Builds the complete UI and loads initial data from the database.
@@ -178,17 +273,17 @@ public class ReportManagement implements IPlugin {
         HBox metricsPanel = new HBox(25);
         metricsPanel.setStyle("-fx-alignment: center; -fx-padding: 20 0;");
         
-        // Get real counts from database
-        int activeLoans = getCount("SELECT COUNT(*) FROM loans WHERE return_date IS NULL");
-        int totalBooks = getCount("SELECT COUNT(*) FROM books");
-        int totalUsers = getCount("SELECT COUNT(*) FROM users");
-        int monthlyLoans = getCount("SELECT COUNT(*) FROM loans WHERE MONTH(loan_date) = MONTH(CURDATE())");
+        // Values are filled in by loadReportData() once the counts arrive
+        activeLoansValue = new Label("...");
+        totalBooksValue = new Label("...");
+        totalUsersValue = new Label("...");
+        monthlyLoansValue = new Label("...");
         
-        // Create individual metric cards with real data
-        VBox activeLoansCard = createMetricCard("Active Loans", String.valueOf(activeLoans), "#27ae60");
-        VBox totalBooksCard = createMetricCard("Total Books", String.valueOf(totalBooks), "#3498db");
-        VBox totalUsersCard = createMetricCard("Registered Users", String.valueOf(totalUsers), "#f39c12");
-        VBox monthlyLoansCard = createMetricCard("This Month", String.valueOf(monthlyLoans), "#e74c3c");
+        // Create individual metric cards
+        VBox activeLoansCard = createMetricCard("Active Loans", activeLoansValue, "#27ae60");
+        VBox totalBooksCard = createMetricCard("Total Books", totalBooksValue, "#3498db");
+        VBox totalUsersCard = createMetricCard("Registered Users", totalUsersValue, "#f39c12");
+        VBox monthlyLoansCard = createMetricCard("This Month", monthlyLoansValue, "#e74c3c");
         
         metricsPanel.getChildren().addAll(activeLoansCard, totalBooksCard, totalUsersCard, monthlyLoansCard);
         return metricsPanel;
@@ -198,11 +293,11 @@ public class ReportManagement implements IPlugin {
      * Creates a single metric card for the dashboard.
      * 
      * @param title The metric name
-     * @param value The metric value
+     * @param valueLabel The label holding the metric value
      * @param color The card color
      * @return VBox containing the metric card
      */
-    private VBox createMetricCard(String title, String value, String color) {
+    private VBox createMetricCard(String title, Label valueLabel, String color) {
         VBox card = new VBox(8);
         card.setStyle("-fx-background-color: white; -fx-padding: 20; " +
                      "-fx-background-radius: 10; -fx-alignment: center; -fx-min-width: 180;");
@@ -210,7 +305,6 @@ public class ReportManagement implements IPlugin {
         Label titleLabel = new Label(title);
         titleLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #7f8c8d; -fx-font-weight: bold;");
         
-        Label valueLabel = new Label(value);
         valueLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: " + color + ";");
         
         card.getChildren().addAll(titleLabel, valueLabel);
@@ -266,19 +360,19 @@ public class ReportManagement implements IPlugin {
         statsGrid.setHgap(20);
         statsGrid.setVgap(15);
         
-        int totalBooks = getCount("SELECT COUNT(*) FROM books");
-        int totalUsers = getCount("SELECT COUNT(*) FROM users");
-        int activeLoans = getCount("SELECT COUNT(*) FROM loans WHERE return_date IS NULL");
+        overviewBooksValue = new Label("...");
+        overviewUsersValue = new Label("...");
+        overviewLoansValue = new Label("...");
         
         // Display real statistics
         statsGrid.add(new Label("Total Collection:"), 0, 0);
-        statsGrid.add(new Label(totalBooks + " books"), 1, 0);
+        statsGrid.add(overviewBooksValue, 1, 0);
         
         statsGrid.add(new Label("Active Members:"), 0, 1);
-        statsGrid.add(new Label(totalUsers + " users"), 1, 1);
+        statsGrid.add(overviewUsersValue, 1, 1);
         
         statsGrid.add(new Label("Current Loans:"), 0, 2);
-        statsGrid.add(new Label(activeLoans + " active"), 1, 2);
+        statsGrid.add(overviewLoansValue, 1, 2);
         
         overview.getChildren().addAll(tabTitle, statsGrid);
         return overview;
@@ -296,7 +390,7 @@ public class ReportManagement implements IPlugin {
         Label tabTitle = new Label("Circulation Analytics");
         tabTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
         
-        // Apenas o pie chart - remover bar chart
+        // Empréstimos ativos por livro
         circulationChart = createCirculationChart();
         
         // Centralizar o chart
@@ -304,7 +398,15 @@ public class ReportManagement implements IPlugin {
         chartContainer.setStyle("-fx-alignment: center;");
         chartContainer.getChildren().add(circulationChart);
         
-        circulation.getChildren().addAll(tabTitle, chartContainer);
+        // Loans over time for the selected date range
+        trendChart = createTrendChart();
+        
+        topTitles = FXCollections.observableArrayList();
+        Label titlesLabel = new Label("Most Borrowed Titles");
+        titlesLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
+        
+        circulation.getChildren().addAll(tabTitle, chartContainer, trendChart,
+                                         titlesLabel, createRankingTable("Title", topTitles));
         return circulation;
     }
     
@@ -339,11 +441,12 @@ public class ReportManagement implements IPlugin {
         Label tabTitle = new Label("User Activity");
         tabTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
         
-        // Add user-related statistics and charts here
-        Label placeholder = new Label("User activity reports will be displayed here");
-        placeholder.setStyle("-fx-font-size: 14px; -fx-text-fill: #7f8c8d;");
+        Label borrowersLabel = new Label("Most Active Borrowers");
+        borrowersLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
+        
+        topBorrowers = FXCollections.observableArrayList();
         
-        users.getChildren().addAll(tabTitle, placeholder);
+        users.getChildren().addAll(tabTitle, borrowersLabel, createRankingTable("User", topBorrowers));
         return users;
     }
     
@@ -479,22 +582,31 @@ public class ReportManagement implements IPlugin {
     }
     
     /**
-     * Creates a pie chart showing loans by individual books with real data.
+     * Creates the pie chart showing loans by individual books.
+     * Data is filled in by loadChartData().
      * 
-     * @return PieChart with circulation data
+     * @return PieChart for circulation data
      */
     private PieChart createCirculationChart() {
         circulationChart = new PieChart();
         circulationChart.setTitle("Active Loans by Book");
         circulationChart.setPrefSize(350, 250);
-        
+        return circulationChart;
+    }
+    
+    /**
+     * Queries active loans grouped by book for the circulation chart.
+     * 
+     * @return chart slices, with a placeholder slice when there is no data
+     */
+    private ObservableList<PieChart.Data> queryCirculationChartData() {
         try (Connection conn = getConnection()) {
             // Query para mostrar livros emprestados individualmente
             String query = """
                 SELECT b.title, COUNT(*) as loan_count
-                FROM loans l 
-                JOIN books b ON l.book_id = b.book_id 
-                WHERE l.return_date IS NULL 
+                FROM loans l
+                JOIN books b ON l.book_id = b.book_id
+                WHERE l.return_date IS NULL
                 GROUP BY b.book_id, b.title
                 ORDER BY loan_count DESC
                 """;
@@ -518,17 +630,58 @@ public class ReportManagement implements IPlugin {
                 }
             }
             
-            circulationChart.setData(chartData);
+            return chartData;
             
         } catch (SQLException e) {
             System.err.println("Error loading chart data: " + e.getMessage());
-            ObservableList<PieChart.Data> fallbackData = FXCollections.observableArrayList(
+            return FXCollections.observableArrayList(
                 new PieChart.Data("Database Error", 1)
             );
-            circulationChart.setData(fallbackData);
         }
+    }
+    
+    /**
+     * Creates the bar chart showing loans over the selected date range.
+     * Data is filled in by loadCirculationAnalytics().
+     * 
+     * @return BarChart with one bar per day, week or month
+     */
+    private BarChart<String, Number> createTrendChart() {
+        CategoryAxis periodAxis = new CategoryAxis();
+        NumberAxis loansAxis = new NumberAxis();
+        loansAxis.setLabel("Loans");
+        loansAxis.setMinorTickVisible(false);
+        
+        BarChart<String, Number> chart = new BarChart<>(periodAxis, loansAxis);
+        chart.setTitle("Loans Over Time");
+        chart.setLegendVisible(false);
+        chart.setAnimated(false);
+        chart.setPrefHeight(250);
+        return chart;
+    }
+    
+    /**
+     * Creates a two-column table ranking books or users by loan count.
+     * 
+     * @param nameHeader header of the name column
+     * @param rows the list backing the table
+     * @return TableView showing the ranking
+     */
+    private TableView<RankingRow> createRankingTable(String nameHeader, ObservableList<RankingRow> rows) {
+        TableView<RankingRow> table = new TableView<>(rows);
+        table.setPrefHeight(250);
+        table.setPlaceholder(new Label("No loans in the selected period"));
         
-        return circulationChart;
+        TableColumn<RankingRow, String> nameCol = new TableColumn<>(nameHeader);
+        nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
+        nameCol.setPrefWidth(250);
+        
+        TableColumn<RankingRow, Integer> loansCol = new TableColumn<>("Loans");
+        loansCol.setCellValueFactory(new PropertyValueFactory<>("loans"));
+        loansCol.setPrefWidth(80);
+        
+        table.getColumns().addAll(nameCol, loansCol);
+        return table;
     }
     
     /**
@@ -577,53 +730,179 @@ public class ReportManagement implements IPlugin {
     
     /**
      * Loads report data from the database and updates all components.
+     * Each query runs on a kernel worker thread and updates its part of
+     * the interface back on the JavaFX thread.
      */
     private void loadReportData() {
-        try {
-            // Load data for charts
-            loadChartData();
-            
-            // Load data for detailed table
-            loadTableData();
-            
-            System.out.println("Report data loaded successfully");
-            
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Data Error", 
-                     "Failed to load report data: " + e.getMessage());
-            e.printStackTrace();
+        IIOController ioController = ICore.getInstance().getIOController();
+        
+        CompletableFuture<DashboardMetrics> metrics = ioController.executeAsync(this::loadDashboardMetrics)
+            .thenApply(loaded -> {
+                applyDashboardMetrics(loaded);
+                return loaded;
+            });
+        
+        // Load data for charts
+        CompletableFuture<Void> chart = loadChartData();
+        
+        // Load data for detailed table
+        CompletableFuture<Void> table = loadTableData();
+        
+        // Load the date-range reports
+        CompletableFuture<Void> circulation = loadCirculationAnalytics();
+        
+        CompletableFuture.allOf(metrics, chart, table, circulation)
+            .thenRun(() -> System.out.println("Report data loaded successfully"))
+            .exceptionally(e -> {
+                showAlert(Alert.AlertType.ERROR, "Data Error", 
+                         "Failed to load report data: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
+    }
+    
+    /**
+     * Loads loans over time and the title and borrower rankings for the
+     * range selected in the date pickers. An empty or reversed range
+     * clears them.
+     * 
+     * @return future completed once the chart and tables have been updated
+     */
+    private CompletableFuture<Void> loadCirculationAnalytics() {
+        LocalDate from = startDatePicker.getValue();
+        LocalDate to = endDatePicker.getValue();
+        if (from == null || to == null || from.isAfter(to)) {
+            trendChart.getData().clear();
+            topTitles.clear();
+            topBorrowers.clear();
+            if (from != null && to != null) {
+                showAlert(Alert.AlertType.WARNING, "Date Range", "The start date must not be after the end date.");
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return ICore.getInstance().getIOController()
+            .executeAsync(() -> queryCirculationAnalytics(from, to))
+            .thenAccept(report -> {
+                trendChart.getData().setAll(List.of(report.trend));
+                topTitles.setAll(report.titles);
+                topBorrowers.setAll(report.borrowers);
+            });
+    }
+    
+    /**
+     * Runs the date-range reports and resolves book and user names
+     * through the kernel caches.
+     * 
+     * @param from first day of the range
+     * @param to last day of the range
+     * @return the chart series and both rankings
+     */
+    private CirculationReport queryCirculationAnalytics(LocalDate from, LocalDate to) throws SQLException {
+        CirculationAnalytics.Granularity granularity = CirculationAnalytics.Granularity.forRange(from, to);
+        DateTimeFormatter format = granularity == CirculationAnalytics.Granularity.MONTH
+            ? DateTimeFormatter.ofPattern("MMM yyyy")
+            : DateTimeFormatter.ofPattern("MMM dd");
+        
+        XYChart.Series<String, Number> trend = new XYChart.Series<>();
+        for (CirculationAnalytics.TimeBucket bucket : analytics.loansOverTime(from, to, granularity)) {
+            trend.getData().add(new XYChart.Data<>(bucket.getStart().format(format), bucket.getLoans()));
+        }
+        
+        List<RankingRow> titles = new ArrayList<>();
+        for (CirculationAnalytics.RankedCount ranked : analytics.loansPerBook(from, to, RANKING_SIZE)) {
+            Book book = ICore.getInstance().getCacheController().getBookCache().get(ranked.getId());
+            String name = book != null ? book.getTitle() : "Book #" + ranked.getId();
+            titles.add(new RankingRow(name, ranked.getLoans()));
+        }
+        
+        List<RankingRow> borrowers = new ArrayList<>();
+        for (CirculationAnalytics.RankedCount ranked : analytics.loansPerUser(from, to, RANKING_SIZE)) {
+            User user = ICore.getInstance().getCacheController().getUserCache().get(ranked.getId());
+            String name = user != null ? user.getName() : "User #" + ranked.getId();
+            borrowers.add(new RankingRow(name, ranked.getLoans()));
+        }
+        
+        return new CirculationReport(trend, titles, borrowers);
+    }
+    
+    /**
+     * Deleting a book or user also deletes its loans, which changes past
+     * days, so the loan history has to be read again.
+     * 
+     * @param event the change published on the kernel event bus
+     */
+    private void invalidateAnalyticsOnDelete(EntityChangeEvent<?> event) {
+        if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETED) {
+            analytics.invalidate();
         }
     }
     
+    /**
+     * Updates the header cards and overview tab after a change published
+     * on the kernel event bus, if the dashboard is open.
+     */
+    private void refreshDashboardMetrics() {
+        if (activeLoansValue == null) {
+            return; // Dashboard not opened yet
+        }
+        ICore.getInstance().getIOController()
+            .executeAsync(this::loadDashboardMetrics)
+            .thenAccept(this::applyDashboardMetrics);
+    }
+    
+    /**
+     * Shows the dashboard counts on the header cards and overview tab.
+     * 
+     * @param metrics counts loaded from the database
+     */
+    private void applyDashboardMetrics(DashboardMetrics metrics) {
+        activeLoansValue.setText(String.valueOf(metrics.getActiveLoans()));
+        totalBooksValue.setText(String.valueOf(metrics.getTotalBooks()));
+        totalUsersValue.setText(String.valueOf(metrics.getTotalUsers()));
+        monthlyLoansValue.setText(String.valueOf(metrics.getMonthlyLoans()));
+        
+        overviewBooksValue.setText(metrics.getTotalBooks() + " books");
+        overviewUsersValue.setText(metrics.getTotalUsers() + " users");
+        overviewLoansValue.setText(metrics.getActiveLoans() + " active");
+    }
+    
     /**
      * Loads data for the charts from database.
+     * 
+     * @return future completed once the chart has been updated
      */
-    private void loadChartData() {
-        // Implementation would load actual data from database
-        System.out.println("Loading chart data...");
+    private CompletableFuture<Void> loadChartData() {
+        return ICore.getInstance().getIOController()
+            .executeAsync(this::queryCirculationChartData)
+            .thenAccept(chartData -> circulationChart.setData(chartData));
     }
     
     /**
      * Loads real data for the detailed table - books and their loan status.
+     * 
+     * @return future completed once the table has been updated
+     */
+    private CompletableFuture<Void> loadTableData() {
+        return ICore.getInstance().getIOController()
+            .executeAsync(this::queryTableData)
+            .thenAccept(rows -> {
+                reportData.clear();
+                reportData.addAll(rows);
+            });
+    }
+    
+    /**
+     * Queries each book with its loan counts for the detailed table.
+     * 
+     * @return table rows, with a placeholder row when there is no data
      */
-    private void loadTableData() {
-        reportData.clear();
+    private List<ReportData> queryTableData() {
+        List<ReportData> rows = new ArrayList<>();
         
         try (Connection conn = getConnection()) {
             // Query para mostrar cada livro e seus empréstimos
-            String query = """
-                SELECT 
-                    b.title as book_title,
-                    b.copies_available as total_copies,
-                    COUNT(l.loan_id) as times_loaned,
-                    SUM(CASE WHEN l.return_date IS NULL THEN 1 ELSE 0 END) as currently_loaned
-                FROM books b
-                LEFT JOIN loans l ON b.book_id = l.book_id
-                GROUP BY b.book_id, b.title, b.copies_available
-                ORDER BY times_loaned DESC
-                """;
-            
-            try (PreparedStatement stmt = conn.prepareStatement(query);
+            try (PreparedStatement stmt = conn.prepareStatement(COLLECTION_QUERY);
                  ResultSet rs = stmt.executeQuery()) {
                 
                 while (rs.next()) {
@@ -634,42 +913,180 @@ public class ReportManagement implements IPlugin {
                     
                     String status = currentlyLoaned > 0 ? "Loaned" : "Available";
                     
-                    reportData.add(new ReportData(bookTitle, totalCopies, currentlyLoaned, status));
+                    rows.add(new ReportData(bookTitle, totalCopies, currentlyLoaned, status));
                 }
             }
             
-            if (reportData.isEmpty()) {
-                reportData.add(new ReportData("No Books", 0, 0, "N/A"));
+            if (rows.isEmpty()) {
+                rows.add(new ReportData("No Books", 0, 0, "N/A"));
             }
             
         } catch (SQLException e) {
             System.err.println("Error loading table data: " + e.getMessage());
-            reportData.add(new ReportData("Database Error", 0, 0, "Error"));
+            rows.add(new ReportData("Database Error", 0, 0, "Error"));
         }
+        
+        return rows;
     }
     
     /**
-     * Exports current report data to PDF format.
+     * Exports a PDF report with the loans over the selected date range as
+     * a chart, followed by the collection table.
      */
     private void exportToPDF() {
-        showAlert(Alert.AlertType.INFORMATION, "Export", 
-                 "PDF export feature will be implemented here.");
+        runExport("Export PDF", "PDF documents", "pdf", "library_report", (from, to, target, progress) -> {
+            PdfExporter pdf = new PdfExporter("Library Report",
+                "Loans from " + from + " to " + to + ", generated on " + LocalDate.now());
+            
+            CirculationAnalytics.Granularity granularity = CirculationAnalytics.Granularity.forRange(from, to);
+            List<CirculationAnalytics.TimeBucket> buckets = analytics.loansOverTime(from, to, granularity);
+            List<String> labels = new ArrayList<>();
+            long[] values = new long[buckets.size()];
+            for (int i = 0; i < buckets.size(); i++) {
+                labels.add(buckets.get(i).getStart().toString());
+                values[i] = buckets.get(i).getLoans();
+            }
+            pdf.setChart("Loans per " + granularity.name().toLowerCase(), labels, values);
+            
+            return exportQuery("SELECT COUNT(*) FROM books", COLLECTION_QUERY, target, progress, pdf::export);
+        });
     }
     
     /**
-     * Exports current report data to Excel format.
+     * Exports the loan history of the selected date range to an Excel workbook.
      */
     private void exportToExcel() {
-        showAlert(Alert.AlertType.INFORMATION, "Export", 
-                 "Excel export feature will be implemented here.");
+        runExport("Export Excel", "Excel workbooks", "xlsx", "loans", (from, to, target, progress) ->
+            exportLoanHistory(from, to, target, progress, new XlsxExporter()::export));
     }
     
     /**
-     * Exports current report data to CSV format.
+     * Exports the loan history of the selected date range to a CSV file.
      */
     private void exportToCSV() {
-        showAlert(Alert.AlertType.INFORMATION, "Export", 
-                 "CSV export feature will be implemented here.");
+        runExport("Export CSV", "CSV files", "csv", "loans", (from, to, target, progress) ->
+            exportLoanHistory(from, to, target, progress, new CsvExporter()::export));
+    }
+    
+    /**
+     * Asks for a target file and runs the export for the selected date
+     * range on a kernel worker thread, showing progress in a dialog whose
+     * Cancel button stops the export.
+     * 
+     * @param title dialog title
+     * @param fileDescription description shown in the file chooser filter
+     * @param extension file extension, without the dot
+     * @param fileStem start of the suggested file name
+     * @param job writes the chosen file
+     */
+    private void runExport(String title, String fileDescription, String extension, String fileStem, ExportJob job) {
+        LocalDate from = startDatePicker.getValue();
+        LocalDate to = endDatePicker.getValue();
+        if (from == null || to == null || from.isAfter(to)) {
+            showAlert(Alert.AlertType.WARNING, "Date Range", "Select a valid date range to export.");
+            return;
+        }
+        
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.setInitialFileName(fileStem + "_" + from + "_" + to + "." + extension);
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(fileDescription, "*." + extension));
+        File file = chooser.showSaveDialog(reportTabs.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        ExportDialog dialog = new ExportDialog(title, file.getName());
+        dialog.show();
+        
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> job.run(from, to, file.toPath(), dialog))
+            .whenComplete((rows, error) -> {
+                dialog.close();
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause == null) {
+                    showAlert(Alert.AlertType.INFORMATION, "Export",
+                             String.format("%,d rows exported to %s", rows, file.getName()));
+                } else if (!(cause instanceof CancellationException)) {
+                    showAlert(Alert.AlertType.ERROR, "Export Error",
+                             "Failed to export report: " + cause.getMessage());
+                }
+            });
+    }
+    
+    /**
+     * Streams the loans made between two days, both included, into a file.
+     * 
+     * @return number of rows written
+     */
+    private long exportLoanHistory(LocalDate from, LocalDate to, Path target,
+                                   ExportProgress progress, CursorWriter writer) throws SQLException, IOException {
+        return exportQuery("SELECT COUNT(*) FROM loans WHERE loan_date >= ? AND loan_date < ?",
+                           LOAN_HISTORY_QUERY, target, progress, writer,
+                           Date.valueOf(from), Date.valueOf(to.plusDays(1)));
+    }
+    
+    /**
+     * Runs a query with a forward-only cursor and a fetch size, so rows
+     * reach the writer as they arrive instead of all at once. The count
+     * query, run first with the same parameters, only drives the progress.
+     * If the writer stops early, the query is cancelled on the server so
+     * the connection is not held until the rest of the result arrives.
+     * 
+     * @return number of rows written
+     */
+    private long exportQuery(String countQuery, String query, Path target, ExportProgress progress,
+                             CursorWriter writer, Object... parameters) throws SQLException, IOException {
+        try (Connection conn = getConnection()) {
+            long totalRows;
+            try (PreparedStatement count = conn.prepareStatement(countQuery)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    count.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rs = count.executeQuery()) {
+                    totalRows = rs.next() ? rs.getLong(1) : -1;
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(query,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(EXPORT_FETCH_SIZE);
+                for (int i = 0; i < parameters.length; i++) {
+                    stmt.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rows = stmt.executeQuery()) {
+                    try {
+                        return writer.write(rows, totalRows, target, progress);
+                    } catch (CancellationException | IOException e) {
+                        // Closing a streaming result reads every remaining row
+                        // first; KILL QUERY makes the server stop sending them
+                        try {
+                            stmt.cancel();
+                        } catch (SQLException cancelError) {
+                            e.addSuppressed(cancelError);
+                        }
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Writes an export file for a date range.
+     */
+    @FunctionalInterface
+    private interface ExportJob {
+        long run(LocalDate from, LocalDate to, Path target, ExportProgress progress) throws Exception;
+    }
+    
+    /**
+     * Writes the rows of an export cursor to a file.
+     */
+    @FunctionalInterface
+    private interface CursorWriter {
+        long write(ResultSet rows, long totalRows, Path target, ExportProgress progress)
+            throws IOException, SQLException;
     }
     
     /**
@@ -712,29 +1129,85 @@ public class ReportManagement implements IPlugin {
     }
     
     /**
-     * Gets a simple database connection to read data.
+     * A book or user with its loan count, for the ranking tables.
+     */
+    public static class RankingRow {
+        private final String name;
+        private final int loans;
+        
+        public RankingRow(String name, int loans) {
+            this.name = name;
+            this.loans = loans;
+        }
+        
+        // Getters for TableView
+        public String getName() { return name; }
+        public int getLoans() { return loans; }
+    }
+    
+    /**
+     * Results of the date-range reports, handed back to the JavaFX thread.
+     */
+    private static class CirculationReport {
+        private final XYChart.Series<String, Number> trend;
+        private final List<RankingRow> titles;
+        private final List<RankingRow> borrowers;
+        
+        CirculationReport(XYChart.Series<String, Number> trend, List<RankingRow> titles, List<RankingRow> borrowers) {
+            this.trend = trend;
+            this.titles = titles;
+            this.borrowers = borrowers;
+        }
+    }
+    
+    /**
+     * Aggregated counts shown on the dashboard header and overview tab.
+     */
+    public static class DashboardMetrics {
+        private final long activeLoans;
+        private final long totalBooks;
+        private final long totalUsers;
+        private final long monthlyLoans;
+        
+        public DashboardMetrics(long activeLoans, long totalBooks, long totalUsers, long monthlyLoans) {
+            this.activeLoans = activeLoans;
+            this.totalBooks = totalBooks;
+            this.totalUsers = totalUsers;
+            this.monthlyLoans = monthlyLoans;
+        }
+        
+        public long getActiveLoans() { return activeLoans; }
+        public long getTotalBooks() { return totalBooks; }
+        public long getTotalUsers() { return totalUsers; }
+        public long getMonthlyLoans() { return monthlyLoans; }
+    }
+    
+    /**
+     * Borrows a connection from the kernel's shared pool.
      */
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-            "jdbc:mariadb://localhost:3307/bookstore", 
-            "root", 
-            "root"
-        );
+        return ICore.getInstance().getIOController().getDatabaseConnection();
     }
 
     /**
-     * Gets count from a simple SQL query.
+     * Reads every dashboard count from the kernel's running counters.
+     * Only the first read after startup queries the database; "This Month"
+     * counts the loans of the current month of the current year.
      */
-    private int getCount(String sql) {
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            return rs.next() ? rs.getInt(1) : 0;
+    private DashboardMetrics loadDashboardMetrics() {
+        try {
+            LibraryStatistics statistics = ICore.getInstance().getStatisticsController().getStatistics();
+            return new DashboardMetrics(
+                statistics.getActiveLoans(),
+                statistics.getTotalBooks(),
+                statistics.getTotalUsers(),
+                statistics.getLoansIn(YearMonth.now())
+            );
             
         } catch (SQLException e) {
             System.err.println("Database read error: " + e.getMessage());
-            return 0; // Fallback to 0 if error
         }
+        
+        return new DashboardMetrics(0, 0, 0, 0); // Fallback to 0 if error
     }
 }
\ No newline at end of file
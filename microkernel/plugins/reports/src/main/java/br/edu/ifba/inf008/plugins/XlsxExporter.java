@@ -0,0 +1,380 @@
+package br.edu.ifba.inf008.plugins;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * XlsxExporter - Streams a query result into an Excel workbook
+ *
+ * Writes the OOXML package (a zip of XML parts) by hand, one row at a
+ * time straight from the cursor into the worksheet entry, so no workbook
+ * model is ever built in memory. Only the current row is held; the parts
+ * that describe the whole workbook (the sheet list and the shared
+ * strings) are written after the rows, which the zip format allows.
+ *
+ * Repeated texts such as names and titles go to the shared strings part
+ * and are stored once. That table is capped: once it is full, new texts
+ * are written inline in the cell, so memory stays bounded however varied
+ * the data is. A sheet holds at most 1,048,576 rows, so larger results
+ * continue on further sheets, each with the header row.
+ *
+ * Numeric columns become number cells and DATE columns become date cells;
+ * everything else is text. As with CsvExporter, the file is written under
+ * a ".part" name and renamed only when complete.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class XlsxExporter {
+
+    private static final int MAX_SHEET_ROWS = 1_048_576;       // Excel limit, header included
+    private static final int SHARED_STRINGS_LIMIT = 100_000;   // Distinct texts kept in the table
+    private static final int PROGRESS_INTERVAL = 500;
+    private static final long EXCEL_EPOCH_DAY = LocalDate.of(1899, 12, 30).toEpochDay();
+
+    private static final int TEXT = 0;
+    private static final int NUMBER = 1;
+    private static final int DATE = 2;
+
+    private final Map<String, Integer> sharedStrings = new HashMap<>();
+    private final List<String> sharedStringOrder = new ArrayList<>();
+    private long sharedStringRefs;
+
+    private Writer xml;
+    private String[] columnRefs;
+    private int[] columnKinds;
+
+    /**
+     * Writes every remaining row of the cursor to the target workbook.
+     *
+     * @param rows open cursor, positioned before the first row
+     * @param totalRows rows expected, for progress only, or -1 if unknown
+     * @param target file to create or replace
+     * @param progress receives progress and is checked for cancellation
+     * @return number of data rows written
+     * @throws CancellationException if the export was cancelled
+     * @throws IOException if the file cannot be written
+     * @throws SQLException if the cursor cannot be read
+     */
+    public long export(ResultSet rows, long totalRows, Path target, ExportProgress progress)
+            throws IOException, SQLException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        boolean completed = false;
+
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024))) {
+            // The sheet XML is repetitive, so the fastest level still compresses it well
+            zip.setLevel(Deflater.BEST_SPEED);
+            xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 16 * 1024);
+
+            ResultSetMetaData meta = rows.getMetaData();
+            String[] header = describeColumns(meta);
+
+            long written = 0;
+            int sheets = 1;
+            int sheetRow = 0;
+            startSheet(zip, sheets, header);
+            sheetRow++;
+
+            while (rows.next()) {
+                if (sheetRow == MAX_SHEET_ROWS) {
+                    endSheet(zip);
+                    startSheet(zip, ++sheets, header);
+                    sheetRow = 1;
+                }
+                writeRow(rows, ++sheetRow);
+
+                if (++written % PROGRESS_INTERVAL == 0) {
+                    if (progress.isCancelled()) {
+                        throw new CancellationException("Excel export cancelled");
+                    }
+                    progress.rowsWritten(written, totalRows);
+                }
+            }
+            endSheet(zip);
+
+            writeSharedStrings(zip);
+            writePackageParts(zip, sheets);
+            xml.flush();
+            zip.finish();
+            progress.rowsWritten(written, totalRows);
+            completed = true;
+            return written;
+
+        } finally {
+            xml = null;
+            sharedStrings.clear();
+            sharedStringOrder.clear();
+            if (completed) {
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    /**
+     * Works out each column's cell reference letters and cell kind.
+     *
+     * @return the column labels, for the header row
+     */
+    private String[] describeColumns(ResultSetMetaData meta) throws SQLException {
+        int columns = meta.getColumnCount();
+        String[] header = new String[columns];
+        columnRefs = new String[columns];
+        columnKinds = new int[columns];
+
+        for (int i = 0; i < columns; i++) {
+            header[i] = meta.getColumnLabel(i + 1);
+            columnRefs[i] = columnLetters(i);
+            switch (meta.getColumnType(i + 1)) {
+                case Types.TINYINT: case Types.SMALLINT: case Types.INTEGER: case Types.BIGINT:
+                case Types.DECIMAL: case Types.NUMERIC: case Types.REAL: case Types.FLOAT: case Types.DOUBLE:
+                    columnKinds[i] = NUMBER;
+                    break;
+                case Types.DATE:
+                    columnKinds[i] = DATE;
+                    break;
+                default:
+                    columnKinds[i] = TEXT;
+            }
+        }
+        return header;
+    }
+
+    /**
+     * @return spreadsheet column name for a zero-based index: A..Z, AA..
+     */
+    private static String columnLetters(int index) {
+        StringBuilder letters = new StringBuilder();
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            letters.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return letters.toString();
+    }
+
+    private void startSheet(ZipOutputStream zip, int sheet, String[] header) throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheet + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" "
+                + "activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>"
+                + "<sheetData><row r=\"1\">");
+        for (int i = 0; i < header.length; i++) {
+            writeTextCell(i, 1, header[i]);
+        }
+        xml.write("</row>");
+    }
+
+    private void endSheet(ZipOutputStream zip) throws IOException {
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void writeRow(ResultSet rows, int rowNumber) throws IOException, SQLException {
+        xml.write("<row r=\"");
+        xml.write(Integer.toString(rowNumber));
+        xml.write("\">");
+
+        for (int i = 0; i < columnKinds.length; i++) {
+            switch (columnKinds[i]) {
+                case NUMBER: {
+                    String value = rows.getString(i + 1);
+                    if (value != null) {
+                        writeCellStart(i, rowNumber, null);
+                        xml.write("<v>");
+                        xml.write(value);
+                        xml.write("</v></c>");
+                    }
+                    break;
+                }
+                case DATE: {
+                    java.sql.Date value = rows.getDate(i + 1);
+                    if (value != null) {
+                        writeCellStart(i, rowNumber, " s=\"1\"");
+                        xml.write("<v>");
+                        xml.write(Long.toString(value.toLocalDate().toEpochDay() - EXCEL_EPOCH_DAY));
+                        xml.write("</v></c>");
+                    }
+                    break;
+                }
+                default:
+                    writeTextCell(i, rowNumber, rows.getString(i + 1));
+            }
+        }
+        xml.write("</row>");
+    }
+
+    /**
+     * Writes a text cell as a shared string while the table has room,
+     * inline otherwise.
+     */
+    private void writeTextCell(int column, int rowNumber, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        Integer index = sharedStrings.get(value);
+        if (index == null && sharedStringOrder.size() < SHARED_STRINGS_LIMIT) {
+            index = sharedStringOrder.size();
+            sharedStrings.put(value, index);
+            sharedStringOrder.add(value);
+        }
+
+        if (index != null) {
+            sharedStringRefs++;
+            writeCellStart(column, rowNumber, " t=\"s\"");
+            xml.write("<v>");
+            xml.write(Integer.toString(index));
+            xml.write("</v></c>");
+        } else {
+            writeCellStart(column, rowNumber, " t=\"inlineStr\"");
+            xml.write("<is>");
+            writeText(value);
+            xml.write("</is></c>");
+        }
+    }
+
+    private void writeCellStart(int column, int rowNumber, String attributes) throws IOException {
+        xml.write("<c r=\"");
+        xml.write(columnRefs[column]);
+        xml.write(Integer.toString(rowNumber));
+        xml.write('"');
+        if (attributes != null) {
+            xml.write(attributes);
+        }
+        xml.write('>');
+    }
+
+    /**
+     * Writes a &lt;t&gt; element, escaping markup and dropping the control
+     * characters XML cannot hold.
+     */
+    private void writeText(String value) throws IOException {
+        boolean padded = value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ';
+        xml.write(padded ? "<t xml:space=\"preserve\">" : "<t>");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&': xml.write("&amp;"); break;
+                case '<': xml.write("&lt;"); break;
+                case '>': xml.write("&gt;"); break;
+                case '"': xml.write("&quot;"); break;
+                default:
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+            }
+        }
+        xml.write("</t>");
+    }
+
+    private void writeSharedStrings(ZipOutputStream zip) throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\""
+                + sharedStringRefs + "\" uniqueCount=\"" + sharedStringOrder.size() + "\">");
+        for (String value : sharedStringOrder) {
+            xml.write("<si>");
+            writeText(value);
+            xml.write("</si>");
+        }
+        xml.write("</sst>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * Writes the workbook, styles, relationships and content types.
+     */
+    private void writePackageParts(ZipOutputStream zip, int sheets) throws IOException {
+        StringBuilder contentTypes = new StringBuilder(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/xl/workbook.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+            + "<Override PartName=\"/xl/styles.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+            + "<Override PartName=\"/xl/sharedStrings.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        StringBuilder workbook = new StringBuilder(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+            + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        StringBuilder workbookRels = new StringBuilder(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+
+        for (int sheet = 1; sheet <= sheets; sheet++) {
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet).append(".xml\" ")
+                .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            workbook.append("<sheet name=\"Loans").append(sheet > 1 ? " " + sheet : "")
+                .append("\" sheetId=\"").append(sheet).append("\" r:id=\"rId").append(sheet).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(sheet).append("\" ")
+                .append("Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" ")
+                .append("Target=\"worksheets/sheet").append(sheet).append(".xml\"/>");
+        }
+        workbookRels.append("<Relationship Id=\"rId").append(sheets + 1).append("\" ")
+            .append("Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" ")
+            .append("Target=\"styles.xml\"/>")
+            .append("<Relationship Id=\"rId").append(sheets + 2).append("\" ")
+            .append("Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" ")
+            .append("Target=\"sharedStrings.xml\"/>")
+            .append("</Relationships>");
+        contentTypes.append("</Types>");
+        workbook.append("</sheets></workbook>");
+
+        writeEntry(zip, "[Content_Types].xml", contentTypes.toString());
+        writeEntry(zip, "_rels/.rels",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" "
+            + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" "
+            + "Target=\"xl/workbook.xml\"/></Relationships>");
+        writeEntry(zip, "xl/workbook.xml", workbook.toString());
+        writeEntry(zip, "xl/_rels/workbook.xml.rels", workbookRels.toString());
+
+        // Style 0 is the default; style 1 shows dates (built-in format 14)
+        writeEntry(zip, "xl/styles.xml",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+            + "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/></cellXfs>"
+            + "</styleSheet>");
+    }
+
+    private void writeEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+}
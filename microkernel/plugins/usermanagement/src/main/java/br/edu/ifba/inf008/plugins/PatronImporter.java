@@ -0,0 +1,247 @@
+package br.edu.ifba.inf008.plugins;
+
+import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.model.User;
+import br.edu.ifba.inf008.interfaces.util.CountingInputStream;
+import br.edu.ifba.inf008.interfaces.util.CsvReader;
+import br.edu.ifba.inf008.interfaces.util.ImportProgress;
+import br.edu.ifba.inf008.interfaces.util.ImportReport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * PatronImporter - Bulk enrollment of users from a CSV file
+ *
+ * Reads the file as a stream of rows, a chunk at a time, so the whole
+ * file is never in memory. Each chunk goes through three steps:
+ *
+ * 1. Validation, in parallel, with User's name and email rules plus the
+ *    column lengths of the users table.
+ * 2. Email deduplication within the file. The first row with an email
+ *    wins and later rows are reported.
+ * 3. An upsert keyed on the unique email, sent as one JDBC batch inside
+ *    one transaction per chunk. A new email creates a user; a known email
+ *    updates that user's name and keeps the registration date.
+ *
+ * The file needs a header row naming the name and email columns, in any
+ * order; other columns are ignored. Quoted fields may contain commas,
+ * quotes and line breaks.
+ *
+ * Cancelling stops after the chunk being written; chunks already committed
+ * stay in the database and are counted in the report.
+ *
+ * @author Jorge Dário Costa de Santana (20241160003)
+ * @version 1.0
+ * @since Java 17
+ */
+public class PatronImporter {
+
+    private static final int CHUNK_SIZE = 1_000;      // Rows validated and committed together
+    private static final int NAME_MAX_LENGTH = 100;   // users.name is VARCHAR(100)
+    private static final int EMAIL_MAX_LENGTH = 100;  // users.email is VARCHAR(100)
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO users (name, email, registered_at) VALUES (?, ?, ?) "
+      + "ON DUPLICATE KEY UPDATE name = VALUES(name)";
+
+    /**
+     * Outcome of an import: counts plus the first rejected rows.
+     */
+    public static class Report extends ImportReport {
+        private long created;
+        private long updated;
+
+        public long getCreated() { return created; }
+        public long getUpdated() { return updated; }
+
+        @Override
+        public String summary() {
+            return String.format("%,d rows read: %,d users created, %,d updated, "
+                               + "%,d rejected, %,d repeated in the file%s",
+                                 getRead(), created, updated, getRejected(), getDuplicatesInFile(),
+                                 isCancelled() ? " (cancelled)" : "");
+        }
+
+        @Override
+        public String getStatus() {
+            return String.format("%,d rows read, %,d created, %,d updated", getRead(), created, updated);
+        }
+    }
+
+    /**
+     * One row as read from the file, with its validation outcome.
+     */
+    private static class Row {
+        final int line;
+        final String name;
+        final String email;
+        User user;
+        String error;
+
+        Row(int line, String name, String email) {
+            this.line = line;
+            this.name = name;
+            this.email = email;
+        }
+    }
+
+    /**
+     * Imports every row of a CSV file into the users table.
+     * Must run off the JavaFX thread.
+     *
+     * @param file CSV file with a name and an email column
+     * @param progress receives progress and is checked for cancellation
+     * @return counts and rejected rows
+     * @throws IOException if the file cannot be read or has no usable header
+     * @throws SQLException if the database cannot be written
+     */
+    public Report importFile(Path file, ImportProgress progress) throws IOException, SQLException {
+        long totalBytes = Files.size(file);
+        Report report = new Report();
+        Set<String> seenEmails = new HashSet<>();
+
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file));
+             CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+             Connection conn = ICore.getInstance().getIOController().getDatabaseConnection()) {
+
+            int nameColumn = csv.column("name");
+            int emailColumn = csv.column("email");
+            if (nameColumn < 0 || emailColumn < 0) {
+                throw new IOException("The header row must name the name and email columns");
+            }
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL)) {
+                List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (csv.next()) {
+                    chunk.add(new Row(csv.getLine(), csv.get(nameColumn), csv.get(emailColumn)));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        importChunk(conn, upsert, chunk, seenEmails, report);
+                        chunk.clear();
+                        progress.update(in.getCount(), totalBytes, report);
+                        if (progress.isCancelled()) {
+                            report.markCancelled();
+                            return report;
+                        }
+                    }
+                }
+                importChunk(conn, upsert, chunk, seenEmails, report);
+                progress.update(totalBytes, totalBytes, report);
+                return report;
+
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Validates, deduplicates and upserts one chunk in one transaction.
+     */
+    private void importChunk(Connection conn, PreparedStatement upsert, List<Row> chunk,
+                             Set<String> seenEmails, Report report) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        report.addRead(chunk.size());
+
+        // Validation is pure computation, so the chunk is split across cores
+        chunk.parallelStream().forEach(PatronImporter::validate);
+
+        List<User> accepted = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.error != null) {
+                report.reject(row.line, row.error);
+            } else if (!seenEmails.add(row.user.getEmail())) {
+                report.repeatedInFile(row.line, row.user.getEmail() + " appears earlier in the file");
+            } else {
+                accepted.add(row.user);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Update counts from a batched upsert are not reliable across
+            // drivers, so the existing emails are looked up first
+            long existing = countExisting(conn, accepted);
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (User user : accepted) {
+                upsert.setString(1, user.getName());
+                upsert.setString(2, user.getEmail());
+                upsert.setTimestamp(3, now);
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+            conn.commit();
+
+            report.updated += existing;
+            report.created += accepted.size() - existing;
+
+        } catch (SQLException e) {
+            upsert.clearBatch();
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    private long countExisting(Connection conn, List<User> users) throws SQLException {
+        String placeholders = users.stream().map(u -> "?").collect(Collectors.joining(", "));
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM users WHERE email IN (" + placeholders + ")")) {
+            for (int i = 0; i < users.size(); i++) {
+                stmt.setString(i + 1, users.get(i).getEmail());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Builds the row's user with the same setters the model validates in,
+     * recording the first rule it breaks.
+     */
+    private static void validate(Row row) {
+        User user = new User();
+        try {
+            user.setName(row.name);
+        } catch (IllegalArgumentException e) {
+            row.error = e.getMessage();
+            return;
+        }
+        try {
+            user.setEmail(row.email);
+        } catch (IllegalArgumentException e) {
+            row.error = e.getMessage() + (row.email == null || row.email.isBlank() ? "" : ": " + row.email.trim());
+            return;
+        }
+
+        if (user.getName().length() > NAME_MAX_LENGTH) {
+            row.error = "Name cannot exceed " + NAME_MAX_LENGTH + " characters";
+        } else if (user.getEmail().length() > EMAIL_MAX_LENGTH) {
+            row.error = "Email cannot exceed " + EMAIL_MAX_LENGTH + " characters";
+        } else {
+            row.user = user;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package br.edu.ifba.inf008.plugins;
 
-import br.edu.ifba.inf008.interfaces.IPlugin;
 import br.edu.ifba.inf008.interfaces.ICore;
+import br.edu.ifba.inf008.interfaces.IEventBus;
+import br.edu.ifba.inf008.interfaces.IPlugin;
 import br.edu.ifba.inf008.interfaces.IUIController;
+import br.edu.ifba.inf008.interfaces.event.EntityChangeEvent;
 import br.edu.ifba.inf008.interfaces.model.User;
+import br.edu.ifba.inf008.interfaces.util.ImportProgressDialog;
+import br.edu.ifba.inf008.interfaces.util.ListReconciler;
 
 import javafx.scene.control.MenuItem;
 import javafx.event.EventHandler;
@@ -16,11 +20,13 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 
-import java.sql.*;
+import java.io.File;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Comparator;
+import java.util.concurrent.CompletionException;
 
 /**
  * UserManagement Plugin - Library User Administration
@@ -34,6 +40,7 @@ import java.util.List;
  * - Display user list with basic information
  * - Form validation for user data entry
  * - Database integration for data persistence
+ * - Bulk enrollment from CSV files
  * 
  * @author Jorge Dário Costa de Santana (20241160003)
  * @course INF008 - Programação Orientada a Objetos
@@ -44,11 +51,16 @@ import java.util.List;
  */
 public class UserManagement implements IPlugin {
     
+    // Same order as the kernel's user cache
+    private static final Comparator<User> DISPLAY_ORDER =
+        Comparator.comparing(User::getName, String.CASE_INSENSITIVE_ORDER).thenComparingInt(User::getUserId);
+    
     // UI components for user management interface
     private TableView<User> userTable;           // Main table for displaying users
     private ObservableList<User> userList;      // List of users for table binding
     private TextField nameField;                // Input field for user name
     private TextField emailField;               // Input field for user email
+    private IEventBus.Subscription userEvents;  // User changes made by any plugin
     
     /**
      * Plugin initialization method called by the microkernel.
@@ -73,6 +85,9 @@ public class UserManagement implements IPlugin {
                 }
             });
             
+            // Keep the table in step with changes made from any tab
+            userEvents = ICore.getInstance().getEventBus().subscribe(User.class, this::applyUserChange);
+            
             System.out.println("UserManagement plugin loaded successfully!");
             return true;
             
@@ -83,6 +98,16 @@ public class UserManagement implements IPlugin {
         }
     }
     
+    /**
+     * Stops listening for user changes.
+     */
+    @Override
+    public void shutdown() {
+        if (userEvents != null) {
+            userEvents.cancel();
+        }
+    }
+    
     /**
      * Creates and displays the user management interface.
      */
@@ -180,13 +205,17 @@ public class UserManagement implements IPlugin {
         
         Button refreshButton = new Button("Refresh");
         refreshButton.setStyle("-fx-background-color: #007bff; -fx-text-fill: white;");
-        refreshButton.setOnAction(e -> loadUsersFromDatabase());
+        refreshButton.setOnAction(e -> reloadUsersFromDatabase());
         
         Button deleteButton = new Button("Delete Selected");
         deleteButton.setStyle("-fx-background-color: #dc3545; -fx-text-fill: white;");
         deleteButton.setOnAction(e -> handleDeleteUser());
         
-        tableHeader.getChildren().addAll(tableTitle, refreshButton, deleteButton);
+        Button importButton = new Button("Import Users...");
+        importButton.setStyle("-fx-background-color: #17a2b8; -fx-text-fill: white;");
+        importButton.setOnAction(e -> handleImportUsers());
+        
+        tableHeader.getChildren().addAll(tableTitle, refreshButton, deleteButton, importButton);
         
         // Create the data table
         userTable = createUserTable();
@@ -257,14 +286,25 @@ public class UserManagement implements IPlugin {
             // Create new user
             User newUser = new User(name, email);
             
-            // Save to database
-            if (saveUserToDatabase(newUser)) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", "User added successfully!");
-                clearForm();
-                loadUsersFromDatabase();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to add user!");
-            }
+            // Save to database in the background
+            ICore.getInstance().getIOController()
+                .executeAsync(() -> {
+                    boolean saved = saveUserToDatabase(newUser);
+                    if (saved) {
+                        ICore.getInstance().getCacheController().getUserCache().put(newUser);
+                        ICore.getInstance().getEventBus().publish(
+                            EntityChangeEvent.created(User.class, newUser.getUserId(), newUser));
+                    }
+                    return saved;
+                })
+                .thenAccept(saved -> {
+                    if (saved) {
+                        showAlert(Alert.AlertType.INFORMATION, "Success", "User added successfully!");
+                        clearForm();
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error", "Failed to add user!");
+                    }
+                });
             
         } catch (IllegalArgumentException e) {
             showAlert(Alert.AlertType.WARNING, "Validation", e.getMessage());
@@ -292,12 +332,25 @@ public class UserManagement implements IPlugin {
         confirmation.setContentText("Do you really want to delete " + selectedUser.getName() + "?");
         
         if (confirmation.showAndWait().get() == ButtonType.OK) {
-            if (deleteUserFromDatabase(selectedUser.getUserId())) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", "User deleted successfully!");
-                loadUsersFromDatabase();
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete user!");
-            }
+            ICore.getInstance().getIOController()
+                .executeAsync(() -> {
+                    boolean deleted = deleteUserFromDatabase(selectedUser.getUserId());
+                    if (deleted) {
+                        // Deleting a user cascades to their loans
+                        ICore.getInstance().getCacheController().getUserCache().remove(selectedUser.getUserId());
+                        ICore.getInstance().getCacheController().getLoanCache().invalidateAll();
+                        ICore.getInstance().getEventBus().publish(
+                            EntityChangeEvent.deleted(User.class, selectedUser.getUserId()));
+                    }
+                    return deleted;
+                })
+                .thenAccept(deleted -> {
+                    if (deleted) {
+                        showAlert(Alert.AlertType.INFORMATION, "Success", "User deleted successfully!");
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete user!");
+                    }
+                });
         }
     }
     
@@ -311,18 +364,122 @@ public class UserManagement implements IPlugin {
     }
     
     /**
-     * Loads user data from database and updates the table.
+     * Applies a user change published on the kernel event bus to the
+     * table, touching only the affected row.
+     * 
+     * @param event change to apply
+     */
+    private void applyUserChange(EntityChangeEvent<User> event) {
+        if (userList == null) {
+            return; // Tab not opened yet; opening it loads every user
+        }
+        for (int i = 0; i < userList.size(); i++) {
+            if (userList.get(i).getUserId() == event.getId()) {
+                userList.remove(i);
+                break;
+            }
+        }
+        if (event.getChangeType() != EntityChangeEvent.ChangeType.DELETED) {
+            User user = event.getEntity();
+            int index = 0;
+            while (index < userList.size() && DISPLAY_ORDER.compare(userList.get(index), user) < 0) {
+                index++;
+            }
+            userList.add(index, user);
+        }
+    }
+    
+    /**
+     * Refresh button: drops the cached users first, so users added,
+     * edited or deleted from another terminal show up.
+     */
+    private void reloadUsersFromDatabase() {
+        ICore.getInstance().getCacheController().getUserCache().invalidateAll();
+        loadUsersFromDatabase();
+    }
+    
+    /**
+     * Loads user data from the kernel's user cache and updates the table.
+     * The cache only queries the database when it does not hold every
+     * user; that work runs on a kernel worker thread and the table is
+     * updated back on the JavaFX thread, touching only the rows that
+     * changed.
      */
     private void loadUsersFromDatabase() {
-        try {
-            List<User> users = getUsersFromDatabase();
-            userList.clear();
-            userList.addAll(users);
-            System.out.println("User list updated. Total: " + users.size());
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load users: " + e.getMessage());
-            e.printStackTrace();
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> ICore.getInstance().getCacheController().getUserCache().getAll())
+            .thenAccept(users -> {
+                ListReconciler.reconcile(userList, users, User::getUserId);
+                System.out.println("User list updated. Total: " + users.size());
+            })
+            .exceptionally(e -> {
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load users: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            });
+    }
+    
+    /**
+     * Asks for a CSV file of users and imports it on a kernel worker
+     * thread, showing progress in a dialog whose Cancel button stops the
+     * import. Users whose email is already registered get the name from
+     * the file.
+     * 
+     * No change event is published per imported user: a semester's
+     * enrollment would flood every subscriber. The kernel caches and
+     * counters are refreshed once at the end instead.
+     */
+    private void handleImportUsers() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Users");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(userTable.getScene().getWindow());
+        if (file == null) {
+            return;
         }
+        
+        ImportProgressDialog dialog = new ImportProgressDialog("Import Users", file.getName());
+        dialog.show();
+        
+        ICore.getInstance().getIOController()
+            .executeAsync(() -> {
+                try {
+                    return new PatronImporter().importFile(file.toPath(), dialog);
+                } finally {
+                    ICore.getInstance().getCacheController().getUserCache().invalidateAll();
+                    ICore.getInstance().getStatisticsController().reconcile();
+                }
+            })
+            .whenComplete((report, error) -> {
+                dialog.close();
+                loadUsersFromDatabase();
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause == null) {
+                    showImportReport(file.getName(), report);
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Import Error", "Failed to import users: " + cause.getMessage());
+                    cause.printStackTrace();
+                }
+            });
+    }
+    
+    /**
+     * Shows the import counts, with the rejected and repeated rows listed
+     * in an expandable area.
+     */
+    private void showImportReport(String fileName, PatronImporter.Report report) {
+        Alert alert = new Alert(report.getRejected() > 0 ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION);
+        alert.setTitle("Import Users");
+        alert.setHeaderText(fileName);
+        alert.setContentText(report.summary());
+        
+        if (!report.getIssues().isEmpty()) {
+            TextArea issues = new TextArea(String.join("\n", report.getIssues()));
+            issues.setEditable(false);
+            issues.setPrefRowCount(15);
+            alert.getDialogPane().setExpandableContent(issues);
+        }
+        alert.showAndWait();
     }
     
     // DATABASE OPERATIONS
@@ -334,53 +491,16 @@ public class UserManagement implements IPlugin {
      * @return true if successful, false otherwise
      */
     private boolean saveUserToDatabase(User user) {
-        String sql = "INSERT INTO users (name, email, registered_at) VALUES (?, ?, ?)";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, user.getName());
-            stmt.setString(2, user.getEmail());
-            stmt.setTimestamp(3, Timestamp.valueOf(user.getRegisteredAt()));
-            
-            return stmt.executeUpdate() > 0;
-            
+        try {
+            // Fills in the generated ID so the user can be cached and deleted later
+            ICore.getInstance().getRepositoryController().getUserRepository().insert(user);
+            return true;
         } catch (SQLException e) {
             System.err.println("Error saving user: " + e.getMessage());
             return false;
         }
     }
     
-    /**
-     * Retrieves all users from the database.
-     * 
-     * @return List of users
-     */
-    private List<User> getUsersFromDatabase() {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT user_id, name, email, registered_at FROM users ORDER BY name";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                User user = new User(
-                    rs.getInt("user_id"),
-                    rs.getString("name"),
-                    rs.getString("email"),
-                    rs.getTimestamp("registered_at").toLocalDateTime()
-                );
-                users.add(user);
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading users: " + e.getMessage());
-        }
-        
-        return users;
-    }
-    
     /**
      * Deletes a user from the database.
      * 
@@ -388,14 +508,8 @@ public class UserManagement implements IPlugin {
      * @return true if successful, false otherwise
      */
     private boolean deleteUserFromDatabase(int userId) {
-        String sql = "DELETE FROM users WHERE user_id = ?";
-        
-        try (Connection conn = ICore.getInstance().getIOController().getDatabaseConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            return stmt.executeUpdate() > 0;
-            
+        try {
+            return ICore.getInstance().getRepositoryController().getUserRepository().delete(userId);
         } catch (SQLException e) {
             System.err.println("Error deleting user: " + e.getMessage());
             return false;